@@ -22,7 +22,7 @@ public class CorsConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "Idempotency-Replayed"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -1,5 +1,6 @@
 package com.dashboard.controller;
 
+import com.dashboard.dto.projection.SellerRollupTotals;
 import com.dashboard.dto.response.ApiResponse;
 import com.dashboard.entity.Order;
 import com.dashboard.entity.Product;
@@ -7,13 +8,19 @@ import com.dashboard.entity.User;
 import com.dashboard.repository.OrderRepository;
 import com.dashboard.repository.ProductRepository;
 import com.dashboard.repository.UserRepository;
+import com.dashboard.security.PooledPasswordEncoder;
+import com.dashboard.service.NotificationRetentionService;
+import com.dashboard.service.RevenueRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -27,6 +34,9 @@ public class AdminDashboardController {
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final RevenueRollupService revenueRollupService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final PooledPasswordEncoder passwordEncoder;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Map<String, Object>>> getDashboard() {
@@ -147,9 +157,10 @@ public class AdminDashboardController {
 
         try {
             List<User> sellers = userRepository.findByRole(User.Role.SELLER);
+            Map<Long, SellerRollupTotals> revenueBySeller = revenueRollupService.getSellerTotals(
+                    sellers.stream().map(User::getId).collect(Collectors.toList()));
 
             result = sellers.stream()
-                    .limit(limit)
                     .map(s -> {
                         Map<String, Object> map = new HashMap<>();
                         map.put("id", s.getId());
@@ -161,15 +172,7 @@ public class AdminDashboardController {
 
                         try {
                             productCount = productRepository.countBySellerId(s.getId());
-
-                            List<Product> sellerProducts = productRepository.findBySellerId(s.getId());
-                            totalRevenue = sellerProducts.stream()
-                                    .mapToDouble(p -> {
-                                        double price = p.getPrice() != null ? p.getPrice().doubleValue() : 0;
-                                        int sales = p.getSalesCount() != null ? p.getSalesCount() : 0;
-                                        return price * sales;
-                                    })
-                                    .sum();
+                            totalRevenue = revenueBySeller.get(s.getId()).grossAmount().doubleValue();
                         } catch (Exception e) {
                             // Use defaults
                         }
@@ -182,10 +185,47 @@ public class AdminDashboardController {
                         return map;
                     })
                     .sorted((a, b) -> Double.compare((Double) b.get("totalRevenue"), (Double) a.get("totalRevenue")))
+                    .limit(limit)
                     .collect(Collectors.toList());
         } catch (Exception e) {
         }
 
         return ResponseEntity.ok(ApiResponse.success("Top sellers", result));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/revenue-rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildRevenueRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        int rows = revenueRollupService.rebuild(startDate, endDate);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("startDate", startDate);
+        result.put("endDate", endDate);
+        result.put("rowsWritten", rows);
+        return ResponseEntity.ok(ApiResponse.success("Revenue rollups rebuilt", result));
+    }
+
+    @PostMapping("/notification-retention/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<NotificationRetentionService.RetentionRun>> runNotificationRetention() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Notification retention started",
+                        notificationRetentionService.startPurge()));
+    }
+
+    @GetMapping("/notification-retention/last-run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<NotificationRetentionService.RetentionRun>> getLastNotificationRetentionRun() {
+        NotificationRetentionService.RetentionRun run = notificationRetentionService.getLastRun();
+        return ResponseEntity.ok(ApiResponse.success(
+                run != null ? "Last notification retention run" : "No notification retention run yet", run));
+    }
+
+    @GetMapping("/password-hashing/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PooledPasswordEncoder.HashingStats>> getPasswordHashingStats() {
+        return ResponseEntity.ok(ApiResponse.success("Password hashing stats", passwordEncoder.getStats()));
+    }
+}
@@ -7,6 +7,9 @@ import com.dashboard.exception.BadRequestException;
 import com.dashboard.exception.ResourceNotFoundException;
 import com.dashboard.repository.ProductRepository;
 import com.dashboard.service.NotificationService;
+import com.dashboard.service.ProductSearchIndex;
+import com.dashboard.service.ProductSuggestIndex;
+import com.dashboard.service.StockReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,6 +27,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -35,6 +41,9 @@ public class AdminStockController {
 
     private final ProductRepository productRepository;
     private final NotificationService notificationService;
+    private final StockReservationService stockReservationService;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggestIndex suggestIndex;
 
     @GetMapping("/dashboard")
     @Operation(summary = "Get stock dashboard", description = "Returns stock overview statistics")
@@ -144,8 +153,7 @@ public class AdminStockController {
             throw new BadRequestException("Cannot update stock for seller products. Please notify the seller instead.");
         }
 
-        int oldQuantity = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
-        product.setStockQuantity(request.getQuantity());
+        int oldQuantity = stockReservationService.updateStockQuantity(product, current -> request.getQuantity());
         product = productRepository.save(product);
 
         log.info("Admin updated MouadVision product stock {}: {} -> {}", asin, oldQuantity, request.getQuantity());
@@ -174,9 +182,8 @@ public class AdminStockController {
             throw new BadRequestException("Cannot update stock for seller products. Please notify the seller instead.");
         }
 
-        int oldQuantity = product.getStockQuantity() != null ?  product.getStockQuantity() : 0;
-        int newQuantity = oldQuantity + quantity;
-        product.setStockQuantity(newQuantity);
+        int oldQuantity = stockReservationService.updateStockQuantity(product, current -> current + quantity);
+        int newQuantity = product.getStockQuantity();
         product = productRepository.save(product);
 
         log.info("Admin added {} units to MouadVision product {}: {} -> {}", quantity, asin, oldQuantity, newQuantity);
@@ -188,6 +195,27 @@ public class AdminStockController {
         return ResponseEntity.ok(ApiResponse.success("Stock added successfully", result));
     }
 
+    @PutMapping("/products/{asin}/hot-sku")
+    @Operation(summary = "Toggle hot SKU reservation", description = "Spreads a product's stock across slot rows to absorb flash-sale contention")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> updateHotSku(
+            @PathVariable String asin,
+            @RequestParam boolean enabled,
+            @RequestParam(required = false) Integer slots) {
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("asin", asin);
+        result.put("hotSku", enabled);
+
+        if (enabled) {
+            result.put("slots", stockReservationService.enableHotSku(asin, slots));
+        } else {
+            stockReservationService.disableHotSku(asin);
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(
+                enabled ? "Hot SKU reservation enabled" : "Hot SKU reservation disabled", result));
+    }
+
     @PostMapping("/products/{asin}/notify-seller")
     @Operation(summary = "Notify seller about stock", description = "Sends notification to seller about low/out of stock")
     public ResponseEntity<ApiResponse<String>> notifySellerAboutStock(
@@ -260,9 +288,18 @@ public class AdminStockController {
     @GetMapping("/search")
     @Operation(summary = "Search products for stock management", description = "Search products by name or ASIN")
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> searchProducts(
-            @RequestParam String query) {
-
-        List<Product> products = productRepository.searchByNameOrAsin(query);
+            @RequestParam String query,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        List<Product> products;
+        if (searchIndex.isReady()) {
+            List<String> asins = searchIndex.search(query, false, true, 0, Math.max(1, Math.min(limit, 200))).asins();
+            Map<String, Product> byAsin = productRepository.findWithCategoryAndSellerByAsinIn(asins).stream()
+                    .collect(Collectors.toMap(Product::getAsin, Function.identity()));
+            products = asins.stream().map(byAsin::get).filter(Objects::nonNull).toList();
+        } else {
+            products = productRepository.searchByNameOrAsin(query);
+        }
         List<Map<String, Object>> result = products.stream()
                 .map(this::mapProductToStockInfo)
                 .toList();
@@ -270,6 +307,15 @@ public class AdminStockController {
         return ResponseEntity.ok(ApiResponse.success("Search results", result));
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest products for stock management", description = "Autocomplete any product by name or ASIN prefix")
+    public ResponseEntity<ApiResponse<List<ProductSuggestIndex.Suggestion>>> suggestProducts(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(ApiResponse.success("Suggestions", suggestIndex.suggest(query, false, limit)));
+    }
+
     private Map<String, Object> mapProductToStockInfo(Product product) {
         Map<String, Object> map = new HashMap<>();
         map.put("asin", product.getAsin());
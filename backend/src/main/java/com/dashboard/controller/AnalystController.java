@@ -1,16 +1,21 @@
 package com.dashboard.controller;
 
 import com.dashboard.dto.response.ApiResponse;
+import com.dashboard.exception.BadRequestException;
 import com.dashboard.service.AnalystService;
+import com.dashboard.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +29,7 @@ import java.util.Map;
 public class AnalystController {
 
     private final AnalystService analystService;
+    private final ExportService exportService;
 
     @GetMapping("/dashboard")
     @Operation(summary = "Get dashboard data", description = "Returns comprehensive dashboard data")
@@ -283,12 +289,24 @@ public class AnalystController {
     }
 
     @GetMapping("/reports/export/sales")
-    @Operation(summary = "Export sales data", description = "Returns sales data for CSV/Excel export")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> exportSalesData(
+    @Operation(summary = "Export sales data",
+            description = "Streams sold order items in a date range as CSV; limit caps the rows, e.g. for previews")
+    public void exportSalesData(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Map<String, Object>> data = analystService.exportSalesData(startDate, endDate);
-        return ResponseEntity.ok(ApiResponse.success("Sales data exported", data));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer limit,
+            HttpServletResponse response) throws IOException {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        if (limit != null && limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+
+        response.setContentType("text/csv");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sales_export.csv\"");
+        exportService.writeSalesCsv(response.getOutputStream(), startDate, endDate,
+                limit != null ? limit : Long.MAX_VALUE);
     }
 
     @GetMapping("/reports/export/products")
@@ -0,0 +1,46 @@
+package com.dashboard.controller;
+
+import com.dashboard.dto.response.ApiResponse;
+import com.dashboard.dto.response.CatalogImportResponse;
+import com.dashboard.service.CatalogImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/catalog")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Catalog Import", description = "Admin endpoints for bulk catalog CSV import")
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import catalog CSV", description = "Queues a bulk upsert of products from a CSV file")
+    public ResponseEntity<ApiResponse<CatalogImportResponse>> importCatalog(@RequestParam("file") MultipartFile file) {
+        CatalogImportResponse response = catalogImportService.startImport(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Catalog import queued", response));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get import progress", description = "Returns progress and throughput of an import job")
+    public ResponseEntity<ApiResponse<CatalogImportResponse>> getImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success("Import job retrieved", catalogImportService.getImport(jobId)));
+    }
+
+    @GetMapping("/import")
+    @Operation(summary = "List recent imports", description = "Returns the most recent catalog import jobs")
+    public ResponseEntity<ApiResponse<List<CatalogImportResponse>>> getRecentImports() {
+        return ResponseEntity.ok(ApiResponse.success("Import jobs retrieved", catalogImportService.getRecentImports()));
+    }
+}
@@ -1,18 +1,22 @@
 package com.dashboard.controller;
 
+import com.dashboard.exception.BadRequestException;
 import com.dashboard.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -24,50 +28,51 @@ public class ExportController {
     private final ExportService exportService;
 
     @GetMapping("/products/csv")
-    @Operation(summary = "Export products to CSV", description = "Downloads all products as CSV file")
-    public ResponseEntity<byte[]> exportProductsToCsv() throws IOException {
+    @Operation(summary = "Export products to CSV", description = "Streams all products as CSV file")
+    public void exportProductsToCsv(HttpServletResponse response) throws IOException {
         log.info("Exporting products to CSV");
 
-        byte[] csvData = exportService.exportProductsToCsv();
+        response.setContentType("text/csv");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products_export.csv\"");
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "products_export.csv");
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(csvData);
+        exportService.writeProductsCsv(response.getOutputStream());
     }
 
     @GetMapping("/products/excel")
-    @Operation(summary = "Export products to Excel", description = "Downloads all products as Excel file")
-    public ResponseEntity<byte[]> exportProductsToExcel() throws IOException {
+    @Operation(summary = "Export products to Excel", description = "Streams all products as Excel file")
+    public void exportProductsToExcel(HttpServletResponse response) throws IOException {
         log.info("Exporting products to Excel");
 
-        byte[] excelData = exportService.exportProductsToExcel();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-        headers.setContentDispositionFormData("attachment", "products_export.xlsx");
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products_export.xlsx\"");
 
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(excelData);
+        exportService.writeProductsExcel(response.getOutputStream());
     }
 
     @GetMapping("/sales/csv")
-    @Operation(summary = "Export sales to CSV", description = "Downloads all sales as CSV file")
-    public ResponseEntity<byte[]> exportSalesToCsv() throws IOException {
-        log.info("Exporting sales to CSV");
-
-        byte[] csvData = exportService.exportSalesToCsv();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "sales_export.csv");
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(csvData);
+    @Operation(summary = "Export sales to CSV", description = "Streams sold order items in a date range as CSV, optionally gzip-compressed")
+    public void exportSalesToCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusYears(1);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        log.info("Exporting sales from {} to {} to CSV (gzip: {})", start, end, gzip);
+
+        if (gzip) {
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sales_export.csv.gz\"");
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream());
+            exportService.writeSalesCsv(out, start, end);
+            out.finish();
+        } else {
+            response.setContentType("text/csv");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sales_export.csv\"");
+            exportService.writeSalesCsv(response.getOutputStream(), start, end);
+        }
     }
-}
\ No newline at end of file
+}
@@ -10,8 +10,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain. Pageable;
 import org.springframework. data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util. Map;
@@ -33,6 +35,13 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Notifications retrieved", notifications));
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notifications", description = "Server-sent events for new notifications and unread count changes")
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationService.subscribe(lastEventId);
+    }
+
     @GetMapping("/unread")
     @Operation(summary = "Get unread notifications", description = "Returns all unread notifications")
     public ResponseEntity<ApiResponse<List<NotificationResponse>>> getUnreadNotifications() {
@@ -3,6 +3,7 @@ package com.dashboard.controller;
 import com. dashboard.dto.request.OrderRequest;
 import com.dashboard. dto.response.ApiResponse;
 import com.dashboard.dto. response.OrderResponse;
+import com.dashboard.service.IdempotencyService;
 import com.dashboard.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas. annotations.Parameter;
@@ -29,24 +30,31 @@ import java.util. Map;
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @Operation(summary = "Create new order", description = "Creates a new order for the current user")
     public ResponseEntity<ApiResponse<OrderResponse>> createOrder(
-            @Valid @RequestBody OrderRequest request) {
-
-        OrderResponse order = orderService.createOrder(request);
-        return ResponseEntity. status(HttpStatus. CREATED)
-                .body(ApiResponse.success("Order created successfully", order));
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+
+        return idempotencyService.execute(idempotencyKey, "POST /api/orders", request, OrderResponse.class, () -> {
+            OrderResponse order = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Order created successfully", order));
+        });
     }
 
     @PostMapping("/{id}/confirm")
     @Operation(summary = "Confirm order", description = "Confirms a pending order")
     public ResponseEntity<ApiResponse<OrderResponse>> confirmOrder(
-            @Parameter(description = "Order ID") @PathVariable Long id) {
+            @Parameter(description = "Order ID") @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
-        OrderResponse order = orderService.confirmOrder(id);
-        return ResponseEntity.ok(ApiResponse.success("Order confirmed successfully", order));
+        return idempotencyService.execute(idempotencyKey, "POST /api/orders/{id}/confirm", id, OrderResponse.class, () -> {
+            OrderResponse order = orderService.confirmOrder(id);
+            return ResponseEntity.ok(ApiResponse.success("Order confirmed successfully", order));
+        });
     }
 
     @PostMapping("/{id}/cancel")
@@ -4,6 +4,7 @@ import com.dashboard.dto.request.ProductRequest;
 import com.dashboard.dto.response.ApiResponse;
 import com.dashboard.dto.response.ProductResponse;
 import com.dashboard.service.ProductService;
+import com.dashboard.service.ProductSuggestIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -64,8 +65,18 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", products));
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest products", description = "Autocomplete approved products by name or ASIN prefix")
+    public ResponseEntity<ApiResponse<List<ProductSuggestIndex.Suggestion>>> suggestProducts(
+            @Parameter(description = "Typed prefix") @RequestParam String q,
+            @Parameter(description = "Maximum suggestions") @RequestParam(defaultValue = "8") int limit) {
+
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully",
+                productService.suggestProducts(q, limit)));
+    }
+
     @GetMapping("/filter")
-    @Operation(summary = "Filter products", description = "Filter products by category, price range, and rating")
+    @Operation(summary = "Filter products", description = "Filter products by category, price range, and rating; the page carries facet counts for the other filter values")
     public ResponseEntity<ApiResponse<Page<ProductResponse>>> filterProducts(
             @Parameter(description = "Category Name") @RequestParam(required = false) String categoryName,
             @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
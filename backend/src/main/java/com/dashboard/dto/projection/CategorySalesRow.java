@@ -0,0 +1,14 @@
+package com.dashboard.dto.projection;
+
+import java.math.BigDecimal;
+
+public record CategorySalesRow(
+        Long categoryId,
+        String categoryName,
+        Long productCount,
+        BigDecimal priceSum,
+        Double avgRating,
+        Long unitsSold,
+        BigDecimal revenue
+) {
+}
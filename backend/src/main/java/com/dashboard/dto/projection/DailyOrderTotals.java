@@ -0,0 +1,12 @@
+package com.dashboard.dto.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyOrderTotals(
+        LocalDate date,
+        Long orderCount,
+        BigDecimal revenue,
+        Long itemCount
+) {
+}
@@ -0,0 +1,7 @@
+package com.dashboard.dto.projection;
+
+public record DayOfWeekCount(
+        Integer dayOfWeek,
+        Long count
+) {
+}
@@ -0,0 +1,8 @@
+package com.dashboard.dto.projection;
+
+public record MonthlyCount(
+        Integer year,
+        Integer month,
+        Long count
+) {
+}
@@ -0,0 +1,10 @@
+package com.dashboard.dto.projection;
+
+import java.math.BigDecimal;
+
+public record OrderTotals(
+        Long orderCount,
+        BigDecimal revenue,
+        Long itemCount
+) {
+}
@@ -0,0 +1,10 @@
+package com.dashboard.dto.projection;
+
+public record PriceBandCounts(
+        Long upTo10,
+        Long upTo25,
+        Long upTo50,
+        Long upTo100,
+        Long over100
+) {
+}
@@ -0,0 +1,14 @@
+package com.dashboard.dto.projection;
+
+import java.math.BigDecimal;
+
+public record ProductOverviewTotals(
+        Long productCount,
+        BigDecimal priceSum,
+        Double avgRating,
+        Long totalReviews,
+        BigDecimal inventoryValue,
+        Long lowStockCount,
+        Long outOfStockCount
+) {
+}
@@ -0,0 +1,9 @@
+package com.dashboard.dto.projection;
+
+public record ProductOwnershipTotals(
+        Long totalProducts,
+        Long totalSales,
+        Long sellerProducts,
+        Long sellerSales
+) {
+}
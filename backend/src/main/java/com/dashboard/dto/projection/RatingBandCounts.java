@@ -0,0 +1,10 @@
+package com.dashboard.dto.projection;
+
+public record RatingBandCounts(
+        Long from45,
+        Long from40,
+        Long from30,
+        Long from20,
+        Long below20
+) {
+}
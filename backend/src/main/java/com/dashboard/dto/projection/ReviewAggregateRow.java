@@ -0,0 +1,19 @@
+package com.dashboard.dto.projection;
+
+public record ReviewAggregateRow(
+        String productAsin,
+        Long ratingSum,
+        Long reviewCount,
+        Long stars1,
+        Long stars2,
+        Long stars3,
+        Long stars4,
+        Long stars5,
+        Long likesCount,
+        Long dislikesCount
+) {
+
+    public static ReviewAggregateRow empty(String productAsin) {
+        return new ReviewAggregateRow(productAsin, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+}
@@ -0,0 +1,17 @@
+package com.dashboard.dto.projection;
+
+import java.math.BigDecimal;
+
+public record RollupTotals(
+        BigDecimal directSales,
+        BigDecimal sellerGross,
+        BigDecimal sellerNet,
+        BigDecimal platformFees,
+        Long unitsSold,
+        Long orderCount
+) {
+
+    public BigDecimal platformRevenue() {
+        return directSales.add(platformFees);
+    }
+}
@@ -0,0 +1,22 @@
+package com.dashboard.dto.projection;
+
+import com.dashboard.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SalesExportRow(
+        Long orderItemId,
+        LocalDateTime createdAt,
+        String orderNumber,
+        Order.OrderStatus status,
+        String productAsin,
+        String productName,
+        String categoryName,
+        String buyerEmail,
+        String buyerName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal
+) {
+}
@@ -0,0 +1,8 @@
+package com.dashboard.dto.projection;
+
+public record SellerAccountCounts(
+        Long totalSellers,
+        Long verifiedSellers,
+        Long activeSellers
+) {
+}
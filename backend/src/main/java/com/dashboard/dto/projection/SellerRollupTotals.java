@@ -0,0 +1,12 @@
+package com.dashboard.dto.projection;
+
+import java.math.BigDecimal;
+
+public record SellerRollupTotals(
+        Long sellerId,
+        BigDecimal grossAmount,
+        BigDecimal netAmount,
+        Long unitsSold,
+        Long orderCount
+) {
+}
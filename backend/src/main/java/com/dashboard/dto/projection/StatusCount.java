@@ -0,0 +1,9 @@
+package com.dashboard.dto.projection;
+
+import com.dashboard.entity.Order;
+
+public record StatusCount(
+        Order.OrderStatus status,
+        Long count
+) {
+}
@@ -0,0 +1,25 @@
+package com.dashboard.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPredictionResponse {
+
+    private List<BestsellerPredictionResponse> predictions;
+
+    @JsonProperty("total_count")
+    private Integer totalCount;
+
+    @JsonProperty("predicted_at")
+    private LocalDateTime predictedAt;
+}
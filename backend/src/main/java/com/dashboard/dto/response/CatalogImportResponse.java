@@ -0,0 +1,27 @@
+package com.dashboard.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportResponse {
+    private String jobId;
+    private String source;
+    private String status;
+    private Long rowsRead;
+    private Long rowsImported;
+    private Long rowsSkipped;
+    private Long categoriesCreated;
+    private Double rowsPerSecond;
+    private Long elapsedMs;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,22 @@
+package com.dashboard.dto.response;
+
+import com.dashboard.service.ProductFacetIndex;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// A regular page with the facet counts for the current filter alongside, so existing clients keep working
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final transient ProductFacetIndex.FacetCounts facets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, ProductFacetIndex.FacetCounts facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+
+    public ProductFacetIndex.FacetCounts getFacets() {
+        return facets;
+    }
+}
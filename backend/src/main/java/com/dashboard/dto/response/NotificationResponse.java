@@ -1,5 +1,6 @@
 package com.dashboard. dto.response;
 
+import com.dashboard.entity.Notification;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,4 +24,20 @@ public class NotificationResponse {
     private Boolean isRead;
     private LocalDateTime readAt;
     private LocalDateTime createdAt;
+
+    public static NotificationResponse fromEntity(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .type(notification.getType().name())
+                .typeDescription(notification.getType().getDescription())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .referenceId(notification.getReferenceId())
+                .referenceType(notification.getReferenceType())
+                .actionUrl(notification.getActionUrl())
+                .isRead(notification.getIsRead())
+                .readAt(notification.getReadAt())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "daily_revenue_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_date_seller_category",
+                columnNames = {"rollup_date", "seller_id", "category_id"}),
+        indexes = {
+                @Index(name = "idx_rollup_seller_date", columnList = "seller_id, rollup_date"),
+                @Index(name = "idx_rollup_category_date", columnList = "category_id, rollup_date")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueRollup {
+
+    public static final long PLATFORM_SELLER_ID = 0L;
+    public static final long NO_CATEGORY_ID = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "gross_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal grossAmount;
+
+    @Column(name = "net_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal netAmount;
+
+    @Column(name = "platform_fee", precision = 14, scale = 2, nullable = false)
+    private BigDecimal platformFee;
+
+    @Column(name = "units_sold", nullable = false)
+    private Long unitsSold;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -14,7 +14,8 @@ import java.util.List;
 @Table(name = "orders", indexes = {
         @Index(name = "idx_order_user", columnList = "user_id"),
         @Index(name = "idx_order_status", columnList = "status"),
-        @Index(name = "idx_order_date", columnList = "order_date")
+        @Index(name = "idx_order_date", columnList = "order_date"),
+        @Index(name = "idx_order_created_at", columnList = "created_at")
 })
 @Getter
 @Setter
@@ -0,0 +1,99 @@
+package com.dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_event_key", columnNames = "event_key"),
+        indexes = {
+                @Index(name = "idx_order_event_status_next", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_order_event_order", columnList = "order_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private EventType eventType;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "order_item_id")
+    private Long orderItemId;
+
+    @Column(name = "event_key", nullable = false, length = 100)
+    private String eventKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public static OrderEvent forOrder(EventType type, Order order) {
+        return OrderEvent.builder()
+                .eventType(type)
+                .orderId(order.getId())
+                .eventKey(type + ":order:" + order.getId())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static OrderEvent forItem(EventType type, Order order, OrderItem item) {
+        return OrderEvent.builder()
+                .eventType(type)
+                .orderId(order.getId())
+                .orderItemId(item.getId())
+                .eventKey(type + ":item:" + item.getId())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    public enum EventType {
+        SALES_COUNT,
+        SELLER_STOCK,
+        SELLER_REVENUE,
+        PURCHASE_NOTIFICATION,
+        BUYER_NOTIFICATION,
+        ADMIN_ORDER_DIGEST
+    }
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -3,6 +3,7 @@ package com.dashboard.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -25,6 +26,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 public class Product {
 
     @Id
@@ -86,6 +88,10 @@ public class Product {
     @Column(name = "stock_quantity")
     private Integer stockQuantity;
 
+    @Column(name = "hot_sku")
+    @Builder.Default
+    private Boolean hotSku = false;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "approval_status", length = 20)
     @Builder.Default
@@ -0,0 +1,120 @@
+package com.dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "product_review_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductReviewSummary {
+
+    @Id
+    @Column(name = "product_asin", length = 20)
+    private String productAsin;
+
+    @Column(name = "rating_sum", nullable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "review_count", nullable = false)
+    @Builder.Default
+    private Long reviewCount = 0L;
+
+    @Column(name = "stars_1", nullable = false)
+    @Builder.Default
+    private Long stars1 = 0L;
+
+    @Column(name = "stars_2", nullable = false)
+    @Builder.Default
+    private Long stars2 = 0L;
+
+    @Column(name = "stars_3", nullable = false)
+    @Builder.Default
+    private Long stars3 = 0L;
+
+    @Column(name = "stars_4", nullable = false)
+    @Builder.Default
+    private Long stars4 = 0L;
+
+    @Column(name = "stars_5", nullable = false)
+    @Builder.Default
+    private Long stars5 = 0L;
+
+    @Column(name = "likes_count", nullable = false)
+    @Builder.Default
+    private Long likesCount = 0L;
+
+    @Column(name = "dislikes_count", nullable = false)
+    @Builder.Default
+    private Long dislikesCount = 0L;
+
+    @Version
+    @Column(nullable = false)
+    @Builder.Default
+    private Long version = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static ProductReviewSummary empty(String productAsin) {
+        return ProductReviewSummary.builder().productAsin(productAsin).build();
+    }
+
+    public void add(Integer rating, Boolean isLiked) {
+        apply(rating, isLiked, 1);
+    }
+
+    public void remove(Integer rating, Boolean isLiked) {
+        apply(rating, isLiked, -1);
+    }
+
+    public BigDecimal getAverageRating() {
+        if (reviewCount <= 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(reviewCount), 1, RoundingMode.HALF_UP);
+    }
+
+    public Map<Integer, Long> getRatingDistribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, stars1);
+        distribution.put(2, stars2);
+        distribution.put(3, stars3);
+        distribution.put(4, stars4);
+        distribution.put(5, stars5);
+        return distribution;
+    }
+
+    private void apply(Integer rating, Boolean isLiked, int sign) {
+        reviewCount = Math.max(0, reviewCount + sign);
+        if (rating != null) {
+            ratingSum = Math.max(0, ratingSum + (long) sign * rating);
+            switch (rating) {
+                case 1 -> stars1 = Math.max(0, stars1 + sign);
+                case 2 -> stars2 = Math.max(0, stars2 + sign);
+                case 3 -> stars3 = Math.max(0, stars3 + sign);
+                case 4 -> stars4 = Math.max(0, stars4 + sign);
+                case 5 -> stars5 = Math.max(0, stars5 + sign);
+                default -> {
+                }
+            }
+        }
+        if (Boolean.TRUE.equals(isLiked)) {
+            likesCount = Math.max(0, likesCount + sign);
+        } else if (Boolean.FALSE.equals(isLiked)) {
+            dislikesCount = Math.max(0, dislikesCount + sign);
+        }
+    }
+}
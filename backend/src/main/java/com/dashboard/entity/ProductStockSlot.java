@@ -0,0 +1,42 @@
+package com.dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_stock_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_slot_asin_index",
+                columnNames = {"product_asin", "slot_index"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStockSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_asin", nullable = false, length = 20)
+    private String asin;
+
+    @Column(name = "slot_index", nullable = false)
+    private Integer slotIndex;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer available = 0;
+
+    // Units sold from this slot that have not yet been flushed to products.stock_quantity
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer consumed = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.dashboard.repository;
+
+import com.dashboard.entity.DailyOrderCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface DailyOrderCountRepository extends JpaRepository<DailyOrderCount, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_order_counts (rollup_date, order_count, updated_at) " +
+            "VALUES (:rollupDate, :orderCount, NOW()) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), updated_at = NOW()",
+            nativeQuery = true)
+    void upsertDelta(@Param("rollupDate") LocalDate rollupDate, @Param("orderCount") Long orderCount);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_order_counts WHERE rollup_date BETWEEN :startDate AND :endDate", nativeQuery = true)
+    int deleteBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Each order is counted once, on the earliest date it produced revenue
+    @Modifying
+    @Query(value = "INSERT INTO daily_order_counts (rollup_date, order_count, updated_at) " +
+            "SELECT f.first_date, COUNT(*), NOW() FROM (" +
+            "SELECT r.order_id, MIN(r.revenue_date) AS first_date FROM (" +
+            "SELECT sr.order_id, sr.revenue_date FROM seller_revenues sr " +
+            "UNION ALL SELECT pr.order_id, pr.revenue_date FROM platform_revenue pr WHERE pr.revenue_type = 'DIRECT_SALE'" +
+            ") r JOIN orders o ON o.id = r.order_id WHERE o.status <> 'CANCELLED' GROUP BY r.order_id" +
+            ") f WHERE f.first_date BETWEEN :startDate AND :endDate GROUP BY f.first_date", nativeQuery = true)
+    int backfill(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(c.orderCount), 0) FROM DailyOrderCount c")
+    long sumOrderCount();
+}
@@ -0,0 +1,101 @@
+package com.dashboard.repository;
+
+import com.dashboard.dto.projection.DailyOrderTotals;
+import com.dashboard.dto.projection.RollupTotals;
+import com.dashboard.dto.projection.SellerRollupTotals;
+import com.dashboard.entity.DailyRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, seller_id, category_id, gross_amount, net_amount, platform_fee, units_sold, order_count, updated_at) " +
+            "VALUES (:rollupDate, :sellerId, :categoryId, :grossAmount, :netAmount, :platformFee, :unitsSold, :orderCount, NOW()) " +
+            "ON DUPLICATE KEY UPDATE gross_amount = gross_amount + VALUES(gross_amount), " +
+            "net_amount = net_amount + VALUES(net_amount), platform_fee = platform_fee + VALUES(platform_fee), " +
+            "units_sold = units_sold + VALUES(units_sold), order_count = order_count + VALUES(order_count), " +
+            "updated_at = NOW()", nativeQuery = true)
+    void upsertDelta(
+            @Param("rollupDate") LocalDate rollupDate,
+            @Param("sellerId") Long sellerId,
+            @Param("categoryId") Long categoryId,
+            @Param("grossAmount") BigDecimal grossAmount,
+            @Param("netAmount") BigDecimal netAmount,
+            @Param("platformFee") BigDecimal platformFee,
+            @Param("unitsSold") Long unitsSold,
+            @Param("orderCount") Long orderCount
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_revenue_rollups WHERE rollup_date BETWEEN :startDate AND :endDate", nativeQuery = true)
+    int deleteBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // order_count credits each (order, seller) pair to the row holding its first revenue line, matching
+    // RevenueRollupService.apply, so summing a seller's rows never counts one order twice
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, seller_id, category_id, gross_amount, net_amount, platform_fee, units_sold, order_count, updated_at) " +
+            "SELECT sr.revenue_date, sr.seller_id, COALESCE(p.category_id, 0), SUM(sr.gross_amount), SUM(sr.net_amount), " +
+            "COALESCE(SUM(sr.platform_fee), 0), SUM(sr.quantity_sold), " +
+            "COUNT(CASE WHEN sr.id = (SELECT MIN(f.id) FROM seller_revenues f " +
+            "WHERE f.order_id = sr.order_id AND f.seller_id = sr.seller_id) THEN 1 END), NOW() " +
+            "FROM seller_revenues sr " +
+            "JOIN orders o ON o.id = sr.order_id " +
+            "LEFT JOIN products p ON p.asin = sr.product_asin " +
+            "WHERE o.status <> 'CANCELLED' AND sr.revenue_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY sr.revenue_date, sr.seller_id, COALESCE(p.category_id, 0)", nativeQuery = true)
+    int backfillSellerRevenue(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, seller_id, category_id, gross_amount, net_amount, platform_fee, units_sold, order_count, updated_at) " +
+            "SELECT pr.revenue_date, 0, COALESCE(p.category_id, 0), SUM(pr.gross_amount), SUM(pr.gross_amount), 0, " +
+            "COALESCE(SUM(pr.quantity_sold), 0), " +
+            "COUNT(CASE WHEN pr.id = (SELECT MIN(f.id) FROM platform_revenue f " +
+            "WHERE f.order_id = pr.order_id AND f.revenue_type = 'DIRECT_SALE') THEN 1 END), NOW() " +
+            "FROM platform_revenue pr " +
+            "JOIN orders o ON o.id = pr.order_id " +
+            "LEFT JOIN products p ON p.asin = pr.product_asin " +
+            "WHERE pr.revenue_type = 'DIRECT_SALE' AND o.status <> 'CANCELLED' " +
+            "AND pr.revenue_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY pr.revenue_date, COALESCE(p.category_id, 0)", nativeQuery = true)
+    int backfillPlatformSales(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.dashboard.dto.projection.RollupTotals(" +
+            "COALESCE(SUM(CASE WHEN r.sellerId = 0 THEN r.grossAmount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.sellerId <> 0 THEN r.grossAmount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.sellerId <> 0 THEN r.netAmount ELSE 0 END), 0), " +
+            "COALESCE(SUM(r.platformFee), 0), COALESCE(SUM(r.unitsSold), 0), COALESCE(SUM(r.orderCount), 0)) " +
+            "FROM DailyRevenueRollup r")
+    RollupTotals sumTotals();
+
+    @Query("SELECT new com.dashboard.dto.projection.SellerRollupTotals(r.sellerId, COALESCE(SUM(r.grossAmount), 0), " +
+            "COALESCE(SUM(r.netAmount), 0), COALESCE(SUM(r.unitsSold), 0), COALESCE(SUM(r.orderCount), 0)) " +
+            "FROM DailyRevenueRollup r WHERE r.sellerId = :sellerId GROUP BY r.sellerId")
+    List<SellerRollupTotals> sumTotalsBySeller(@Param("sellerId") Long sellerId);
+
+    @Query("SELECT new com.dashboard.dto.projection.SellerRollupTotals(r.sellerId, COALESCE(SUM(r.grossAmount), 0), " +
+            "COALESCE(SUM(r.netAmount), 0), COALESCE(SUM(r.unitsSold), 0), COALESCE(SUM(r.orderCount), 0)) " +
+            "FROM DailyRevenueRollup r WHERE r.sellerId IN :sellerIds GROUP BY r.sellerId")
+    List<SellerRollupTotals> sumTotalsBySellers(@Param("sellerIds") List<Long> sellerIds);
+
+    @Query("SELECT new com.dashboard.dto.projection.DailyOrderTotals(r.rollupDate, COALESCE(SUM(r.orderCount), 0), " +
+            "COALESCE(SUM(r.netAmount), 0), COALESCE(SUM(r.unitsSold), 0)) " +
+            "FROM DailyRevenueRollup r WHERE r.sellerId = :sellerId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<DailyOrderTotals> sumDailyTotalsBySeller(
+            @Param("sellerId") Long sellerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+}
@@ -0,0 +1,29 @@
+package com.dashboard.repository;
+
+import com.dashboard.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByOwnerAndIdempotencyKey(String owner, String idempotencyKey);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.responseStatus = :responseStatus, " +
+            "r.responseBody = :responseBody WHERE r.id = :id")
+    int complete(@Param("id") Long id,
+                 @Param("status") IdempotencyRecord.Status status,
+                 @Param("responseStatus") Integer responseStatus,
+                 @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,14 +29,25 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     Long countByRecipientAndIsReadFalse(User recipient);
 
+    long countByRecipientIdAndIsReadFalse(Long recipientId);
+
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n " +
+            "WHERE n.isRead = false AND n.recipient.id IN :recipientIds GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<Long> recipientIds);
+
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.recipient = :recipient AND n.isRead = false")
     int markAllAsReadByRecipient(@Param("recipient") User recipient, @Param("readAt") LocalDateTime readAt);
 
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id IN :ids AND n.recipient = :recipient")
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id IN :ids AND n.recipient = :recipient AND n.isRead = false")
     int markAsReadByIds(@Param("ids") List<Long> ids, @Param("recipient") User recipient, @Param("readAt") LocalDateTime readAt);
 
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId AND n.id > :afterId ORDER BY n.id")
+    List<Notification> findByRecipientIdAfter(@Param("recipientId") Long recipientId,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
     @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId ORDER BY n.createdAt DESC")
     List<Notification> findLatestByRecipientId(@Param("recipientId") Long recipientId, Pageable pageable);
 
@@ -0,0 +1,40 @@
+package com.dashboard.repository;
+
+import com.dashboard.entity.OrderEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    @Query("SELECT e.id FROM OrderEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<Long> findDueIds(@Param("status") OrderEvent.Status status,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.status = :claimed, e.lockedAt = :now " +
+            "WHERE e.id = :id AND e.status = :expected")
+    int claim(@Param("id") Long id,
+              @Param("expected") OrderEvent.Status expected,
+              @Param("claimed") OrderEvent.Status claimed,
+              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.status = :released, e.lockedAt = NULL " +
+            "WHERE e.status = :stuck AND e.lockedAt < :lockedBefore")
+    int releaseStale(@Param("stuck") OrderEvent.Status stuck,
+                     @Param("released") OrderEvent.Status released,
+                     @Param("lockedBefore") LocalDateTime lockedBefore);
+
+    boolean existsByEventKey(String eventKey);
+
+    long countByStatus(OrderEvent.Status status);
+}
@@ -1,5 +1,7 @@
 package com. dashboard.repository;
 
+import com.dashboard.dto.projection.SalesExportRow;
+import com.dashboard.entity.Order;
 import com.dashboard. entity.OrderItem;
 import com.dashboard.entity. User;
 import org. springframework.data.domain.Page;
@@ -9,6 +11,8 @@ import org.springframework. data.jpa. repository.Query;
 import org.springframework. data.repository.query.Param;
 import org.springframework. stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util. List;
 
 @Repository
@@ -38,4 +42,25 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     Long countSellerSalesFromConfirmedOrders();
 
     boolean existsByProductAsin(String productAsin);
+
+    @Query("SELECT new com.dashboard.dto.projection.SalesExportRow(" +
+            "oi.id, o.createdAt, o.orderNumber, o.status, oi.productAsin, oi.productName, c.name, " +
+            "u.email, u.fullName, oi.quantity, oi.unitPrice, oi.subtotal) " +
+            "FROM OrderItem oi " +
+            "JOIN oi.order o " +
+            "JOIN o.user u " +
+            "LEFT JOIN oi.product p " +
+            "LEFT JOIN p.category c " +
+            "WHERE o.createdAt >= :start AND o.createdAt < :end " +
+            "AND o.status IN :statuses " +
+            "AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND oi.id > :afterId)) " +
+            "ORDER BY o.createdAt ASC, oi.id ASC")
+    List<SalesExportRow> findSalesExportPage(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("statuses") Collection<Order.OrderStatus> statuses,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
 }
\ No newline at end of file
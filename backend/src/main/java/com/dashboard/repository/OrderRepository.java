@@ -1,16 +1,23 @@
 package com.dashboard.repository;
 
+import com.dashboard.dto.projection.DailyOrderTotals;
+import com.dashboard.dto.projection.DayOfWeekCount;
+import com.dashboard.dto.projection.OrderTotals;
+import com.dashboard.dto.projection.StatusCount;
 import com.dashboard.entity.Order;
 import com.dashboard.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +26,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
     List<Order> findByUserOrderByCreatedAtDesc(User user);
 
     List<Order> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
@@ -36,4 +47,36 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE DATE(o.orderDate) = CURRENT_DATE AND o.status = 'CONFIRMED'")
     BigDecimal calculateTodayRevenue();
 
+    @Query("SELECT new com.dashboard.dto.projection.StatusCount(o.status, COUNT(o)) " +
+            "FROM Order o GROUP BY o.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT new com.dashboard.dto.projection.OrderTotals(COUNT(o), COALESCE(SUM(o.totalAmount), 0), " +
+            "COALESCE(SUM(o.totalItems), 0)) " +
+            "FROM Order o WHERE o.status IN :statuses")
+    OrderTotals sumTotalsByStatusIn(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT new com.dashboard.dto.projection.OrderTotals(COUNT(o), COALESCE(SUM(o.totalAmount), 0), " +
+            "COALESCE(SUM(o.totalItems), 0)) " +
+            "FROM Order o WHERE o.status IN :statuses AND o.createdAt >= :start AND o.createdAt < :end")
+    OrderTotals sumTotalsByStatusInBetween(
+            @Param("statuses") Collection<Order.OrderStatus> statuses,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("SELECT new com.dashboard.dto.projection.DailyOrderTotals(CAST(o.createdAt AS LocalDate), COUNT(o), " +
+            "COALESCE(SUM(o.totalAmount), 0), COALESCE(SUM(o.totalItems), 0)) " +
+            "FROM Order o WHERE o.status IN :statuses AND o.createdAt >= :start AND o.createdAt < :end " +
+            "GROUP BY CAST(o.createdAt AS LocalDate) ORDER BY CAST(o.createdAt AS LocalDate)")
+    List<DailyOrderTotals> sumDailyTotals(
+            @Param("statuses") Collection<Order.OrderStatus> statuses,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("SELECT new com.dashboard.dto.projection.DayOfWeekCount(EXTRACT(DAY OF WEEK FROM o.createdAt), COUNT(o)) " +
+            "FROM Order o WHERE o.status IN :statuses " +
+            "GROUP BY EXTRACT(DAY OF WEEK FROM o.createdAt)")
+    List<DayOfWeekCount> countByDayOfWeek(@Param("statuses") Collection<Order.OrderStatus> statuses);
 }
\ No newline at end of file
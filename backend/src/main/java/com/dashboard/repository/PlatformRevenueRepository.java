@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @Repository
 public interface PlatformRevenueRepository extends JpaRepository<PlatformRevenue, Long> {
@@ -24,5 +25,7 @@ public interface PlatformRevenueRepository extends JpaRepository<PlatformRevenue
     @Query("SELECT COALESCE(SUM(pr.grossAmount), 0) FROM PlatformRevenue pr WHERE pr.revenueType = 'COMMISSION'")
     BigDecimal calculateCommissionRevenue();
 
+    List<PlatformRevenue> findByOrderIdAndRevenueType(Long orderId, PlatformRevenue.RevenueType revenueType);
+
 
 }
\ No newline at end of file
@@ -1,26 +1,77 @@
 package com.dashboard.repository;
 
+import com.dashboard.dto.projection.CategorySalesRow;
+import com.dashboard.dto.projection.PriceBandCounts;
+import com.dashboard.dto.projection.ProductOverviewTotals;
+import com.dashboard.dto.projection.ProductOwnershipTotals;
+import com.dashboard.dto.projection.RatingBandCounts;
 import com.dashboard.entity.Category;
 import com.dashboard.entity.Product;
 import com.dashboard.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, String>, JpaSpecificationExecutor<Product> {
 
     Optional<Product> findByAsin(String asin);
 
+    List<Product> findByAsinIn(Collection<String> asins);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.seller WHERE p.asin IN :asins")
+    List<Product> findWithCategoryAndSellerByAsinIn(@Param("asins") Collection<String> asins);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.asin = :asin")
+    Optional<Product> findByAsinForUpdate(@Param("asin") String asin);
+
+    // Product page aggregate: product, category, seller and review summary in one round trip
+    @Query("SELECT p, s FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.seller " +
+            "LEFT JOIN ProductReviewSummary s ON s.productAsin = p.asin WHERE p.asin = :asin")
+    List<Object[]> findWithReviewSummary(@Param("asin") String asin);
+
+    @Query("SELECT p.asin FROM Product p WHERE p.hotSku = true")
+    List<String> findHotSkuAsins();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
+            "WHERE p.asin = :asin AND p.stockQuantity >= :quantity")
+    int reserveStock(@Param("asin") String asin, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = COALESCE(p.stockQuantity, 0) + :quantity WHERE p.asin = :asin")
+    int releaseStock(@Param("asin") String asin, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta WHERE p.asin = :asin")
+    int adjustStock(@Param("asin") String asin, @Param("delta") int delta);
+
+    @Query(value = "SELECT stock_quantity FROM products WHERE asin = :asin FOR UPDATE", nativeQuery = true)
+    Integer lockStockQuantity(@Param("asin") String asin);
+
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.asin = :asin")
+    Integer findStockQuantity(@Param("asin") String asin);
+
     Long countBySellerIsNull();
     Page<Product> findBySellerIsNull(Pageable pageable);
     Page<Product> findBySellerIsNullAndStockQuantityLessThan(Integer threshold, Pageable pageable);
@@ -103,4 +154,127 @@ public interface ProductRepository extends JpaRepository<Product, String>, JpaSp
     @Query("SELECT COUNT(p) FROM Product p WHERE p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL")
     Long countAllExcludingRejected();
 
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category " +
+            "WHERE p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL")
+    Stream<Product> streamAllExcludingRejected();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category")
+    Stream<Product> streamAll();
+
+    @Query("SELECT COUNT(p), COALESCE(SUM(p.price), 0), COUNT(p.rating), COALESCE(SUM(p.rating), 0), " +
+            "COALESCE(SUM(p.reviewsCount), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 4.0 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.salesCount > 0 THEN 1 ELSE 0 END), 0) " +
+            "FROM Product p")
+    List<Object[]> aggregateDashboardTotals();
+
+    // Band edges must match DashboardAggregateStore.PRICE_BAND_EDGES and RATING_BAND_EDGES
+    @Query("SELECT COALESCE(SUM(CASE WHEN p.price < 10 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price >= 10 AND p.price < 25 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price >= 25 AND p.price < 50 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price >= 50 AND p.price < 100 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price >= 100 AND p.price < 200 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price >= 200 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 4.5 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 4.0 AND p.rating < 4.5 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 3.0 AND p.rating < 4.0 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 2.0 AND p.rating < 3.0 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating < 2.0 OR p.rating IS NULL THEN 1 ELSE 0 END), 0) " +
+            "FROM Product p")
+    List<Object[]> aggregateDashboardBands();
+
+    // Estimated units per product: sales_count when positive, otherwise one per ten reviews (at least one)
+    @Query(value = "SELECT category_id, COUNT(*), COALESCE(SUM(price), 0), " +
+            "COALESCE(SUM(price * CASE WHEN sales_count > 0 THEN sales_count " +
+            "WHEN COALESCE(reviews_count, 0) >= 10 THEN reviews_count DIV 10 ELSE 1 END), 0) " +
+            "FROM products WHERE category_id IS NOT NULL GROUP BY category_id", nativeQuery = true)
+    List<Object[]> aggregateDashboardCategories();
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY " +
+            "(COALESCE(p.rating, 0) * 1000 + COALESCE(p.salesCount, 0) * 100 + " +
+            "CASE WHEN p.ranking > 0 AND p.ranking <= 100 THEN 100 - p.ranking ELSE 0 END) DESC, p.asin ASC")
+    List<Product> findTopByDashboardScore(Pageable pageable);
+
+    @Query("SELECT p.category.id, AVG(p.price), MIN(p.price), MAX(p.price), AVG(p.reviewsCount), COUNT(p) " +
+            "FROM Product p WHERE p.approvalStatus = 'APPROVED' AND p.category IS NOT NULL " +
+            "GROUP BY p.category.id")
+    List<Object[]> aggregateCategoryStats();
+
+    @Query("SELECT p.category.id, AVG(p.price), MIN(p.price), MAX(p.price), AVG(p.reviewsCount), COUNT(p) " +
+            "FROM Product p WHERE p.approvalStatus = 'APPROVED' AND p.category.id = :categoryId " +
+            "GROUP BY p.category.id")
+    List<Object[]> aggregateCategoryStats(@Param("categoryId") Long categoryId);
+
+    long countBySellerIdAndApprovalStatus(Long sellerId, Product.ApprovalStatus status);
+
+    long countByApprovalStatusAndSellerIsNotNull(Product.ApprovalStatus status);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.seller " +
+            "WHERE p.approvalStatus = :status AND p.salesCount > 0 ORDER BY p.salesCount DESC, p.asin ASC")
+    List<Product> findTopSellingByApprovalStatus(@Param("status") Product.ApprovalStatus status, Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category " +
+            "WHERE (p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL) AND p.salesCount > 0 " +
+            "ORDER BY p.salesCount DESC, p.asin ASC")
+    List<Product> findTopSellingExcludingRejected(Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category " +
+            "WHERE (p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL) " +
+            "AND p.price IS NOT NULL AND p.rating IS NOT NULL")
+    List<Product> findPricedAndRatedExcludingRejected(Pageable pageable);
+
+    @Query("SELECT p FROM Product p " +
+            "WHERE (p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL) " +
+            "AND p.stockQuantity <= :threshold ORDER BY p.stockQuantity ASC")
+    List<Product> findLowStockExcludingRejected(@Param("threshold") Integer threshold, Pageable pageable);
+
+    @Query("SELECT new com.dashboard.dto.projection.CategorySalesRow(c.id, c.name, COUNT(p), " +
+            "COALESCE(SUM(p.price), 0), AVG(p.rating), COALESCE(SUM(p.salesCount), 0), " +
+            "COALESCE(SUM(p.price * p.salesCount), 0)) " +
+            "FROM Category c LEFT JOIN c.products p " +
+            "GROUP BY c.id, c.name")
+    List<CategorySalesRow> aggregateCategorySales();
+
+    @Query("SELECT new com.dashboard.dto.projection.ProductOverviewTotals(COUNT(p), COALESCE(SUM(p.price), 0), " +
+            "AVG(p.rating), COALESCE(SUM(p.reviewsCount), 0), COALESCE(SUM(p.price * p.stockQuantity), 0), " +
+            "COALESCE(SUM(CASE WHEN p.stockQuantity < 10 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.stockQuantity = 0 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Product p WHERE p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL")
+    ProductOverviewTotals aggregateOverviewExcludingRejected();
+
+    @Query("SELECT new com.dashboard.dto.projection.ProductOwnershipTotals(COUNT(p), COALESCE(SUM(p.salesCount), 0), " +
+            "COALESCE(SUM(CASE WHEN s.role = 'SELLER' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN s.role = 'SELLER' THEN p.salesCount ELSE 0 END), 0)) " +
+            "FROM Product p LEFT JOIN p.seller s " +
+            "WHERE p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL")
+    ProductOwnershipTotals aggregateOwnershipExcludingRejected();
+
+    @Query("SELECT new com.dashboard.dto.projection.PriceBandCounts(" +
+            "COALESCE(SUM(CASE WHEN p.price <= 10 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price > 10 AND p.price <= 25 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price > 25 AND p.price <= 50 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price > 50 AND p.price <= 100 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.price > 100 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Product p WHERE p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL")
+    PriceBandCounts countPriceBandsExcludingRejected();
+
+    @Query("SELECT new com.dashboard.dto.projection.RatingBandCounts(" +
+            "COALESCE(SUM(CASE WHEN p.rating >= 4.5 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 4.0 AND p.rating < 4.5 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 3.0 AND p.rating < 4.0 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating >= 2.0 AND p.rating < 3.0 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.rating < 2.0 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Product p WHERE p.approvalStatus != 'REJECTED' OR p.approvalStatus IS NULL")
+    RatingBandCounts countRatingBandsExcludingRejected();
+
 }
\ No newline at end of file
@@ -1,14 +1,17 @@
 package com.dashboard.repository;
 
+import com.dashboard.dto.projection.ReviewAggregateRow;
 import com.dashboard.entity.ProductReview;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,12 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
 
     Optional<ProductReview> findByUserIdAndProductAsin(Long userId, String productAsin);
 
+    @EntityGraph(attributePaths = "user")
+    Optional<ProductReview> findByUserEmailAndProductAsin(String email, String productAsin);
+
+    @EntityGraph(attributePaths = "user")
+    List<ProductReview> findTop5ByProductAsinOrderByCreatedAtDesc(String productAsin);
+
     Page<ProductReview> findByProductAsinOrderByCreatedAtDesc(String productAsin, Pageable pageable);
 
     Page<ProductReview> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
@@ -36,6 +45,15 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
     @Query("SELECT r.rating, COUNT(r) FROM ProductReview r WHERE r.product.asin = :asin GROUP BY r.rating")
     List<Object[]> getRatingDistribution(@Param("asin") String asin);
 
+    @Query("SELECT new com.dashboard.dto.projection.ReviewAggregateRow(r.product.asin, " +
+            "SUM(r.rating), COUNT(r), " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.isLiked = true THEN 1 ELSE 0 END), SUM(CASE WHEN r.isLiked = false THEN 1 ELSE 0 END)) " +
+            "FROM ProductReview r WHERE r.product.asin IN :asins GROUP BY r.product.asin")
+    List<ReviewAggregateRow> aggregateByProductAsins(@Param("asins") Collection<String> asins);
+
     @Query("SELECT r FROM ProductReview r WHERE r.product.asin IN :asins ORDER BY r.createdAt DESC")
     Page<ProductReview> findByProductAsinInOrderByCreatedAtDesc(@Param("asins") List<String> asins, Pageable pageable);
 
@@ -0,0 +1,48 @@
+package com.dashboard.repository;
+
+import com.dashboard.entity.ProductReviewSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductReviewSummaryRepository extends JpaRepository<ProductReviewSummary, String> {
+
+    @Query("SELECT s.productAsin FROM ProductReviewSummary s WHERE s.productAsin > :after ORDER BY s.productAsin")
+    List<String> findAsinsAfter(@Param("after") String after, Pageable pageable);
+
+    // Seeds a missing summary from the product's current reviews; a concurrent seed of the same row is ignored
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO product_review_summaries " +
+            "(product_asin, rating_sum, review_count, stars_1, stars_2, stars_3, stars_4, stars_5, " +
+            "likes_count, dislikes_count, version, updated_at) " +
+            "SELECT :asin, COALESCE(SUM(r.rating), 0), COUNT(r.id), " +
+            "COALESCE(SUM(r.rating = 1), 0), COALESCE(SUM(r.rating = 2), 0), COALESCE(SUM(r.rating = 3), 0), " +
+            "COALESCE(SUM(r.rating = 4), 0), COALESCE(SUM(r.rating = 5), 0), " +
+            "COALESCE(SUM(r.is_liked = TRUE), 0), COALESCE(SUM(r.is_liked = FALSE), 0), 0, NOW() " +
+            "FROM product_reviews r WHERE r.product_asin = :asin",
+            nativeQuery = true)
+    int seedFromReviews(@Param("asin") String asin);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO product_review_summaries " +
+            "(product_asin, rating_sum, review_count, stars_1, stars_2, stars_3, stars_4, stars_5, " +
+            "likes_count, dislikes_count, version, updated_at) " +
+            "SELECT r.product_asin, SUM(r.rating), COUNT(r.id), " +
+            "SUM(r.rating = 1), SUM(r.rating = 2), SUM(r.rating = 3), SUM(r.rating = 4), SUM(r.rating = 5), " +
+            "COALESCE(SUM(r.is_liked = TRUE), 0), COALESCE(SUM(r.is_liked = FALSE), 0), 0, NOW() " +
+            "FROM product_reviews r GROUP BY r.product_asin",
+            nativeQuery = true)
+    int seedAllFromReviews();
+
+    @Modifying
+    @Query(value = "DELETE s FROM product_review_summaries s " +
+            "INNER JOIN products p ON s.product_asin = p.asin WHERE p.seller_id = :sellerId",
+            nativeQuery = true)
+    int deleteBySellerId(@Param("sellerId") Long sellerId);
+}
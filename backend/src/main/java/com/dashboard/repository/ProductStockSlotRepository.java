@@ -0,0 +1,35 @@
+package com.dashboard.repository;
+
+import com.dashboard.entity.ProductStockSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductStockSlotRepository extends JpaRepository<ProductStockSlot, Long> {
+
+    @Query("SELECT s.slotIndex FROM ProductStockSlot s WHERE s.asin = :asin AND s.available >= :quantity")
+    List<Integer> findSlotsWithAvailable(@Param("asin") String asin, @Param("quantity") int quantity);
+
+    @Query("SELECT COALESCE(SUM(s.consumed), 0) FROM ProductStockSlot s WHERE s.asin = :asin")
+    long sumConsumed(@Param("asin") String asin);
+
+    @Modifying
+    @Query("UPDATE ProductStockSlot s SET s.available = s.available - :quantity, s.consumed = s.consumed + :quantity " +
+            "WHERE s.asin = :asin AND s.slotIndex = :slotIndex AND s.available >= :quantity")
+    int reserve(@Param("asin") String asin, @Param("slotIndex") int slotIndex, @Param("quantity") int quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductStockSlot s WHERE s.asin = :asin ORDER BY s.slotIndex")
+    List<ProductStockSlot> findByAsinForUpdate(@Param("asin") String asin);
+
+    @Modifying
+    @Query("DELETE FROM ProductStockSlot s WHERE s.asin = :asin")
+    int deleteByAsin(@Param("asin") String asin);
+}
@@ -59,5 +59,7 @@ public interface SellerRevenueRepository extends JpaRepository<SellerRevenue, Lo
             "ORDER BY SUM(sr.grossAmount) DESC")
     List<Object[]> getTopSellersByRevenue(Pageable pageable);
 
+    List<SellerRevenue> findByOrderId(Long orderId);
+
     boolean existsByOrderItemId(Long orderItemId);
 }
\ No newline at end of file
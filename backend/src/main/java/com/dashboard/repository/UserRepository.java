@@ -1,5 +1,7 @@
 package com.dashboard.repository;
 
+import com.dashboard.dto.projection.MonthlyCount;
+import com.dashboard.dto.projection.SellerAccountCounts;
 import com.dashboard.entity. User;
 import org.springframework. data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +11,7 @@ import org.springframework.data.jpa.repository. Query;
 import org.springframework. data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +28,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRoleAndIsActiveTrue(User.Role role);
 
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.isActive = true")
+    List<Long> findActiveIdsByRole(@Param("role") User.Role role);
+
     List<User> findAllByRole(User.Role role);
 
     Long countByRole(User.Role role);
@@ -35,4 +41,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Page<User> findByRoleAndIsVerifiedSellerAndIsActiveTrue(User.Role role, Boolean isVerifiedSeller, Pageable pageable);
 
+    long countByRoleAndCreatedAtBefore(User.Role role, LocalDateTime before);
+
+    @Query("SELECT new com.dashboard.dto.projection.SellerAccountCounts(COUNT(u), " +
+            "COALESCE(SUM(CASE WHEN u.isVerifiedSeller = true THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN u.isActive = true THEN 1 ELSE 0 END), 0)) " +
+            "FROM User u WHERE u.role = :role")
+    SellerAccountCounts countAccountsByRole(@Param("role") User.Role role);
+
+    @Query("SELECT new com.dashboard.dto.projection.MonthlyCount(YEAR(u.createdAt), MONTH(u.createdAt), COUNT(u)) " +
+            "FROM User u WHERE u.role = :role AND u.createdAt >= :start AND u.createdAt < :end " +
+            "GROUP BY YEAR(u.createdAt), MONTH(u.createdAt)")
+    List<MonthlyCount> countCreatedByMonth(
+            @Param("role") User.Role role,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
 }
\ No newline at end of file
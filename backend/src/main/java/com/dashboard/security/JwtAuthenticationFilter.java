@@ -1,5 +1,6 @@
 package com.dashboard.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,10 +32,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseValidClaims(jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null && StringUtils.hasText(claims.getSubject())) {
+                String username = claims.getSubject();
+
+                UserDetails userDetails = userDetailsService.loadAuthenticatedPrincipal(username);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -22,9 +22,22 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        if (signingKey == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+            signingKey = Keys.hmacShaKeyFor(keyBytes);
+        }
+        return signingKey;
+    }
+
+    private JwtParser getParser() {
+        if (parser == null) {
+            parser = Jwts.parser().verifyWith(getSigningKey()).build();
+        }
+        return parser;
     }
 
     public String generateToken(String email, String role) {
@@ -41,9 +54,7 @@ public class JwtTokenProvider {
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        Claims claims = getParser()
                 .parseSignedClaims(token)
                 .getPayload();
 
@@ -51,12 +62,17 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+
+    /**
+     * Verifies the token and returns its claims, or null when it is not valid.
+     */
+    public Claims parseValidClaims(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            return getParser()
+                    .parseSignedClaims(authToken)
+                    .getPayload();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -68,6 +84,6 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.dashboard.security;
+
+import com.dashboard.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BCrypt encoder that runs every hash on a small bounded pool, so a burst of logins or
+ * registrations queues up behind a fixed number of CPU-bound workers instead of occupying
+ * every request thread. When the queue is full callers fail fast with a 503.
+ */
+@Slf4j
+@Component
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PooledPasswordEncoder(@Value("${security.password-hashing.cost:10}") int cost,
+                                 @Value("${security.password-hashing.threads:0}") int threads,
+                                 @Value("${security.password-hashing.queue-capacity:32}") int queueCapacity,
+                                 @Value("${security.password-hashing.wait-timeout-ms:1500}") long waitTimeoutMs,
+                                 @Value("${server.tomcat.threads.max:200}") int requestThreads) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Callers block while their hash is queued, so the queue must stay well below the request pool or a
+        // login burst parks every Tomcat thread instead of shedding the excess with a 503
+        int maxQueue = Math.max(1, requestThreads / 4);
+        if (queueCapacity > maxQueue) {
+            log.warn("Password hashing queue {} is too close to {} request threads, capping it at {}",
+                    queueCapacity, requestThreads, maxQueue);
+            queueCapacity = maxQueue;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Password hashing pool started: cost {}, {} threads, queue {}, wait {} ms",
+                cost, poolSize, queueCapacity, waitTimeoutMs);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // True when the stored hash uses a lower cost than configured; DaoAuthenticationProvider then rehashes on login
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public HashingStats getStats() {
+        long done = completed.sum();
+        return new HashingStats(
+                executor.getPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getQueue().remainingCapacity(),
+                done,
+                rejected.sum(),
+                done > 0 ? hashNanos.sum() / done / 1_000_000.0 : 0,
+                maxHashNanos.get() / 1_000_000.0,
+                done > 0 ? waitNanos.sum() / done / 1_000_000.0 : 0
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hash.call();
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    hashNanos.add(elapsed);
+                    waitNanos.add(started - submitted);
+                    maxHashNanos.accumulateAndGet(elapsed, Math::max);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public record HashingStats(int threads, int active, int queueDepth, int queueRemaining, long completed,
+                               long rejected, double averageHashMs, double maxHashMs, double averageWaitMs) {
+    }
+}
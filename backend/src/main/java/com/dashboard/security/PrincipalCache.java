@@ -0,0 +1,63 @@
+package com.dashboard.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache {
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+
+    @Value("${security.principal-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${security.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principals.get(email);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.principal();
+        }
+
+        UserDetails principal = loader.apply(email);
+        if (principals.size() >= maxEntries) {
+            principals.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        if (principals.size() < maxEntries) {
+            principals.put(email, new CachedPrincipal(principal, now + ttlMs));
+        }
+        return principal;
+    }
+
+    // Evicts now and again after commit, so a request that reloaded the old row mid-transaction is dropped too
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        principals.remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principals.remove(email);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        principals.clear();
+    }
+
+    private record CachedPrincipal(UserDetails principal, long expiresAt) {
+    }
+}
@@ -5,6 +5,7 @@ import com.dashboard.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,9 +15,10 @@ import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -34,4 +36,37 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .disabled(!user.getIsActive())
                 .build();
     }
+
+    // Called by DaoAuthenticationProvider after a successful login when the stored hash uses an outdated cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findByEmail(userDetails.getUsername()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            userRepository.save(user);
+        });
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+
+    /**
+     * Principal for an already-verified token: served from the short-lived cache and
+     * carrying no password hash, since the filter never checks credentials.
+     */
+    public UserDetails loadAuthenticatedPrincipal(String email) throws UsernameNotFoundException {
+        return principalCache.get(email, this::loadPrincipal);
+    }
+
+    private UserDetails loadPrincipal(String email) {
+        User user = userRepository.findByEmailAndIsActiveTrue(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(user.getEmail())
+                .password("")
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
+                .disabled(!user.getIsActive())
+                .build();
+    }
 }
\ No newline at end of file
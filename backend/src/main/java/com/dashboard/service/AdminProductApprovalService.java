@@ -36,6 +36,9 @@ public class AdminProductApprovalService {
     private final OrderRepository orderRepository;
     private final PlatformRevenueRepository platformRevenueRepository;
     private final OrderItemRepository orderItemRepository;
+    private final DashboardAggregateStore aggregateStore;
+    private final CategoryStatsCache categoryStatsCache;
+    private final ProductSearchIndex searchIndex;
 
 
     private User getCurrentAdmin() {
@@ -101,6 +104,9 @@ public class AdminProductApprovalService {
                 .build();
 
         product = productRepository.save(product);
+        aggregateStore.onProductAdded(product);
+        searchIndex.onProductSaved(product);
+        categoryStatsCache.invalidate(product.getCategory());
 
         request.setStatus(SellerProductRequest.RequestStatus.APPROVED);
         request.setReviewedBy(admin);
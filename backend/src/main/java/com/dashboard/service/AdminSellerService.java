@@ -4,6 +4,7 @@ import com.dashboard.entity.*;
 import com.dashboard.exception.BadRequestException;
 import com.dashboard.exception.ResourceNotFoundException;
 import com.dashboard.repository.*;
+import com.dashboard.security.PrincipalCache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,9 @@ public class AdminSellerService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final BannedEmailRepository bannedEmailRepository;
+    private final PrincipalCache principalCache;
+    private final ProductReviewSummaryRepository reviewSummaryRepository;
+    private final ProductSearchIndex searchIndex;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -67,6 +71,7 @@ public class AdminSellerService {
 
         seller.setIsVerifiedSeller(false);
         userRepository.save(seller);
+        searchIndex.reindex(productRepository.findBySellerId(sellerId).stream().map(Product::getAsin).toList());
 
         entityManager.createQuery(
                         "UPDATE Product p SET p.approvalStatus = : status WHERE p.seller.id = :sellerId")
@@ -88,6 +93,7 @@ public class AdminSellerService {
         }
 
         String sellerEmail = seller.getEmail();
+        List<String> sellerAsins = productRepository.findBySellerId(sellerId).stream().map(Product::getAsin).toList();
         log.info("=== DEACTIVATION START:  {} (ID: {}) by admin {} ===",
                 sellerEmail, sellerId, admin.getEmail());
 
@@ -122,6 +128,7 @@ public class AdminSellerService {
                                     "WHERE p.seller_id = :sellerId")
                     .setParameter("sellerId", sellerId)
                     .executeUpdate();
+            reviewSummaryRepository.deleteBySellerId(sellerId);
             log.info("Step 2 completed: Reviews deleted");
 
             log.info("Step 3: Deleting seller revenues...");
@@ -188,6 +195,8 @@ public class AdminSellerService {
             log.info("Step 10 completed: User deleted");
 
             entityManager.flush();
+            principalCache.evict(sellerEmail);
+            searchIndex.reindex(sellerAsins);
             log.info("=== DEACTIVATION COMPLETE: {} ===", sellerEmail);
 
         } catch (Exception e) {
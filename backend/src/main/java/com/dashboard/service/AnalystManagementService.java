@@ -7,6 +7,7 @@ import com.dashboard.entity.User;
 import com.dashboard.exception.BadRequestException;
 import com.dashboard.exception.ResourceNotFoundException;
 import com.dashboard.repository.UserRepository;
+import com.dashboard.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,6 +28,8 @@ public class AnalystManagementService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final NotificationRecipientCache recipientCache;
+    private final PrincipalCache principalCache;
 
     private User getCurrentAdmin() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -103,6 +106,7 @@ public class AnalystManagementService {
                 .build();
 
         analyst = userRepository.save(analyst);
+        recipientCache.invalidate();
 
         log.info("Analyst created successfully: {} (ID: {})", analyst.getEmail(), analyst.getId());
 
@@ -123,6 +127,8 @@ public class AnalystManagementService {
             throw new BadRequestException("User is not an analyst");
         }
 
+        principalCache.evict(analyst.getEmail());
+
         if (request.getEmail() != null && !request.getEmail().equals(analyst.getEmail())) {
             if (userRepository.findByEmail(request.getEmail()).isPresent()) {
                 throw new BadRequestException("Email already in use");
@@ -156,6 +162,7 @@ public class AnalystManagementService {
 
         analyst.setUpdatedAt(LocalDateTime.now());
         analyst = userRepository.save(analyst);
+        recipientCache.invalidate();
 
         log.info("Analyst updated successfully: {}", analyst.getEmail());
 
@@ -177,6 +184,8 @@ public class AnalystManagementService {
         }
 
         userRepository.delete(analyst);
+        recipientCache.invalidate();
+        principalCache.evict(analyst.getEmail());
 
         log.info("Analyst deleted successfully: {}", analyst.getEmail());
     }
@@ -198,6 +207,8 @@ public class AnalystManagementService {
         analyst.setIsActive(!analyst.getIsActive());
         analyst.setUpdatedAt(LocalDateTime.now());
         analyst = userRepository.save(analyst);
+        recipientCache.invalidate();
+        principalCache.evict(analyst.getEmail());
 
         log.info("Analyst status toggled: {} -> {}", analyst.getEmail(), analyst.getIsActive());
 
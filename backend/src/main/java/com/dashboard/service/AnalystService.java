@@ -1,6 +1,8 @@
 package com.dashboard.service;
 
+import com.dashboard.dto.projection.*;
 import com.dashboard.entity.*;
+import com.dashboard.exception.BadRequestException;
 import com.dashboard.exception.ResourceNotFoundException;
 import com.dashboard.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,9 +28,11 @@ public class AnalystService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final SellerRevenueRepository sellerRevenueRepository;
-    private final PlatformRevenueRepository platformRevenueRepository;
     private final OrderItemRepository orderItemRepository;
+    private final RevenueTimeSeriesService revenueTimeSeriesService;
+    private final RevenueRollupService revenueRollupService;
 
+    private static final List<Order.OrderStatus> REVENUE_STATUSES = RevenueTimeSeriesService.REVENUE_STATUSES;
 
     @Transactional(readOnly = true)
     public Map<String, Object> getDashboardData() {
@@ -46,10 +50,7 @@ public class AnalystService {
     public Map<String, Object> getKPIs() {
         Map<String, Object> kpis = new HashMap<>();
 
-        BigDecimal platformRevenue = platformRevenueRepository.calculateTotalPlatformRevenue();
-        if (platformRevenue == null) {
-            platformRevenue = BigDecimal.ZERO;
-        }
+        BigDecimal platformRevenue = revenueRollupService.getTotals().platformRevenue();
         BigDecimal previousRevenue = calculatePreviousPeriodRevenue(30);
         double revenueGrowth = calculateGrowthPercentage(previousRevenue, platformRevenue);
 
@@ -136,42 +137,35 @@ public class AnalystService {
         BigDecimal totalRevenue = calculateTotalRevenue();
         overview.put("totalRevenue", totalRevenue);
 
-        BigDecimal platformDirectRevenue = platformRevenueRepository.findAll().stream()
-                .filter(pr -> pr.getRevenueType() == PlatformRevenue.RevenueType.DIRECT_SALE)
-                .map(pr -> pr.getGrossAmount() != null ? pr.getGrossAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        overview.put("directSalesRevenue", platformDirectRevenue);
-
-        BigDecimal commissionRevenue = sellerRevenueRepository.findAll().stream()
-                .map(sr -> sr.getPlatformFee() != null ? sr.getPlatformFee() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        overview.put("commissionRevenue", commissionRevenue);
-
-        BigDecimal sellerRevenue = sellerRevenueRepository.findAll().stream()
-                .map(sr -> sr.getGrossAmount() != null ? sr.getGrossAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        overview.put("sellerRevenue", sellerRevenue);
+        RollupTotals rollupTotals = revenueRollupService.getTotals();
+        overview.put("directSalesRevenue", rollupTotals.directSales());
+        overview.put("commissionRevenue", rollupTotals.platformFees());
+        overview.put("sellerRevenue", rollupTotals.sellerGross());
 
-        long totalOrders = orderRepository.count();
+        Map<Order.OrderStatus, Long> statusCounts = countOrdersByStatus();
+        long totalOrders = statusCounts.values().stream().mapToLong(Long::longValue).sum();
         overview.put("totalOrders", totalOrders);
 
-        long completedOrders = orderRepository.findAll().stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.DELIVERED)
-                .count();
+        long completedOrders = statusCounts.getOrDefault(Order.OrderStatus.DELIVERED, 0L);
         overview.put("completedOrders", completedOrders);
 
         overview.put("avgOrderValue", calculateAverageOrderValue());
 
-        BigDecimal previousMonthRevenue = calculatePreviousPeriodRevenue(30);
+        LocalDate today = LocalDate.now();
+        LocalDate lastMonthStart = today.minusMonths(1).withDayOfMonth(1);
+        LocalDate lastMonthEnd = today.withDayOfMonth(1).minusDays(1);
+        LocalDate seriesStart = lastMonthStart.isBefore(today.minusDays(60)) ? lastMonthStart : today.minusDays(60);
+        RevenueTimeSeriesService.RevenueSeries daily = revenueTimeSeriesService.orderRevenue(
+                seriesStart, today, RevenueTimeSeriesService.Granularity.DAY);
+
+        BigDecimal previousMonthRevenue = daily.revenueBetween(today.minusDays(60), today.minusDays(30));
         double revenueGrowth = calculateGrowthPercentage(previousMonthRevenue, totalRevenue);
         overview.put("revenueGrowth", revenueGrowth);
 
-        BigDecimal thisMonthRevenue = getRevenueForPeriod(LocalDate.now().withDayOfMonth(1), LocalDate.now());
+        BigDecimal thisMonthRevenue = daily.revenueBetween(today.withDayOfMonth(1), today);
         overview.put("thisMonthRevenue", thisMonthRevenue);
 
-        LocalDate lastMonthStart = LocalDate.now().minusMonths(1).withDayOfMonth(1);
-        LocalDate lastMonthEnd = LocalDate.now().withDayOfMonth(1).minusDays(1);
-        BigDecimal lastMonthRevenue = getRevenueForPeriod(lastMonthStart, lastMonthEnd);
+        BigDecimal lastMonthRevenue = daily.revenueBetween(lastMonthStart, lastMonthEnd);
         overview.put("lastMonthRevenue", lastMonthRevenue);
 
         return overview;
@@ -201,13 +195,8 @@ public class AnalystService {
 
             Long sellerId = row[0] != null ? ((Number) row[0]).longValue() : null;
             if (sellerId != null) {
-                User sellerUser = userRepository.findById(sellerId).orElse(null);
-                if (sellerUser != null) {
-                    long productCount = productRepository.findBySeller(sellerUser).stream()
-                            .filter(p -> p.getApprovalStatus() == Product.ApprovalStatus.APPROVED)
-                            .count();
-                    seller.put("productCount", productCount);
-                }
+                seller.put("productCount", productRepository.countBySellerIdAndApprovalStatus(
+                        sellerId, Product.ApprovalStatus.APPROVED));
             }
 
             result.add(seller);
@@ -251,117 +240,65 @@ public class AnalystService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getTop3CategoriesByRevenue() {
-        List<Category> categories = categoryRepository.findAll();
-
-        List<Map<String, Object>> categoryRevenues = new ArrayList<>();
-
-        for (Category category : categories) {
-            List<Product> products = productRepository.findByCategory(category);
-
-            BigDecimal totalRevenue = BigDecimal.ZERO;
-            int totalSold = 0;
-            int productCount = products.size();
-
-            for (Product product : products) {
-                int salesCount = product.getSalesCount() != null ? product.getSalesCount() : 0;
-                BigDecimal price = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
-
-                totalRevenue = totalRevenue.add(price.multiply(BigDecimal.valueOf(salesCount)));
-                totalSold += salesCount;
-            }
-
-            BigDecimal avgPrice = productCount > 0
-                    ? products.stream()
-                    .filter(p -> p.getPrice() != null)
-                    .map(Product::getPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(productCount), 2, RoundingMode.HALF_UP)
-                    :  BigDecimal.ZERO;
-
-            double avgRating = products.stream()
-                    .filter(p -> p.getRating() != null)
-                    .mapToDouble(p -> p.getRating().doubleValue())
-                    .average()
-                    .orElse(0.0);
-
-            Map<String, Object> categoryData = new HashMap<>();
-            categoryData.put("categoryId", category.getId());
-            categoryData.put("categoryName", category.getName());
-            categoryData.put("productCount", productCount);
-            categoryData.put("revenue", totalRevenue);
-            categoryData.put("unitsSold", totalSold);
-            categoryData.put("avgPrice", avgPrice);
-            categoryData.put("avgRating", Math.round(avgRating * 10.0) / 10.0);
-
-            categoryRevenues.add(categoryData);
-        }
-
-        return categoryRevenues.stream()
-                .sorted((a, b) -> ((BigDecimal) b.get("revenue")).compareTo((BigDecimal) a.get("revenue")))
+        return productRepository.aggregateCategorySales().stream()
+                .sorted(Comparator.comparing(CategorySalesRow::revenue).reversed())
                 .limit(3)
+                .map(row -> {
+                    Map<String, Object> categoryData = new HashMap<>();
+                    categoryData.put("categoryId", row.categoryId());
+                    categoryData.put("categoryName", row.categoryName());
+                    categoryData.put("productCount", row.productCount().intValue());
+                    categoryData.put("revenue", row.revenue());
+                    categoryData.put("unitsSold", row.unitsSold().intValue());
+                    categoryData.put("avgPrice", averagePrice(row));
+                    categoryData.put("avgRating", roundRating(row.avgRating()));
+                    return categoryData;
+                })
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getMostSoldProducts(int limit) {
-        List<Product> products = productRepository.findByApprovalStatus(Product.ApprovalStatus.APPROVED);
+        List<Product> products = productRepository.findTopSellingByApprovalStatus(
+                Product.ApprovalStatus.APPROVED, firstPage(limit));
 
-        return products.stream()
-                .filter(p -> p.getSalesCount() != null && p.getSalesCount() > 0)
-                .sorted((a, b) -> b.getSalesCount().compareTo(a.getSalesCount()))
-                .limit(limit)
-                .map(p -> {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("rank", 0);
-                    data.put("asin", p.getAsin());
-                    data.put("productName", p.getProductName());
-                    data.put("price", p.getPrice());
-                    data.put("salesCount", p.getSalesCount());
-                    data.put("revenue", p.getPrice() != null ? p.getPrice().multiply(BigDecimal.valueOf(p.getSalesCount())) : BigDecimal.ZERO);
-                    data.put("rating", p.getRating());
-                    data.put("categoryName", p.getCategory() != null ? p.getCategory().getName() : "Uncategorized");
-                    data.put("imageUrl", p.getImageUrl());
-                    data.put("stockQuantity", p.getStockQuantity());
-                    data.put("seller", p.getSeller() != null ? p.getSeller().getStoreName() : "MouadVision");
-                    return data;
-                })
-                .peek(data -> {
-                    int index = products.stream()
-                            .filter(p -> p.getSalesCount() != null && p.getSalesCount() > 0)
-                            .sorted((a, b) -> b.getSalesCount().compareTo(a.getSalesCount()))
-                            .collect(Collectors.toList())
-                            .indexOf(productRepository.findByAsin((String) data.get("asin")).orElse(null));
-                    data.put("rank", index + 1);
-                })
-                .collect(Collectors.toList());
+        List<Map<String, Object>> result = new ArrayList<>();
+        int rank = 1;
+        for (Product p : products) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("rank", rank++);
+            data.put("asin", p.getAsin());
+            data.put("productName", p.getProductName());
+            data.put("price", p.getPrice());
+            data.put("salesCount", p.getSalesCount());
+            data.put("revenue", p.getPrice() != null ? p.getPrice().multiply(BigDecimal.valueOf(p.getSalesCount())) : BigDecimal.ZERO);
+            data.put("rating", p.getRating());
+            data.put("categoryName", p.getCategory() != null ? p.getCategory().getName() : "Uncategorized");
+            data.put("imageUrl", p.getImageUrl());
+            data.put("stockQuantity", p.getStockQuantity());
+            data.put("seller", p.getSeller() != null ? p.getSeller().getStoreName() : "MouadVision");
+            result.add(data);
+        }
+        return result;
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getMonthlyRevenueTrend() {
         List<Map<String, Object>> trend = new ArrayList<>();
 
-        for (int i = 11; i >= 0; i--) {
-            LocalDate monthStart = LocalDate.now().minusMonths(i).withDayOfMonth(1);
-            LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
-
-            BigDecimal revenue = getRevenueForPeriod(monthStart, monthEnd);
-
-            List<Order> monthOrders = orderRepository.findByCreatedAtBetween(
-                    monthStart.atStartOfDay(),
-                    monthEnd.plusDays(1).atStartOfDay()
-            );
+        LocalDate today = LocalDate.now();
+        RevenueTimeSeriesService.RevenueSeries monthly = revenueTimeSeriesService.orderRevenue(
+                today.minusMonths(11).withDayOfMonth(1), today, RevenueTimeSeriesService.Granularity.MONTH);
 
-            long orderCount = monthOrders.stream()
-                    .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                            o.getStatus() == Order.OrderStatus.DELIVERED)
-                    .count();
+        for (RevenueTimeSeriesService.Bucket bucket : monthly.buckets()) {
+            LocalDate monthStart = bucket.start();
 
             Map<String, Object> monthData = new HashMap<>();
             monthData.put("month", monthStart.getMonth().toString().substring(0, 3));
             monthData.put("year", monthStart.getYear());
             monthData.put("monthYear", monthStart.getMonth().toString().substring(0, 3) + " " + monthStart.getYear());
-            monthData.put("revenue", revenue);
-            monthData.put("orders", orderCount);
+            monthData.put("revenue", bucket.revenue());
+            monthData.put("orders", bucket.orders());
 
             trend.add(monthData);
         }
@@ -403,32 +340,26 @@ public class AnalystService {
         Map<String, Object> metrics = new HashMap<>();
 
         LocalDate today = LocalDate.now();
-        BigDecimal todayRevenue = getRevenueForPeriod(today, today);
-        metrics.put("todayRevenue", todayRevenue);
-
         LocalDate weekStart = today.minusDays(today.getDayOfWeek().getValue() - 1);
-        BigDecimal weekRevenue = getRevenueForPeriod(weekStart, today);
-        metrics.put("weekRevenue", weekRevenue);
-
         LocalDate monthStart = today.withDayOfMonth(1);
-        BigDecimal monthRevenue = getRevenueForPeriod(monthStart, today);
-        metrics.put("monthRevenue", monthRevenue);
-
         LocalDate yearStart = today.withDayOfYear(1);
-        BigDecimal yearRevenue = getRevenueForPeriod(yearStart, today);
-        metrics.put("yearRevenue", yearRevenue);
+        LocalDate seriesStart = weekStart.isBefore(yearStart) ? weekStart : yearStart;
 
-        Map<LocalDate, BigDecimal> dailyRevenue = new HashMap<>();
-        for (LocalDate date = monthStart; ! date.isAfter(today); date = date.plusDays(1)) {
-            dailyRevenue.put(date, getRevenueForPeriod(date, date));
-        }
-        Map.Entry<LocalDate, BigDecimal> bestDay = dailyRevenue.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .orElse(null);
-        if (bestDay != null) {
-            metrics.put("bestSellingDay", bestDay.getKey().toString());
-            metrics.put("bestSellingDayRevenue", bestDay.getValue());
-        }
+        RevenueTimeSeriesService.RevenueSeries daily = revenueTimeSeriesService.orderRevenue(
+                seriesStart, today, RevenueTimeSeriesService.Granularity.DAY);
+
+        metrics.put("todayRevenue", daily.bucketAt(today).revenue());
+        metrics.put("weekRevenue", daily.revenueBetween(weekStart, today));
+        metrics.put("monthRevenue", daily.revenueBetween(monthStart, today));
+        metrics.put("yearRevenue", daily.revenueBetween(yearStart, today));
+
+        daily.buckets().stream()
+                .filter(b -> !b.start().isBefore(monthStart))
+                .max(Comparator.comparing(RevenueTimeSeriesService.Bucket::revenue))
+                .ifPresent(bestDay -> {
+                    metrics.put("bestSellingDay", bestDay.start().toString());
+                    metrics.put("bestSellingDayRevenue", bestDay.revenue());
+                });
 
         long totalBuyers = userRepository.countByRole(User.Role.BUYER);
         long totalOrders = orderRepository.count();
@@ -442,13 +373,13 @@ public class AnalystService {
     public Map<String, Object> getOrderStatusDistribution() {
         Map<String, Object> distribution = new LinkedHashMap<>();
 
-        List<Order> allOrders = orderRepository.findAll();
+        Map<Order.OrderStatus, Long> statusCounts = countOrdersByStatus();
 
-        distribution.put("PENDING", allOrders.stream().filter(o -> o.getStatus() == Order.OrderStatus.PENDING).count());
-        distribution.put("CONFIRMED", allOrders.stream().filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED).count());
-        distribution.put("SHIPPED", allOrders.stream().filter(o -> o.getStatus() == Order.OrderStatus.SHIPPED).count());
-        distribution.put("DELIVERED", allOrders.stream().filter(o -> o.getStatus() == Order.OrderStatus.DELIVERED).count());
-        distribution.put("CANCELLED", allOrders.stream().filter(o -> o.getStatus() == Order.OrderStatus.CANCELLED).count());
+        distribution.put("PENDING", statusCounts.getOrDefault(Order.OrderStatus.PENDING, 0L));
+        distribution.put("CONFIRMED", statusCounts.getOrDefault(Order.OrderStatus.CONFIRMED, 0L));
+        distribution.put("SHIPPED", statusCounts.getOrDefault(Order.OrderStatus.SHIPPED, 0L));
+        distribution.put("DELIVERED", statusCounts.getOrDefault(Order.OrderStatus.DELIVERED, 0L));
+        distribution.put("CANCELLED", statusCounts.getOrDefault(Order.OrderStatus.CANCELLED, 0L));
 
         return distribution;
     }
@@ -457,26 +388,17 @@ public class AnalystService {
     public List<Map<String, Object>> getWeeklySalesTrend() {
         List<Map<String, Object>> trend = new ArrayList<>();
         LocalDate today = LocalDate.now();
+        RevenueTimeSeriesService.RevenueSeries daily = revenueTimeSeriesService.orderRevenue(
+                today.minusDays(6), today, RevenueTimeSeriesService.Granularity.DAY);
 
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = today.minusDays(i);
-            BigDecimal revenue = getRevenueForPeriod(date, date);
-
-            List<Order> dayOrders = orderRepository.findByCreatedAtBetween(
-                    date.atStartOfDay(),
-                    date.plusDays(1).atStartOfDay()
-            );
-
-            long orderCount = dayOrders.stream()
-                    .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                            o.getStatus() == Order.OrderStatus.DELIVERED)
-                    .count();
+        for (RevenueTimeSeriesService.Bucket bucket : daily.buckets()) {
+            LocalDate date = bucket.start();
 
             Map<String, Object> dayData = new HashMap<>();
             dayData.put("date", date.toString());
             dayData.put("dayName", date.getDayOfWeek().toString().substring(0, 3));
-            dayData.put("revenue", revenue);
-            dayData.put("orders", orderCount);
+            dayData.put("revenue", bucket.revenue());
+            dayData.put("orders", bucket.orders());
 
             trend.add(dayData);
         }
@@ -500,28 +422,15 @@ public class AnalystService {
 
         Map<String, Object> overview = new HashMap<>();
 
-        LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
-
-        List<Order> orders = orderRepository.findByCreatedAtBetween(start, end);
-        List<Order> confirmedOrders = orders.stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .collect(Collectors.toList());
-
-        BigDecimal totalRevenue = confirmedOrders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int totalItems = confirmedOrders.stream()
-                .mapToInt(Order::getTotalItems)
-                .sum();
+        OrderTotals totals = getOrderTotalsForPeriod(startDate, endDate);
+        BigDecimal totalRevenue = totals.revenue();
+        long totalOrders = totals.orderCount();
 
         overview.put("totalRevenue", totalRevenue);
-        overview.put("totalOrders", confirmedOrders.size());
-        overview.put("totalItems", totalItems);
-        overview.put("avgOrderValue", confirmedOrders.isEmpty() ? BigDecimal.ZERO :
-                totalRevenue.divide(BigDecimal.valueOf(confirmedOrders.size()), 2, RoundingMode.HALF_UP));
+        overview.put("totalOrders", totalOrders);
+        overview.put("totalItems", totals.itemCount());
+        overview.put("avgOrderValue", totalOrders == 0 ? BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP));
         overview.put("period", Map.of("start", startDate, "end", endDate));
 
         return overview;
@@ -533,31 +442,15 @@ public class AnalystService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days);
 
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(),
-                endDate.plusDays(1).atStartOfDay()
-        );
-
-        List<Order> confirmedOrders = orders.stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .collect(Collectors.toList());
-
-        Map<LocalDate, List<Order>> ordersByDate = confirmedOrders.stream()
-                .collect(Collectors.groupingBy(o -> o.getCreatedAt().toLocalDate()));
-
-        for (LocalDate date = startDate; ! date.isAfter(endDate); date = date.plusDays(1)) {
-            List<Order> dayOrders = ordersByDate.getOrDefault(date, Collections.emptyList());
-
-            BigDecimal revenue = dayOrders.stream()
-                    .map(Order::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal:: add);
+        RevenueTimeSeriesService.RevenueSeries series = revenueTimeSeriesService.orderRevenue(
+                startDate, endDate, RevenueTimeSeriesService.Granularity.from(period));
 
+        for (RevenueTimeSeriesService.Bucket bucket : series.buckets()) {
             Map<String, Object> point = new HashMap<>();
-            point.put("date", date.toString());
-            point.put("revenue", revenue);
-            point.put("orders", dayOrders.size());
-            point.put("items", dayOrders.stream().mapToInt(Order::getTotalItems).sum());
+            point.put("date", bucket.start().toString());
+            point.put("revenue", bucket.revenue());
+            point.put("orders", (int) bucket.orders());
+            point.put("items", (int) bucket.items());
 
             trends.add(point);
         }
@@ -567,49 +460,26 @@ public class AnalystService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getSalesByCategory() {
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        List<Category> categories = categoryRepository.findAll();
-
-        for (Category category :  categories) {
-            List<Product> products = productRepository.findByCategory(category);
-
-            BigDecimal totalRevenue = BigDecimal.ZERO;
-            int totalSold = 0;
-
-            for (Product product : products) {
-                int salesCount = product.getSalesCount() != null ? product.getSalesCount() : 0;
-                BigDecimal price = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
-
-                totalRevenue = totalRevenue.add(price.multiply(BigDecimal.valueOf(salesCount)));
-                totalSold += salesCount;
-            }
-
-            if (totalSold > 0 || ! products.isEmpty()) {
-                Map<String, Object> categoryData = new HashMap<>();
-                categoryData.put("categoryId", category.getId());
-                categoryData.put("categoryName", category.getName());
-                categoryData.put("productCount", products.size());
-                categoryData.put("revenue", totalRevenue);
-                categoryData.put("unitsSold", totalSold);
-
-                result.add(categoryData);
-            }
-        }
-
-        result.sort((a, b) -> ((BigDecimal) b.get("revenue")).compareTo((BigDecimal) a.get("revenue")));
-
-        return result;
+        return productRepository.aggregateCategorySales().stream()
+                .filter(row -> row.productCount() > 0)
+                .sorted(Comparator.comparing(CategorySalesRow::revenue).reversed())
+                .map(row -> {
+                    Map<String, Object> categoryData = new HashMap<>();
+                    categoryData.put("categoryId", row.categoryId());
+                    categoryData.put("categoryName", row.categoryName());
+                    categoryData.put("productCount", row.productCount().intValue());
+                    categoryData.put("revenue", row.revenue());
+                    categoryData.put("unitsSold", row.unitsSold().intValue());
+                    return categoryData;
+                })
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getTopSellingProducts(int limit) {
-        List<Product> products = productRepository.findAllExcludingRejected();
+        List<Product> products = productRepository.findTopSellingExcludingRejected(firstPage(limit));
 
         return products.stream()
-                .filter(p -> p.getSalesCount() != null && p.getSalesCount() > 0)
-                .sorted((a, b) -> b.getSalesCount().compareTo(a.getSalesCount()))
-                .limit(limit)
                 .map(p -> {
                     Map<String, Object> data = new HashMap<>();
                     data.put("asin", p.getAsin());
@@ -630,13 +500,15 @@ public class AnalystService {
         Map<String, Object> growth = new HashMap<>();
 
         LocalDate today = LocalDate.now();
+        RevenueTimeSeriesService.RevenueSeries daily = revenueTimeSeriesService.orderRevenue(
+                today.minusDays(60), today, RevenueTimeSeriesService.Granularity.DAY);
 
-        BigDecimal thisWeekRevenue = getRevenueForPeriod(today.minusDays(7), today);
-        BigDecimal lastWeekRevenue = getRevenueForPeriod(today.minusDays(14), today.minusDays(7));
+        BigDecimal thisWeekRevenue = daily.revenueBetween(today.minusDays(7), today);
+        BigDecimal lastWeekRevenue = daily.revenueBetween(today.minusDays(14), today.minusDays(7));
         double weeklyGrowth = calculateGrowthPercentage(lastWeekRevenue, thisWeekRevenue);
 
-        BigDecimal thisMonthRevenue = getRevenueForPeriod(today.minusDays(30), today);
-        BigDecimal lastMonthRevenue = getRevenueForPeriod(today.minusDays(60), today.minusDays(30));
+        BigDecimal thisMonthRevenue = daily.revenueBetween(today.minusDays(30), today);
+        BigDecimal lastMonthRevenue = daily.revenueBetween(today.minusDays(60), today.minusDays(30));
         double monthlyGrowth = calculateGrowthPercentage(lastMonthRevenue, thisMonthRevenue);
 
         growth.put("weekly", Map.of(
@@ -658,17 +530,13 @@ public class AnalystService {
     public List<Map<String, Object>> getPeakSalesTimes() {
         List<Map<String, Object>> peakTimes = new ArrayList<>();
 
-        List<Order> orders = orderRepository.findAll().stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .collect(Collectors.toList());
-
         String[] days = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
         Map<Integer, Integer> ordersByDay = new HashMap<>();
 
-        for (Order order : orders) {
-            int dayOfWeek = order.getCreatedAt().getDayOfWeek().getValue();
-            ordersByDay.merge(dayOfWeek, 1, Integer::sum);
+        for (DayOfWeekCount row : orderRepository.countByDayOfWeek(REVENUE_STATUSES)) {
+            // SQL day of week runs Sunday=1..Saturday=7, the response uses ISO Monday=1..Sunday=7
+            int dayOfWeek = (row.dayOfWeek() + 5) % 7 + 1;
+            ordersByDay.merge(dayOfWeek, row.count().intValue(), Integer::sum);
         }
 
         for (int i = 1; i <= 7; i++) {
@@ -686,56 +554,27 @@ public class AnalystService {
     public Map<String, Object> getProductsOverview() {
         Map<String, Object> overview = new HashMap<>();
 
-        List<Product> products = productRepository.findAllExcludingRejected();
+        ProductOverviewTotals totals = productRepository.aggregateOverviewExcludingRejected();
 
-        overview.put("totalProducts", products.size());
+        overview.put("totalProducts", totals.productCount().intValue());
 
-        BigDecimal avgPrice = products.stream()
-                .filter(p -> p.getPrice() != null)
-                .map(Product::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(Math.max(products.size(), 1)), 2, RoundingMode.HALF_UP);
+        BigDecimal avgPrice = totals.priceSum()
+                .divide(BigDecimal.valueOf(Math.max(totals.productCount(), 1)), 2, RoundingMode.HALF_UP);
         overview.put("avgPrice", avgPrice);
-
-        double avgRating = products.stream()
-                .filter(p -> p.getRating() != null)
-                .mapToDouble(p -> p.getRating().doubleValue())
-                .average()
-                .orElse(0.0);
-        overview.put("avgRating", Math.round(avgRating * 10.0) / 10.0);
-
-        long totalReviews = products.stream()
-                .filter(p -> p.getReviewsCount() != null)
-                .mapToLong(Product::getReviewsCount)
-                .sum();
-        overview.put("totalReviews", totalReviews);
-
-        BigDecimal inventoryValue = products.stream()
-                .filter(p -> p.getPrice() != null && p.getStockQuantity() != null)
-                .map(p -> p.getPrice().multiply(BigDecimal.valueOf(p.getStockQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        overview.put("inventoryValue", inventoryValue);
-
-        long lowStockCount = products.stream()
-                .filter(p -> p.getStockQuantity() != null && p.getStockQuantity() < 10)
-                .count();
-        overview.put("lowStockCount", lowStockCount);
-
-        long outOfStockCount = products.stream()
-                .filter(p -> p.getStockQuantity() != null && p.getStockQuantity() == 0)
-                .count();
-        overview.put("outOfStockCount", outOfStockCount);
+        overview.put("avgRating", roundRating(totals.avgRating()));
+        overview.put("totalReviews", totals.totalReviews());
+        overview.put("inventoryValue", totals.inventoryValue());
+        overview.put("lowStockCount", totals.lowStockCount());
+        overview.put("outOfStockCount", totals.outOfStockCount());
 
         return overview;
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getProductPerformance(int limit) {
-        List<Product> products = productRepository.findAllExcludingRejected();
+        List<Product> products = productRepository.findPricedAndRatedExcludingRejected(firstPage(limit));
 
         return products.stream()
-                .filter(p -> p.getPrice() != null && p.getRating() != null)
-                .limit(limit)
                 .map(p -> {
                     Map<String, Object> data = new HashMap<>();
                     data.put("asin", p.getAsin());
@@ -753,56 +592,37 @@ public class AnalystService {
 
     @Transactional(readOnly = true)
     public Map<String, Long> getPriceDistribution() {
-        List<Product> products = productRepository.findAllExcludingRejected();
+        PriceBandCounts bands = productRepository.countPriceBandsExcludingRejected();
 
         Map<String, Long> distribution = new LinkedHashMap<>();
-        distribution.put("$0-$10", products.stream().filter(p -> p.getPrice() != null &&
-                p.getPrice().compareTo(BigDecimal.TEN) <= 0).count());
-        distribution.put("$10-$25", products.stream().filter(p -> p.getPrice() != null &&
-                p.getPrice().compareTo(BigDecimal.TEN) > 0 &&
-                p.getPrice().compareTo(new BigDecimal("25")) <= 0).count());
-        distribution.put("$25-$50", products.stream().filter(p -> p.getPrice() != null &&
-                p.getPrice().compareTo(new BigDecimal("25")) > 0 &&
-                p.getPrice().compareTo(new BigDecimal("50")) <= 0).count());
-        distribution.put("$50-$100", products.stream().filter(p -> p.getPrice() != null &&
-                p.getPrice().compareTo(new BigDecimal("50")) > 0 &&
-                p.getPrice().compareTo(new BigDecimal("100")) <= 0).count());
-        distribution.put("$100+", products.stream().filter(p -> p.getPrice() != null &&
-                p.getPrice().compareTo(new BigDecimal("100")) > 0).count());
+        distribution.put("$0-$10", bands.upTo10());
+        distribution.put("$10-$25", bands.upTo25());
+        distribution.put("$25-$50", bands.upTo50());
+        distribution.put("$50-$100", bands.upTo100());
+        distribution.put("$100+", bands.over100());
 
         return distribution;
     }
 
     @Transactional(readOnly = true)
     public Map<String, Long> getRatingDistribution() {
-        List<Product> products = productRepository.findAllExcludingRejected();
+        RatingBandCounts bands = productRepository.countRatingBandsExcludingRejected();
 
         Map<String, Long> distribution = new LinkedHashMap<>();
-        distribution.put("★★★★★ (4.5+)", products.stream().filter(p -> p.getRating() != null &&
-                p.getRating().compareTo(new BigDecimal("4.5")) >= 0).count());
-        distribution.put("★★★★☆ (4.0-4.5)", products.stream().filter(p -> p.getRating() != null &&
-                p.getRating().compareTo(new BigDecimal("4.0")) >= 0 &&
-                p.getRating().compareTo(new BigDecimal("4.5")) < 0).count());
-        distribution.put("★★★☆☆ (3.0-4.0)", products.stream().filter(p -> p.getRating() != null &&
-                p.getRating().compareTo(new BigDecimal("3.0")) >= 0 &&
-                p.getRating().compareTo(new BigDecimal("4.0")) < 0).count());
-        distribution.put("★★☆☆☆ (2.0-3.0)", products.stream().filter(p -> p.getRating() != null &&
-                p.getRating().compareTo(new BigDecimal("2.0")) >= 0 &&
-                p.getRating().compareTo(new BigDecimal("3.0")) < 0).count());
-        distribution.put("★☆☆☆☆ (<2.0)", products.stream().filter(p -> p.getRating() != null &&
-                p.getRating().compareTo(new BigDecimal("2.0")) < 0).count());
+        distribution.put("★★★★★ (4.5+)", bands.from45());
+        distribution.put("★★★★☆ (4.0-4.5)", bands.from40());
+        distribution.put("★★★☆☆ (3.0-4.0)", bands.from30());
+        distribution.put("★★☆☆☆ (2.0-3.0)", bands.from20());
+        distribution.put("★☆☆☆☆ (<2.0)", bands.below20());
 
         return distribution;
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getLowStockProducts(int threshold) {
-        List<Product> products = productRepository.findAllExcludingRejected();
+        List<Product> products = productRepository.findLowStockExcludingRejected(threshold, Pageable.ofSize(20));
 
         return products.stream()
-                .filter(p -> p.getStockQuantity() != null && p.getStockQuantity() <= threshold)
-                .sorted(Comparator.comparingInt(Product::getStockQuantity))
-                .limit(20)
                 .map(p -> {
                     Map<String, Object> data = new HashMap<>();
                     data.put("asin", p.getAsin());
@@ -845,30 +665,17 @@ public class AnalystService {
     public Map<String, Object> getSellersOverview() {
         Map<String, Object> overview = new HashMap<>();
 
-        List<User> sellers = userRepository.findAllByRole(User.Role.SELLER);
-
-        overview.put("totalSellers", sellers.size());
-        overview.put("verifiedSellers", sellers.stream()
-                .filter(s -> Boolean.TRUE.equals(s.getIsVerifiedSeller()))
-                .count());
-        overview.put("activeSellers", sellers.stream()
-                .filter(s -> Boolean.TRUE.equals(s.getIsActive()))
-                .count());
+        SellerAccountCounts accounts = userRepository.countAccountsByRole(User.Role.SELLER);
 
-        BigDecimal totalSellerRevenue = sellerRevenueRepository.findAll().stream()
-                .map(sr -> sr.getGrossAmount() != null ? sr.getGrossAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        overview.put("totalSellerRevenue", totalSellerRevenue);
+        overview.put("totalSellers", accounts.totalSellers().intValue());
+        overview.put("verifiedSellers", accounts.verifiedSellers());
+        overview.put("activeSellers", accounts.activeSellers());
 
-        BigDecimal platformCommission = sellerRevenueRepository.findAll().stream()
-                .map(sr -> sr.getPlatformFee() != null ? sr.getPlatformFee() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        overview.put("platformCommission", platformCommission);
+        RollupTotals rollupTotals = revenueRollupService.getTotals();
+        overview.put("totalSellerRevenue", rollupTotals.sellerGross());
+        overview.put("platformCommission", rollupTotals.platformFees());
 
-        long sellerProducts = productRepository.findByApprovalStatus(Product.ApprovalStatus.APPROVED)
-                .stream()
-                .filter(p -> p.getSeller() != null)
-                .count();
+        long sellerProducts = productRepository.countByApprovalStatusAndSellerIsNotNull(Product.ApprovalStatus.APPROVED);
         overview.put("sellerProducts", sellerProducts);
 
         return overview;
@@ -876,7 +683,7 @@ public class AnalystService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getSellersRanking(int limit) {
-        List<Object[]> topSellers = sellerRevenueRepository.getTopSellersByRevenue(Pageable.ofSize(limit));
+        List<Object[]> topSellers = sellerRevenueRepository.getTopSellersByRevenue(firstPage(limit));
 
         List<Map<String, Object>> ranking = new ArrayList<>();
         int rank = 1;
@@ -900,19 +707,16 @@ public class AnalystService {
     public List<Map<String, Object>> getSellerGrowth() {
         List<Map<String, Object>> growth = new ArrayList<>();
 
-        List<User> sellers = userRepository.findAllByRole(User.Role.SELLER);
+        LocalDate sixMonthsAgo = LocalDate.now().minusMonths(6).withDayOfMonth(1);
 
-        LocalDate sixMonthsAgo = LocalDate.now().minusMonths(6);
+        Map<YearMonth, Long> newSellersByMonth = userRepository.countCreatedByMonth(User.Role.SELLER,
+                        sixMonthsAgo.atStartOfDay(), sixMonthsAgo.plusMonths(6).atStartOfDay())
+                .stream()
+                .collect(Collectors.toMap(m -> YearMonth.of(m.year(), m.month()), MonthlyCount::count));
 
         for (int i = 0; i < 6; i++) {
             LocalDate monthStart = sixMonthsAgo.plusMonths(i);
-            LocalDate monthEnd = monthStart.plusMonths(1);
-
-            long count = sellers.stream()
-                    .filter(s -> s.getCreatedAt() != null &&
-                            s.getCreatedAt().toLocalDate().isAfter(monthStart.minusDays(1)) &&
-                            s.getCreatedAt().toLocalDate().isBefore(monthEnd))
-                    .count();
+            long count = newSellersByMonth.getOrDefault(YearMonth.from(monthStart), 0L);
 
             Map<String, Object> data = new HashMap<>();
             data.put("month", monthStart.getMonth().toString().substring(0, 3));
@@ -927,38 +731,22 @@ public class AnalystService {
     @Transactional(readOnly = true)
     public Map<String, Object> getPlatformVsSellersComparison() {
         Map<String, Object> comparison = new HashMap<>();
-        List<Product> allProducts = productRepository.findAllExcludingRejected();
-        List<Product> sellerProducts = allProducts.stream()
-                .filter(p -> p.getSeller() != null && p.getSeller().getRole() == User.Role.SELLER)
-                .collect(Collectors.toList());
-        List<Product> platformProducts = allProducts.stream()
-                .filter(p -> p.getSeller() == null || p.getSeller().getRole() != User.Role.SELLER)
-                .collect(Collectors.toList());
+        ProductOwnershipTotals ownership = productRepository.aggregateOwnershipExcludingRejected();
 
-        BigDecimal platformRevenue = platformRevenueRepository.calculateTotalPlatformRevenue();
-        if (platformRevenue == null) {
-            platformRevenue = BigDecimal.ZERO;
-        }
-        long platformProductsCount = platformProducts.size();
-        int platformSales = platformProducts.stream()
-                .filter(p -> p.getSalesCount() != null)
-                .mapToInt(Product::getSalesCount)
-                .sum();
+        RollupTotals rollupTotals = revenueRollupService.getTotals();
+        BigDecimal platformRevenue = rollupTotals.platformRevenue();
+        long platformProductsCount = ownership.totalProducts() - ownership.sellerProducts();
+        int platformSales = (int) (ownership.totalSales() - ownership.sellerSales());
         comparison.put("platform", Map.of(
                 "name", "MouadVision",
                 "revenue", platformRevenue,
                 "products", platformProductsCount,
                 "sales", platformSales
         ));
-        BigDecimal sellersRevenue = sellerRevenueRepository.findAll().stream()
-                .map(sr -> sr.getGrossAmount() != null ? sr.getGrossAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal:: add);
-
-        long sellerProductsCount = sellerProducts.size();
-        int sellerSales = sellerProducts.stream()
-                .filter(p -> p.getSalesCount() != null)
-                .mapToInt(Product:: getSalesCount)
-                .sum();
+        BigDecimal sellersRevenue = rollupTotals.sellerGross();
+
+        long sellerProductsCount = ownership.sellerProducts();
+        int sellerSales = ownership.sellerSales().intValue();
         comparison.put("sellers", Map.of(
                 "name", "All Sellers",
                 "revenue", sellersRevenue,
@@ -978,7 +766,7 @@ public class AnalystService {
         }
 
         log.info("Platform vs Sellers - Total:  {}, Platform: {}, Sellers: {}",
-                allProducts.size(), platformProductsCount, sellerProductsCount);
+                ownership.totalProducts(), platformProductsCount, sellerProductsCount);
 
         return comparison;
     }
@@ -1002,8 +790,7 @@ public class AnalystService {
                 .filter(p -> p.getApprovalStatus() == Product.ApprovalStatus.APPROVED)
                 .count());
 
-        BigDecimal totalRevenue = sellerRevenueRepository.calculateTotalRevenueBySeller(seller);
-        details.put("totalRevenue", totalRevenue != null ? totalRevenue :  BigDecimal.ZERO);
+        details.put("totalRevenue", revenueRollupService.getSellerTotals(seller.getId()).netAmount());
 
         details.put("topProducts", products.stream()
                 .filter(p -> p.getSalesCount() != null && p.getSalesCount() > 0)
@@ -1021,46 +808,19 @@ public class AnalystService {
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getCategoriesOverview() {
-        List<Category> categories = categoryRepository.findAll();
-
-        return categories.stream()
-                .map(c -> {
-                    List<Product> products = productRepository.findByCategory(c);
-
+        return productRepository.aggregateCategorySales().stream()
+                .sorted(Comparator.comparing(CategorySalesRow::revenue).reversed())
+                .map(row -> {
                     Map<String, Object> data = new HashMap<>();
-                    data.put("id", c.getId());
-                    data.put("name", c.getName());
-                    data.put("productCount", products.size());
-
-                    BigDecimal avgPrice = products.stream()
-                            .filter(p -> p.getPrice() != null)
-                            .map(Product::getPrice)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add)
-                            .divide(BigDecimal.valueOf(Math.max(products.size(), 1)), 2, RoundingMode.HALF_UP);
-                    data.put("avgPrice", avgPrice);
-
-                    double avgRating = products.stream()
-                            .filter(p -> p.getRating() != null)
-                            .mapToDouble(p -> p.getRating().doubleValue())
-                            .average()
-                            .orElse(0.0);
-                    data.put("avgRating", Math.round(avgRating * 10.0) / 10.0);
-
-                    int totalSales = products.stream()
-                            .filter(p -> p.getSalesCount() != null)
-                            .mapToInt(Product::getSalesCount)
-                            .sum();
-                    data.put("totalSales", totalSales);
-
-                    BigDecimal revenue = products.stream()
-                            .filter(p -> p.getPrice() != null && p.getSalesCount() != null)
-                            .map(p -> p.getPrice().multiply(BigDecimal.valueOf(p.getSalesCount())))
-                            .reduce(BigDecimal.ZERO, BigDecimal:: add);
-                    data.put("revenue", revenue);
-
+                    data.put("id", row.categoryId());
+                    data.put("name", row.categoryName());
+                    data.put("productCount", row.productCount().intValue());
+                    data.put("avgPrice", averagePrice(row));
+                    data.put("avgRating", roundRating(row.avgRating()));
+                    data.put("totalSales", row.unitsSold().intValue());
+                    data.put("revenue", row.revenue());
                     return data;
                 })
-                .sorted((a, b) -> ((BigDecimal) b.get("revenue")).compareTo((BigDecimal) a.get("revenue")))
                 .collect(Collectors.toList());
     }
 
@@ -1184,30 +944,6 @@ public class AnalystService {
         return summary;
     }
 
-    @Transactional(readOnly = true)
-    public List<Map<String, Object>> exportSalesData(LocalDate startDate, LocalDate endDate) {
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
-                startDate.atStartOfDay(),
-                endDate.plusDays(1).atStartOfDay()
-        );
-
-        return orders.stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .map(o -> {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("orderNumber", o.getOrderNumber());
-                    data.put("date", o.getCreatedAt().toLocalDate());
-                    data.put("customerName", o.getUser().getFullName());
-                    data.put("customerEmail", o.getUser().getEmail());
-                    data.put("totalAmount", o.getTotalAmount());
-                    data.put("totalItems", o.getTotalItems());
-                    data.put("status", o.getStatus().name());
-                    return data;
-                })
-                .collect(Collectors.toList());
-    }
-
     @Transactional(readOnly = true)
     public List<Map<String, Object>> exportProductsData() {
         return productRepository.findByApprovalStatus(Product.ApprovalStatus.APPROVED)
@@ -1234,14 +970,7 @@ public class AnalystService {
     }
 
     private BigDecimal calculateTotalRevenue() {
-        List<Order> orders = orderRepository.findAll().stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .collect(Collectors.toList());
-
-        return orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return orderRepository.sumTotalsByStatusIn(REVENUE_STATUSES).revenue();
     }
 
     private BigDecimal calculatePreviousPeriodRevenue(int days) {
@@ -1251,53 +980,54 @@ public class AnalystService {
     }
 
     private BigDecimal getRevenueForPeriod(LocalDate startDate, LocalDate endDate) {
-        List<Order> orders = orderRepository.findByCreatedAtBetween(
+        return getOrderTotalsForPeriod(startDate, endDate).revenue();
+    }
+
+    private OrderTotals getOrderTotalsForPeriod(LocalDate startDate, LocalDate endDate) {
+        return orderRepository.sumTotalsByStatusInBetween(
+                REVENUE_STATUSES,
                 startDate.atStartOfDay(),
                 endDate.plusDays(1).atStartOfDay()
         );
+    }
 
-        return orders.stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Map<Order.OrderStatus, Long> countOrdersByStatus() {
+        Map<Order.OrderStatus, Long> counts = new EnumMap<>(Order.OrderStatus.class);
+        for (StatusCount row : orderRepository.countGroupedByStatus()) {
+            if (row.status() != null) {
+                counts.put(row.status(), row.count());
+            }
+        }
+        return counts;
     }
 
     private long countPreviousPeriodOrders(int days) {
         LocalDate endDate = LocalDate.now().minusDays(days);
         LocalDate startDate = endDate.minusDays(days);
 
-        return orderRepository.findByCreatedAtBetween(
-                        startDate.atStartOfDay(),
-                        endDate.plusDays(1).atStartOfDay()
-                ).stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .count();
+        return getOrderTotalsForPeriod(startDate, endDate).orderCount();
     }
 
     private long countPreviousPeriodSellers(int days) {
         LocalDate cutoffDate = LocalDate.now().minusDays(days);
 
-        return userRepository.findAllByRole(User.Role.SELLER).stream()
-                .filter(s -> s.getCreatedAt() != null &&
-                        s.getCreatedAt().toLocalDate().isBefore(cutoffDate))
-                .count();
+        return userRepository.countByRoleAndCreatedAtBefore(User.Role.SELLER, cutoffDate.atStartOfDay());
     }
 
     private BigDecimal calculateAverageOrderValue() {
-        List<Order> orders = orderRepository.findAll().stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.CONFIRMED ||
-                        o.getStatus() == Order.OrderStatus.DELIVERED)
-                .collect(Collectors.toList());
+        OrderTotals totals = orderRepository.sumTotalsByStatusIn(REVENUE_STATUSES);
 
-        if (orders.isEmpty()) return BigDecimal.ZERO;
+        if (totals.orderCount() == 0) return BigDecimal.ZERO;
 
-        BigDecimal total = orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totals.revenue().divide(BigDecimal.valueOf(totals.orderCount()), 2, RoundingMode.HALF_UP);
+    }
 
-        return total.divide(BigDecimal.valueOf(orders.size()), 2, RoundingMode.HALF_UP);
+    private BigDecimal averagePrice(CategorySalesRow row) {
+        return row.priceSum().divide(BigDecimal.valueOf(Math.max(row.productCount(), 1)), 2, RoundingMode.HALF_UP);
+    }
+
+    private double roundRating(Double avgRating) {
+        return avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0;
     }
 
     private double calculateGrowthPercentage(BigDecimal previous, BigDecimal current) {
@@ -1317,8 +1047,15 @@ public class AnalystService {
         return ((current - previous) / previous) * 100;
     }
 
+    private Pageable firstPage(int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Pageable.ofSize(limit);
+    }
+
     private List<Map<String, Object>> getRecentOrders(int limit) {
-        return orderRepository.findRecentOrders(Pageable.ofSize(limit))
+        return orderRepository.findRecentOrders(firstPage(limit))
                 .stream()
                 .map(o -> {
                     Map<String, Object> data = new HashMap<>();
@@ -32,6 +32,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final BannedEmailRepository bannedEmailRepository;
+    private final NotificationRecipientCache recipientCache;
 
     private static final String DEACTIVATION_MESSAGE = "Your account has been deactivated for violating platform policies.";
 
@@ -71,6 +72,7 @@ public class AuthService {
 
         User user = userBuilder.build();
         user = userRepository.save(user);
+        recipientCache.invalidate();
 
         log.info("User registered:  {} with role {}, storeName: {}",
                 user.getEmail(), user.getRole(), user.getStoreName());
@@ -114,6 +116,7 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        recipientCache.invalidate();
         log.info("Seller registered: {} - Store: {}", user.getEmail(), user.getStoreName());
 
         String token = jwtTokenProvider.generateToken(user.getEmail(), user.getRole().name());
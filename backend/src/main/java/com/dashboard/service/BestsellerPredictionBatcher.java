@@ -0,0 +1,155 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.request.PredictionRequest;
+import com.dashboard.dto.response.BestsellerPredictionResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class BestsellerPredictionBatcher {
+
+    private final MLServiceClient mlServiceClient;
+
+    @Value("${ml.service.batch.dispatch-size:32}")
+    private int dispatchSize;
+
+    @Value("${ml.service.batch.flush-window-ms:25}")
+    private long flushWindowMs;
+
+    @Value("${ml.service.batch.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    private final Object lock = new Object();
+    private List<PendingPrediction> buffer = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private ScheduledExecutorService flushScheduler;
+    private ExecutorService dispatchExecutor;
+
+    public BestsellerPredictionBatcher(MLServiceClient mlServiceClient) {
+        this.mlServiceClient = mlServiceClient;
+    }
+
+    @PostConstruct
+    void start() {
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ml-batch-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatchExecutor = Executors.newFixedThreadPool(Math.max(dispatchThreads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "ml-batch-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+        flushScheduler.shutdown();
+        dispatchExecutor.shutdown();
+    }
+
+    public CompletableFuture<BestsellerPredictionResponse> submit(PredictionRequest request) {
+        PendingPrediction pending = new PendingPrediction(request, new CompletableFuture<>());
+        List<PendingPrediction> ready = null;
+
+        synchronized (lock) {
+            buffer.add(pending);
+            if (buffer.size() >= Math.max(dispatchSize, 1)) {
+                ready = drainLocked();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = flushScheduler.schedule(this::flush, flushWindowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (ready != null) {
+            dispatchAsync(ready);
+        }
+        return pending.future();
+    }
+
+    public BestsellerPredictionResponse predict(PredictionRequest request) {
+        try {
+            return submit(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("ML service unavailable", e.getCause());
+        }
+    }
+
+    private void flush() {
+        List<PendingPrediction> ready;
+        synchronized (lock) {
+            ready = drainLocked();
+        }
+        if (!ready.isEmpty()) {
+            dispatchAsync(ready);
+        }
+    }
+
+    private List<PendingPrediction> drainLocked() {
+        List<PendingPrediction> drained = buffer;
+        buffer = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return drained;
+    }
+
+    private void dispatchAsync(List<PendingPrediction> batch) {
+        try {
+            dispatchExecutor.execute(() -> dispatch(batch));
+        } catch (Exception e) {
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    private void dispatch(List<PendingPrediction> batch) {
+        log.debug("Dispatching ML bestseller batch of {} requests", batch.size());
+        try {
+            List<PredictionRequest> requests = batch.stream().map(PendingPrediction::request).toList();
+            Map<String, BestsellerPredictionResponse> byAsin = new HashMap<>();
+            for (BestsellerPredictionResponse prediction : mlServiceClient.predictBestsellerBatch(requests)) {
+                byAsin.put(prediction.getProductId(), prediction);
+            }
+
+            for (PendingPrediction pending : batch) {
+                BestsellerPredictionResponse prediction = byAsin.get(pending.request().getAsin());
+                if (prediction != null) {
+                    pending.future().complete(prediction);
+                } else {
+                    pending.future().completeExceptionally(new IllegalStateException(
+                            "ML service returned no prediction for " + pending.request().getAsin()));
+                }
+            }
+        } catch (Exception e) {
+            log.error("ML bestseller batch of {} requests failed: {}", batch.size(), e.getMessage());
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    private record PendingPrediction(PredictionRequest request,
+                                     CompletableFuture<BestsellerPredictionResponse> future) {
+    }
+}
@@ -0,0 +1,459 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.response.CatalogImportResponse;
+import com.dashboard.entity.Category;
+import com.dashboard.exception.BadRequestException;
+import com.dashboard.exception.ResourceNotFoundException;
+import com.dashboard.repository.CategoryRepository;
+import com.dashboard.repository.ProductRepository;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class CatalogImportService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO products (asin, product_name, description, price, rating, reviews_count, ranking, " +
+            "no_of_sellers, product_link, image_url, category_id, is_bestseller, likes_count, dislikes_count, " +
+            "sales_count, stock_quantity, approval_status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, 'APPROVED', ?, ?) " +
+            "ON DUPLICATE KEY UPDATE product_name = VALUES(product_name), description = VALUES(description), " +
+            "price = VALUES(price), ranking = VALUES(ranking), no_of_sellers = VALUES(no_of_sellers), " +
+            "product_link = VALUES(product_link), image_url = VALUES(image_url), category_id = VALUES(category_id), " +
+            "is_bestseller = (COALESCE(VALUES(ranking) <= 10, FALSE) OR sales_count >= 50), updated_at = VALUES(updated_at)";
+
+    private static final String REFRESH_CATEGORY_COUNTS_SQL =
+            "UPDATE categories c SET product_count = " +
+            "(SELECT COUNT(*) FROM products p WHERE p.category_id = c.id AND p.approval_status = 'APPROVED')";
+
+    private static final int MAX_TRACKED_JOBS = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final DashboardAggregateStore aggregateStore;
+    private final CategoryStatsCache categoryStatsCache;
+    private final ProductSearchIndex searchIndex;
+    private final ResourceLoader resourceLoader;
+    private final Executor importExecutor;
+
+    @Value("${csv.import.file-path:classpath:amazon_dataset_ready.csv}")
+    private String defaultFilePath;
+
+    @Value("${csv.import.batch-size:100}")
+    private int batchSize;
+
+    @Value("${csv.import.auto-import-on-startup:false}")
+    private boolean autoImportOnStartup;
+
+    @Value("${csv.import.default-stock:100}")
+    private int defaultStock;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_TRACKED_JOBS;
+        }
+    };
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate,
+                                CategoryRepository categoryRepository,
+                                ProductRepository productRepository,
+                                DashboardAggregateStore aggregateStore,
+                                CategoryStatsCache categoryStatsCache,
+                                ProductSearchIndex searchIndex,
+                                ResourceLoader resourceLoader,
+                                @Qualifier("importExecutor") Executor importExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.aggregateStore = aggregateStore;
+        this.categoryStatsCache = categoryStatsCache;
+        this.searchIndex = searchIndex;
+        this.resourceLoader = resourceLoader;
+        this.importExecutor = importExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void importOnStartup() {
+        if (!autoImportOnStartup) {
+            return;
+        }
+        if (productRepository.count() > 0) {
+            log.info("Catalog already populated, skipping startup CSV import");
+            return;
+        }
+
+        Resource resource = resourceLoader.getResource(defaultFilePath);
+        if (!resource.exists()) {
+            log.warn("Startup CSV import skipped, file not found: {}", defaultFilePath);
+            return;
+        }
+        submit(defaultFilePath, resource::getInputStream, null);
+    }
+
+    public CatalogImportResponse startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("CSV file is required");
+        }
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload.csv";
+        if (!fileName.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            throw new BadRequestException("Only .csv files can be imported");
+        }
+
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("catalog-import-", ".csv");
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read uploaded file: " + e.getMessage());
+        }
+
+        return toResponse(submit(fileName, () -> Files.newInputStream(tempFile), tempFile));
+    }
+
+    public CatalogImportResponse getImport(String jobId) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", "id", jobId);
+        }
+        return toResponse(job);
+    }
+
+    public List<CatalogImportResponse> getRecentImports() {
+        List<ImportJob> snapshot;
+        synchronized (jobs) {
+            snapshot = new ArrayList<>(jobs.values());
+        }
+        return snapshot.stream().map(this::toResponse).toList();
+    }
+
+    private ImportJob submit(String source, InputSupplier input, Path tempFile) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), source);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+        }
+
+        try {
+            importExecutor.execute(() -> run(job, input, tempFile));
+        } catch (RejectedExecutionException e) {
+            job.fail("Too many imports queued");
+            deleteQuietly(tempFile);
+            throw new BadRequestException("Another catalog import is already running, try again later");
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, InputSupplier input, Path tempFile) {
+        job.status = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+        log.info("Catalog import {} started from {}", job.id, job.source);
+
+        try (InputStream in = input.open();
+             Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            importRows(reader, job);
+            refreshDerivedState();
+            job.status = "COMPLETED";
+            log.info("Catalog import {} completed: {} imported, {} skipped in {} ms",
+                    job.id, job.rowsImported.get(), job.rowsSkipped.get(), job.elapsedMs());
+        } catch (Exception e) {
+            log.error("Catalog import {} failed: {}", job.id, e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void importRows(Reader reader, ImportJob job) throws IOException, CsvValidationException {
+        CSVReader csvReader = new CSVReaderBuilder(reader).build();
+        String[] header = csvReader.readNext();
+        if (header == null) {
+            throw new BadRequestException("CSV file is empty");
+        }
+        ColumnIndex columns = ColumnIndex.of(header);
+        Map<String, Long> categoryIds = loadCategoryIds();
+
+        List<Object[]> batch = new ArrayList<>(Math.max(batchSize, 1));
+        String[] line;
+        while ((line = csvReader.readNext()) != null) {
+            job.rowsRead.incrementAndGet();
+
+            Object[] row = toRow(line, columns, categoryIds, job);
+            if (row == null) {
+                job.rowsSkipped.incrementAndGet();
+                continue;
+            }
+            batch.add(row);
+
+            if (batch.size() >= Math.max(batchSize, 1)) {
+                flush(batch, job);
+            }
+        }
+        flush(batch, job);
+    }
+
+    private void flush(List<Object[]> batch, ImportJob job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        job.rowsImported.addAndGet(batch.size());
+        batch.clear();
+    }
+
+    private Object[] toRow(String[] line, ColumnIndex columns, Map<String, Long> categoryIds, ImportJob job) {
+        String asin = trimToNull(columns.get(line, columns.asin));
+        String productName = trimToNull(columns.get(line, columns.productName));
+        if (asin == null || asin.length() > 20 || productName == null) {
+            return null;
+        }
+
+        Long categoryId = resolveCategory(columns.get(line, columns.category), categoryIds, job);
+        Integer ranking = parseInteger(columns.get(line, columns.ranking));
+        BigDecimal rating = parseDecimal(columns.get(line, columns.rating));
+        if (rating != null) {
+            rating = rating.max(BigDecimal.ZERO).min(new BigDecimal("5")).setScale(1, RoundingMode.HALF_UP);
+        }
+        BigDecimal price = parseDecimal(columns.get(line, columns.price));
+        if (price != null) {
+            price = price.setScale(2, RoundingMode.HALF_UP);
+        }
+        Integer reviewsCount = parseInteger(columns.get(line, columns.reviewsCount));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return new Object[]{
+                asin,
+                productName.length() > 500 ? productName.substring(0, 500) : productName,
+                trimToNull(columns.get(line, columns.description)),
+                price,
+                rating,
+                reviewsCount != null ? reviewsCount : 0,
+                ranking,
+                parseInteger(columns.get(line, columns.noOfSellers)),
+                trimToNull(columns.get(line, columns.productLink)),
+                trimToNull(columns.get(line, columns.imageUrl)),
+                categoryId,
+                ranking != null && ranking <= 10,
+                defaultStock,
+                now,
+                now
+        };
+    }
+
+    private Map<String, Long> loadCategoryIds() {
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.put(categoryKey(category.getName()), category.getId());
+        }
+        return categoryIds;
+    }
+
+    private Long resolveCategory(String rawName, Map<String, Long> categoryIds, ImportJob job) {
+        String name = trimToNull(rawName);
+        if (name == null) {
+            return null;
+        }
+        return categoryIds.computeIfAbsent(categoryKey(name), key -> {
+            Category category = categoryRepository.save(Category.builder().name(name).build());
+            job.categoriesCreated.incrementAndGet();
+            return category.getId();
+        });
+    }
+
+    private void refreshDerivedState() {
+        jdbcTemplate.update(REFRESH_CATEGORY_COUNTS_SQL);
+        aggregateStore.reconcile();
+        categoryStatsCache.refreshAll();
+        searchIndex.rebuildAsync();
+    }
+
+    private String categoryKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static Integer parseInteger(String value) {
+        String cleaned = clean(value);
+        if (cleaned == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(cleaned).intValue();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        String cleaned = clean(value);
+        if (cleaned == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(cleaned);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String clean(String value) {
+        String trimmed = trimToNull(value);
+        return trimmed != null ? trimToNull(trimmed.replace("$", "").replace(",", "")) : null;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary import file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private CatalogImportResponse toResponse(ImportJob job) {
+        long elapsedMs = job.elapsedMs();
+        return CatalogImportResponse.builder()
+                .jobId(job.id)
+                .source(job.source)
+                .status(job.status)
+                .rowsRead(job.rowsRead.get())
+                .rowsImported(job.rowsImported.get())
+                .rowsSkipped(job.rowsSkipped.get())
+                .categoriesCreated(job.categoriesCreated.get())
+                .rowsPerSecond(elapsedMs > 0 ? job.rowsImported.get() * 1000.0 / elapsedMs : 0.0)
+                .elapsedMs(elapsedMs)
+                .errorMessage(job.errorMessage)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface InputSupplier {
+        InputStream open() throws IOException;
+    }
+
+    private static class ImportJob {
+        private final String id;
+        private final String source;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsSkipped = new AtomicLong();
+        private final AtomicLong categoriesCreated = new AtomicLong();
+        private volatile String status = "QUEUED";
+        private volatile String errorMessage;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        ImportJob(String id, String source) {
+            this.id = id;
+            this.source = source;
+        }
+
+        void fail(String message) {
+            this.status = "FAILED";
+            this.errorMessage = message;
+        }
+
+        long elapsedMs() {
+            if (startedAt == null) {
+                return 0L;
+            }
+            LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+            return Duration.between(startedAt, end).toMillis();
+        }
+    }
+
+    private static class ColumnIndex {
+        private int asin = -1;
+        private int category = -1;
+        private int productLink = -1;
+        private int noOfSellers = -1;
+        private int ranking = -1;
+        private int rating = -1;
+        private int reviewsCount = -1;
+        private int price = -1;
+        private int productName = -1;
+        private int description = -1;
+        private int imageUrl = -1;
+
+        static ColumnIndex of(String[] header) {
+            ColumnIndex index = new ColumnIndex();
+            for (int i = 0; i < header.length; i++) {
+                String name = header[i].trim().replace("\uFEFF", "").toLowerCase(Locale.ROOT).replace(' ', '_');
+                switch (name) {
+                    case "asin" -> index.asin = i;
+                    case "category" -> index.category = i;
+                    case "product_link" -> index.productLink = i;
+                    case "no_of_sellers" -> index.noOfSellers = i;
+                    case "rank", "ranking" -> index.ranking = i;
+                    case "rating" -> index.rating = i;
+                    case "reviews_count" -> index.reviewsCount = i;
+                    case "price" -> index.price = i;
+                    case "product_name" -> index.productName = i;
+                    case "description" -> index.description = i;
+                    case "image_url" -> index.imageUrl = i;
+                    default -> {
+                    }
+                }
+            }
+            if (index.asin < 0 || index.productName < 0) {
+                throw new BadRequestException("CSV header must contain ASIN and Product_Name columns");
+            }
+            return index;
+        }
+
+        String get(String[] line, int column) {
+            return column >= 0 && column < line.length ? line[column] : null;
+        }
+    }
+}
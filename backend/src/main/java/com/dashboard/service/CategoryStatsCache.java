@@ -0,0 +1,97 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.Category;
+import com.dashboard.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryStatsCache {
+
+    private static final CategoryStats EMPTY = new CategoryStats(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0.0, 0L);
+
+    private final ProductRepository productRepository;
+
+    private final Map<Long, CategoryStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public Optional<CategoryStats> get(Long categoryId) {
+        if (categoryId == null) {
+            return Optional.empty();
+        }
+        if (!loaded) {
+            refreshAll();
+        }
+        CategoryStats categoryStats = stats.computeIfAbsent(categoryId, this::load);
+        return categoryStats.productCount() > 0 ? Optional.of(categoryStats) : Optional.empty();
+    }
+
+    public void invalidate(Category category) {
+        if (category == null || category.getId() == null) {
+            return;
+        }
+        Long categoryId = category.getId();
+        TransactionCallbacks.afterCommit(() -> stats.remove(categoryId));
+    }
+
+    @Scheduled(fixedDelayString = "${prediction.category-stats.refresh-interval-ms:600000}",
+            initialDelayString = "${prediction.category-stats.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        try {
+            refreshAll();
+        } catch (Exception e) {
+            log.error("Failed to refresh category statistics: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void refreshAll() {
+        Map<Long, CategoryStats> fresh = new HashMap<>();
+        for (Object[] row : productRepository.aggregateCategoryStats()) {
+            fresh.put((Long) row[0], toStats(row));
+        }
+
+        stats.putAll(fresh);
+        stats.replaceAll((categoryId, current) -> fresh.getOrDefault(categoryId, EMPTY));
+        loaded = true;
+        log.debug("Category statistics refreshed for {} categories", fresh.size());
+    }
+
+    private CategoryStats load(Long categoryId) {
+        List<Object[]> rows = productRepository.aggregateCategoryStats(categoryId);
+        return rows.isEmpty() ? EMPTY : toStats(rows.get(0));
+    }
+
+    private CategoryStats toStats(Object[] row) {
+        return new CategoryStats(
+                toPrice(row[1]),
+                toPrice(row[2]),
+                toPrice(row[3]),
+                row[4] != null ? ((Number) row[4]).doubleValue() : 0.0,
+                row[5] != null ? ((Number) row[5]).longValue() : 0L
+        );
+    }
+
+    private BigDecimal toPrice(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal price = value instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(((Number) value).doubleValue());
+        return price.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public record CategoryStats(BigDecimal avgPrice, BigDecimal minPrice, BigDecimal maxPrice,
+                                Double avgReviews, long productCount) {
+    }
+}
@@ -0,0 +1,312 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.Product;
+import com.dashboard.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardAggregateStore {
+
+    private static final BigDecimal HIGH_RATING = new BigDecimal("4.0");
+
+    // Lower bounds of every price band after the first, and of every rating band from the top down;
+    // ProductRepository.aggregateDashboardBands uses the same edges
+    static final BigDecimal[] PRICE_BAND_EDGES = {
+            new BigDecimal("10"), new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("200")
+    };
+    static final BigDecimal[] RATING_BAND_EDGES = {
+            new BigDecimal("4.5"), new BigDecimal("4.0"), new BigDecimal("3.0"), new BigDecimal("2.0")
+    };
+
+    private final ProductRepository productRepository;
+
+    private final Object lock = new Object();
+    private volatile Totals totals;
+    private Breakdown breakdown;
+
+    public Totals getTotals() {
+        Totals current = totals;
+        return current != null ? current : reconcile();
+    }
+
+    public Distributions getDistributions() {
+        synchronized (lock) {
+            if (breakdown != null) {
+                return breakdown.toDistributions();
+            }
+        }
+        reconcile();
+        synchronized (lock) {
+            return breakdown.toDistributions();
+        }
+    }
+
+    public Contribution snapshot(Product product) {
+        return Contribution.of(product);
+    }
+
+    public void onProductAdded(Product product) {
+        Contribution added = Contribution.of(product);
+        TransactionCallbacks.afterCommit(() -> apply(null, added));
+    }
+
+    public void onProductUpdated(Contribution before, Product product) {
+        Contribution after = Contribution.of(product);
+        if (after.equals(before)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(before, after));
+    }
+
+    public void onProductRemoved(Product product) {
+        Contribution removed = Contribution.of(product);
+        TransactionCallbacks.afterCommit(() -> apply(removed, null));
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.aggregates.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.aggregates.reconcile-initial-delay-ms:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Failed to reconcile dashboard aggregates: {}", e.getMessage());
+        }
+    }
+
+    public Totals reconcile() {
+        List<Object[]> rows = productRepository.aggregateDashboardTotals();
+        Object[] row = rows.isEmpty() ? new Object[7] : rows.get(0);
+
+        Totals fresh = new Totals(
+                toLong(row[0]),
+                toBigDecimal(row[1]),
+                toLong(row[2]),
+                toBigDecimal(row[3]),
+                toLong(row[4]),
+                toLong(row[5]),
+                toLong(row[6])
+        );
+
+        Breakdown freshBreakdown = loadBreakdown();
+
+        synchronized (lock) {
+            Totals previous = totals;
+            if (previous != null && !previous.sameAs(fresh)) {
+                log.warn("Dashboard aggregates drifted: {} products / {} reviews in memory, {} / {} in database",
+                        previous.productCount(), previous.totalReviews(), fresh.productCount(), fresh.totalReviews());
+            }
+            totals = fresh;
+            breakdown = freshBreakdown;
+        }
+        log.debug("Dashboard aggregates reconciled: {} products", fresh.productCount());
+        return fresh;
+    }
+
+    private void apply(Contribution removed, Contribution added) {
+        synchronized (lock) {
+            Totals current = totals;
+            if (current == null) {
+                return;
+            }
+            if (removed != null) {
+                current = current.minus(removed);
+            }
+            if (added != null) {
+                current = current.plus(added);
+            }
+            totals = current;
+            if (breakdown != null) {
+                breakdown.apply(removed, -1);
+                breakdown.apply(added, 1);
+            }
+        }
+    }
+
+    private Breakdown loadBreakdown() {
+        Breakdown fresh = new Breakdown();
+        List<Object[]> bands = productRepository.aggregateDashboardBands();
+        if (!bands.isEmpty()) {
+            Object[] row = bands.get(0);
+            for (int i = 0; i < fresh.priceBands.length; i++) {
+                fresh.priceBands[i] = toLong(row[i]);
+            }
+            for (int i = 0; i < fresh.ratingBands.length; i++) {
+                fresh.ratingBands[i] = toLong(row[fresh.priceBands.length + i]);
+            }
+        }
+        for (Object[] row : productRepository.aggregateDashboardCategories()) {
+            fresh.categories.put(toLong(row[0]),
+                    new CategoryTotals(toLong(row[1]), toBigDecimal(row[2]), toBigDecimal(row[3])));
+        }
+        return fresh;
+    }
+
+    private static int bandOf(BigDecimal value, BigDecimal[] ascendingEdges) {
+        int band = 0;
+        while (band < ascendingEdges.length && value.compareTo(ascendingEdges[band]) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private static int ratingBandOf(BigDecimal rating) {
+        if (rating == null) {
+            return RATING_BAND_EDGES.length;
+        }
+        int band = 0;
+        while (band < RATING_BAND_EDGES.length && rating.compareTo(RATING_BAND_EDGES[band]) < 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private static BigDecimal estimateRevenue(Product product) {
+        if (product.getPrice() == null) {
+            return null;
+        }
+        int salesCount = product.getSalesCount() != null ? product.getSalesCount() : 0;
+        int reviewsCount = product.getReviewsCount() != null ? product.getReviewsCount() : 0;
+        int estimatedSales = salesCount > 0 ? salesCount : Math.max(reviewsCount / 10, 1);
+        return product.getPrice().multiply(BigDecimal.valueOf(estimatedSales));
+    }
+
+    // Price, rating and category breakdowns; mutated only while holding lock
+    private static final class Breakdown {
+
+        private final long[] priceBands = new long[PRICE_BAND_EDGES.length + 1];
+        private final long[] ratingBands = new long[RATING_BAND_EDGES.length + 1];
+        private final Map<Long, CategoryTotals> categories = new HashMap<>();
+
+        void apply(Contribution c, int sign) {
+            if (c == null) {
+                return;
+            }
+            if (c.priceBand() >= 0) {
+                priceBands[c.priceBand()] += sign;
+            }
+            ratingBands[c.ratingBand()] += sign;
+            if (c.categoryId() != null) {
+                CategoryTotals updated = categories.getOrDefault(c.categoryId(), CategoryTotals.EMPTY).plus(c, sign);
+                if (updated.productCount() <= 0) {
+                    categories.remove(c.categoryId());
+                } else {
+                    categories.put(c.categoryId(), updated);
+                }
+            }
+        }
+
+        Distributions toDistributions() {
+            return new Distributions(Arrays.stream(priceBands).boxed().toList(),
+                    Arrays.stream(ratingBands).boxed().toList(), Map.copyOf(categories));
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    public record Contribution(BigDecimal price, BigDecimal rating, int reviews,
+                               boolean highRated, boolean withSales,
+                               Long categoryId, int priceBand, int ratingBand, BigDecimal estimatedRevenue) {
+
+        static Contribution of(Product product) {
+            BigDecimal price = product.getPrice();
+            BigDecimal rating = product.getRating();
+            return new Contribution(
+                    price,
+                    rating,
+                    product.getReviewsCount() != null ? product.getReviewsCount() : 0,
+                    rating != null && rating.compareTo(HIGH_RATING) >= 0,
+                    product.getSalesCount() != null && product.getSalesCount() > 0,
+                    product.getCategory() != null ? product.getCategory().getId() : null,
+                    price != null ? bandOf(price, PRICE_BAND_EDGES) : -1,
+                    ratingBandOf(rating),
+                    estimateRevenue(product)
+            );
+        }
+    }
+
+    // priceBands run from cheapest to most expensive, ratingBands from 4.5+ down to below 2.0 (or unrated)
+    public record Distributions(List<Long> priceBands, List<Long> ratingBands, Map<Long, CategoryTotals> categories) {
+    }
+
+    public record CategoryTotals(long productCount, BigDecimal priceSum, BigDecimal estimatedRevenue) {
+
+        static final CategoryTotals EMPTY = new CategoryTotals(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        CategoryTotals plus(Contribution c, int sign) {
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            return new CategoryTotals(
+                    productCount + sign,
+                    c.price() != null ? priceSum.add(c.price().multiply(factor)) : priceSum,
+                    c.estimatedRevenue() != null ? estimatedRevenue.add(c.estimatedRevenue().multiply(factor))
+                            : estimatedRevenue
+            );
+        }
+    }
+
+    public record Totals(long productCount, BigDecimal priceSum, long ratedCount, BigDecimal ratingSum,
+                         long totalReviews, long highRatedCount, long withSalesCount) {
+
+        public BigDecimal avgPrice(int scale) {
+            return priceSum.divide(BigDecimal.valueOf(Math.max(productCount, 1)), scale, RoundingMode.HALF_UP);
+        }
+
+        public BigDecimal avgRating(int scale) {
+            return ratingSum.divide(BigDecimal.valueOf(Math.max(ratedCount, 1)), scale, RoundingMode.HALF_UP);
+        }
+
+        Totals plus(Contribution c) {
+            return new Totals(
+                    productCount + 1,
+                    c.price() != null ? priceSum.add(c.price()) : priceSum,
+                    c.rating() != null ? ratedCount + 1 : ratedCount,
+                    c.rating() != null ? ratingSum.add(c.rating()) : ratingSum,
+                    totalReviews + c.reviews(),
+                    c.highRated() ? highRatedCount + 1 : highRatedCount,
+                    c.withSales() ? withSalesCount + 1 : withSalesCount
+            );
+        }
+
+        Totals minus(Contribution c) {
+            return new Totals(
+                    productCount - 1,
+                    c.price() != null ? priceSum.subtract(c.price()) : priceSum,
+                    c.rating() != null ? ratedCount - 1 : ratedCount,
+                    c.rating() != null ? ratingSum.subtract(c.rating()) : ratingSum,
+                    totalReviews - c.reviews(),
+                    c.highRated() ? highRatedCount - 1 : highRatedCount,
+                    c.withSales() ? withSalesCount - 1 : withSalesCount
+            );
+        }
+
+        boolean sameAs(Totals other) {
+            return productCount == other.productCount
+                    && priceSum.compareTo(other.priceSum) == 0
+                    && ratedCount == other.ratedCount
+                    && ratingSum.compareTo(other.ratingSum) == 0
+                    && totalReviews == other.totalReviews
+                    && highRatedCount == other.highRatedCount
+                    && withSalesCount == other.withSalesCount;
+        }
+    }
+}
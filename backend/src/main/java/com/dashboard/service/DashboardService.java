@@ -28,59 +28,27 @@ public class DashboardService {
     private final CategoryRepository categoryRepository;
     private final SellerRevenueRepository sellerRevenueRepository;
     private final OrderItemRepository orderItemRepository;
-
-    private List<Product> getAllProducts() {
-        return productRepository.findAll();
-    }
-
-    private List<Product> getApprovedProducts() {
-        return productRepository.findAll().stream()
-                .filter(p -> p.getApprovalStatus() == Product.ApprovalStatus.APPROVED)
-                .collect(Collectors.toList());
-    }
+    private final DashboardAggregateStore aggregateStore;
 
     @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats() {
         log.debug("Fetching dashboard stats");
 
-        List<Product> allProducts = getAllProducts();
-        long totalProducts = allProducts.size();
+        DashboardAggregateStore.Totals totals = aggregateStore.getTotals();
         Long totalCategories = categoryRepository.count();
 
-        BigDecimal avgPrice = allProducts.stream()
-                .filter(p -> p.getPrice() != null)
-                .map(Product::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(new BigDecimal(Math.max(totalProducts, 1)), 2, RoundingMode.HALF_UP);
-
-        BigDecimal avgRating = allProducts.stream()
-                .filter(p -> p.getRating() != null)
-                .map(Product::getRating)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(new BigDecimal(Math.max(allProducts.stream().filter(p -> p.getRating() != null).count(), 1)), 1, RoundingMode.HALF_UP);
-
-        Long totalReviews = allProducts.stream()
-                .filter(p -> p.getReviewsCount() != null)
-                .mapToLong(Product::getReviewsCount)
-                .sum();
-
         BigDecimal totalRevenue = sellerRevenueRepository.calculateTotalPlatformRevenue();
         Long totalSales = orderItemRepository.countTotalSalesFromConfirmedOrders();
 
-        BigDecimal totalInventoryValue = allProducts.stream()
-                .filter(p -> p.getPrice() != null)
-                .map(Product::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         return DashboardStatsResponse.builder()
-                .totalProducts(totalProducts)
+                .totalProducts(totals.productCount())
                 .totalCategories(totalCategories != null ? totalCategories : 0L)
-                .avgPrice(avgPrice)
-                .avgRating(avgRating)
-                .totalReviews(totalReviews)
+                .avgPrice(totals.avgPrice(2))
+                .avgRating(totals.avgRating(1))
+                .totalReviews(totals.totalReviews())
                 .totalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO)
                 .totalSales(totalSales != null ? totalSales : 0L)
-                .totalInventoryValue(totalInventoryValue.setScale(2, RoundingMode.HALF_UP))
+                .totalInventoryValue(totals.priceSum().setScale(2, RoundingMode.HALF_UP))
                 .build();
     }
 
@@ -88,38 +56,19 @@ public class DashboardService {
     public DashboardResponse getDashboardSummary() {
         log.debug("Fetching dashboard summary");
 
-        List<Product> allProducts = getAllProducts();
-        long totalProducts = allProducts.size();
+        DashboardAggregateStore.Totals totals = aggregateStore.getTotals();
         Long totalCategories = categoryRepository.count();
 
-        BigDecimal avgPrice = allProducts.stream()
-                .filter(p -> p.getPrice() != null)
-                .map(Product::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(new BigDecimal(Math.max(totalProducts, 1)), 2, RoundingMode.HALF_UP);
-
-        BigDecimal avgRating = allProducts.stream()
-                .filter(p -> p.getRating() != null)
-                .map(Product::getRating)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(new BigDecimal(Math.max(allProducts.stream().filter(p -> p.getRating() != null).count(), 1)), 1, RoundingMode.HALF_UP);
-
-        Long totalReviews = allProducts.stream()
-                .filter(p -> p.getReviewsCount() != null)
-                .mapToLong(Product::getReviewsCount)
-                .sum();
-
-
-        List<Product> rankedProducts = getProductsRankedByScore(allProducts);
+        List<Product> rankedProducts = getProductsRankedByScore(1);
         Product topProduct = rankedProducts.isEmpty() ? null : rankedProducts.get(0);
         ProductResponse topProductResponse = topProduct != null ?  convertToProductResponse(topProduct) : null;
 
         return DashboardResponse.builder()
-                .totalProducts(totalProducts)
+                .totalProducts(totals.productCount())
                 .totalCategories(totalCategories != null ? totalCategories : 0L)
-                .avgPrice(avgPrice)
-                .avgRating(avgRating)
-                .totalReviews(totalReviews)
+                .avgPrice(totals.avgPrice(2))
+                .avgRating(totals.avgRating(1))
+                .totalReviews(totals.totalReviews())
                 .topProduct(topProductResponse)
                 .build();
     }
@@ -128,19 +77,15 @@ public class DashboardService {
     public Map<String, Long> getCategoryDistribution() {
         log.debug("Fetching category distribution");
 
-        List<Product> allProducts = getAllProducts();
+        Map<Long, String> names = categoryNames();
         Map<String, Long> distribution = new LinkedHashMap<>();
 
-        Map<String, Long> categoryCount = allProducts.stream()
-                .filter(p -> p.getCategory() != null)
-                .collect(Collectors.groupingBy(
-                        p -> p.getCategory().getName(),
-                        Collectors.counting()
-                ));
-
-        categoryCount.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .forEach(e -> distribution.put(e.getKey(), e.getValue()));
+        aggregateStore.getDistributions().categories().entrySet().stream()
+                .filter(e -> names.containsKey(e.getKey()))
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<Long, DashboardAggregateStore.CategoryTotals> e) -> e.getValue().productCount())
+                        .reversed())
+                .forEach(e -> distribution.put(names.get(e.getKey()), e.getValue().productCount()));
 
         return distribution;
     }
@@ -149,22 +94,15 @@ public class DashboardService {
     public Map<String, Long> getPriceDistribution() {
         log.debug("Fetching price distribution");
 
-        List<Product> products = getAllProducts();
+        List<Long> bands = aggregateStore.getDistributions().priceBands();
         Map<String, Long> distribution = new LinkedHashMap<>();
 
-        long under10 = products.stream().filter(p -> p.getPrice() != null && p.getPrice().compareTo(new BigDecimal("10")) < 0).count();
-        long range10to25 = products.stream().filter(p -> p.getPrice() != null && p.getPrice().compareTo(new BigDecimal("10")) >= 0 && p.getPrice().compareTo(new BigDecimal("25")) < 0).count();
-        long range25to50 = products.stream().filter(p -> p.getPrice() != null && p.getPrice().compareTo(new BigDecimal("25")) >= 0 && p.getPrice().compareTo(new BigDecimal("50")) < 0).count();
-        long range50to100 = products.stream().filter(p -> p.getPrice() != null && p.getPrice().compareTo(new BigDecimal("50")) >= 0 && p.getPrice().compareTo(new BigDecimal("100")) < 0).count();
-        long range100to200 = products.stream().filter(p -> p.getPrice() != null && p.getPrice().compareTo(new BigDecimal("100")) >= 0 && p.getPrice().compareTo(new BigDecimal("200")) < 0).count();
-        long over200 = products.stream().filter(p -> p.getPrice() != null && p.getPrice().compareTo(new BigDecimal("200")) >= 0).count();
-
-        distribution.put("$0-$10", under10);
-        distribution.put("$10-$25", range10to25);
-        distribution.put("$25-$50", range25to50);
-        distribution.put("$50-$100", range50to100);
-        distribution.put("$100-$200", range100to200);
-        distribution.put("$200+", over200);
+        distribution.put("$0-$10", bands.get(0));
+        distribution.put("$10-$25", bands.get(1));
+        distribution.put("$25-$50", bands.get(2));
+        distribution.put("$50-$100", bands.get(3));
+        distribution.put("$100-$200", bands.get(4));
+        distribution.put("$200+", bands.get(5));
 
         return distribution;
     }
@@ -173,22 +111,14 @@ public class DashboardService {
     public Map<String, Long> getRatingDistribution() {
         log.debug("Fetching rating distribution");
 
-        List<Product> products = getAllProducts();
+        List<Long> bands = aggregateStore.getDistributions().ratingBands();
         Map<String, Long> distribution = new LinkedHashMap<>();
 
-        long fiveStars = products.stream().filter(p -> p.getRating() != null && p.getRating().compareTo(new BigDecimal("4.5")) >= 0).count();
-        long fourToFive = products.stream().filter(p -> p.getRating() != null && p.getRating().compareTo(new BigDecimal("4.0")) >= 0 && p.getRating().compareTo(new BigDecimal("4.5")) < 0).count();
-        long threeToFour = products.stream().filter(p -> p.getRating() != null && p.getRating().compareTo(new BigDecimal("3.0")) >= 0 && p.getRating().compareTo(new BigDecimal("4.0")) < 0).count();
-        long twoToThree = products.stream().filter(p -> p.getRating() != null && p.getRating().compareTo(new BigDecimal("2.0")) >= 0 && p.getRating().compareTo(new BigDecimal("3.0")) < 0).count();
-        long belowTwo = products.stream().filter(p -> p.getRating() != null && p.getRating().compareTo(new BigDecimal("2.0")) < 0).count();
-
-        long noRating = products.stream().filter(p -> p.getRating() == null).count();
-
-        distribution.put("★★★★★ (4.5+)", fiveStars);
-        distribution.put("★★★★☆ (4.0-4.5)", fourToFive);
-        distribution.put("★★★☆☆ (3.0-4.0)", threeToFour);
-        distribution.put("★★☆☆☆ (2.0-3.0)", twoToThree);
-        distribution.put("★☆☆☆☆ (<2.0)", belowTwo + noRating);
+        distribution.put("★★★★★ (4.5+)", bands.get(0));
+        distribution.put("★★★★☆ (4.0-4.5)", bands.get(1));
+        distribution.put("★★★☆☆ (3.0-4.0)", bands.get(2));
+        distribution.put("★★☆☆☆ (2.0-3.0)", bands.get(3));
+        distribution.put("★☆☆☆☆ (<2.0)", bands.get(4));
 
         return distribution;
     }
@@ -197,72 +127,43 @@ public class DashboardService {
     public List<Map<String, Object>> getCategoryRevenue() {
         log.debug("Fetching category revenue");
 
-        List<Product> allProducts = getAllProducts();
+        Map<Long, String> names = categoryNames();
         List<Map<String, Object>> result = new ArrayList<>();
 
-        Map<Category, List<Product>> productsByCategory = allProducts.stream()
-                .filter(p -> p.getCategory() != null)
-                .collect(Collectors.groupingBy(Product::getCategory));
-
-        for (Map.Entry<Category, List<Product>> entry : productsByCategory.entrySet()) {
-            Category category = entry.getKey();
-            List<Product> products = entry.getValue();
-
-            BigDecimal totalRevenue = products.stream()
-                    .filter(p -> p.getPrice() != null)
-                    .map(p -> {
-                        int salesCount = p.getSalesCount() != null ?  p.getSalesCount() : 0;
-                        int reviewsCount = p.getReviewsCount() != null ? p.getReviewsCount() : 0;
-                        int estimatedSales = salesCount > 0 ? salesCount : Math.max(reviewsCount / 10, 1);
-                        return p.getPrice().multiply(new BigDecimal(estimatedSales));
-                    })
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal avgPrice = products.stream()
-                    .filter(p -> p.getPrice() != null)
-                    .map(Product::getPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(new BigDecimal(Math.max(products.size(), 1)), 2, RoundingMode.HALF_UP);
+        aggregateStore.getDistributions().categories().forEach((categoryId, totals) -> {
+            String name = names.get(categoryId);
+            if (name == null) {
+                return;
+            }
 
             Map<String, Object> categoryData = new HashMap<>();
-            categoryData.put("name", category.getName());
-            categoryData.put("productCount", products.size());
-            categoryData.put("estimatedRevenue", totalRevenue.setScale(2, RoundingMode.HALF_UP));
-            categoryData.put("avgPrice", avgPrice);
+            categoryData.put("name", name);
+            categoryData.put("productCount", totals.productCount());
+            categoryData.put("estimatedRevenue", totals.estimatedRevenue().setScale(2, RoundingMode.HALF_UP));
+            categoryData.put("avgPrice", totals.priceSum()
+                    .divide(BigDecimal.valueOf(Math.max(totals.productCount(), 1)), 2, RoundingMode.HALF_UP));
 
             result.add(categoryData);
-        }
+        });
         result.sort((a, b) -> ((BigDecimal) b.get("estimatedRevenue")).compareTo((BigDecimal) a.get("estimatedRevenue")));
 
         return result;
     }
-    private double calculateProductScore(Product p) {
-        double ratingScore = (p.getRating() != null ? p.getRating().doubleValue() : 0) * 1000.0;
-
-        double salesScore = (p.getSalesCount() != null ? p.getSalesCount() : 0) * 100.0;
 
-        double rankingBonus = 0;
-        if (p.getRanking() != null && p.getRanking() > 0 && p.getRanking() <= 100) {
-            rankingBonus = Math.max(0, 100 - p.getRanking());
-        }
-
-        return ratingScore + salesScore + rankingBonus;
+    private Map<Long, String> categoryNames() {
+        return categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
     }
 
-    private List<Product> getProductsRankedByScore(List<Product> products) {
-        return products.stream()
-                .sorted((a, b) -> Double.compare(calculateProductScore(b), calculateProductScore(a)))
-                .collect(Collectors.toList());
+    private List<Product> getProductsRankedByScore(int limit) {
+        return productRepository.findTopByDashboardScore(PageRequest.of(0, Math.max(limit, 1)));
     }
 
     @Transactional(readOnly = true)
     public List<ProductResponse> getTopBestsellers(int limit) {
         log.debug("Fetching top {} bestsellers", limit);
 
-        List<Product> allProducts = getAllProducts();
-
-        return getProductsRankedByScore(allProducts).stream()
-                .limit(limit)
+        return getProductsRankedByScore(limit).stream()
                 .map(this::convertToProductResponse)
                 .collect(Collectors.toList());
     }
@@ -271,9 +172,7 @@ public class DashboardService {
     public List<ProductResponse> getTopProducts(int limit) {
         log.debug("Fetching top {} products", limit);
 
-        List<Product> allProducts = getAllProducts();
-
-        List<Product> rankedProducts = getProductsRankedByScore(allProducts);
+        List<Product> rankedProducts = getProductsRankedByScore(limit);
 
         List<ProductResponse> result = new ArrayList<>();
         for (int i = 0; i < Math.min(limit, rankedProducts.size()); i++) {
@@ -290,11 +189,7 @@ public class DashboardService {
     public List<Map<String, Object>> getReviewsRankingCorrelation() {
         log.debug("Fetching reviews-ranking correlation data");
 
-        List<Product> allProducts = getAllProducts();
-
-        List<Product> rankedProducts = getProductsRankedByScore(allProducts).stream()
-                .limit(100)
-                .collect(Collectors.toList());
+        List<Product> rankedProducts = getProductsRankedByScore(100);
 
         List<Map<String, Object>> result = new ArrayList<>();
         for (int i = 0; i < rankedProducts.size(); i++) {
@@ -320,27 +215,12 @@ public class DashboardService {
 
         Map<String, Object> trends = new HashMap<>();
 
-        List<Product> allProducts = getAllProducts();
-        long totalProducts = allProducts.size();
-
-        BigDecimal avgRating = allProducts.stream()
-                .filter(p -> p.getRating() != null)
-                .map(Product::getRating)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(new BigDecimal(Math.max(allProducts.stream().filter(p -> p.getRating() != null).count(), 1)), 2, RoundingMode.HALF_UP);
-
-        Long totalReviews = allProducts.stream()
-                .filter(p -> p.getReviewsCount() != null)
-                .mapToLong(Product::getReviewsCount)
-                .sum();
-
-        long highRatedProducts = allProducts.stream()
-                .filter(p -> p.getRating() != null && p.getRating().compareTo(new BigDecimal("4.0")) >= 0)
-                .count();
-
-        long productsWithSales = allProducts.stream()
-                .filter(p -> p.getSalesCount() != null && p.getSalesCount() > 0)
-                .count();
+        DashboardAggregateStore.Totals totals = aggregateStore.getTotals();
+        long totalProducts = totals.productCount();
+        BigDecimal avgRating = totals.avgRating(2);
+        Long totalReviews = totals.totalReviews();
+        long highRatedProducts = totals.highRatedCount();
+        long productsWithSales = totals.withSalesCount();
 
         trends.put("totalProducts", totalProducts);
         trends.put("avgRating", avgRating);
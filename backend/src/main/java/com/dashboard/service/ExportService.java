@@ -1,43 +1,65 @@
 package com.dashboard.service;
 
+import com.dashboard.dto.projection.SalesExportRow;
+import com.dashboard.entity.Order;
 import com.dashboard.entity.Product;
+import com.dashboard.repository.OrderItemRepository;
 import com.dashboard.repository.ProductRepository;
 import com.opencsv.CSVWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ExportService {
 
+    private static final int FLUSH_INTERVAL = 500;
+    private static final int EXCEL_ROW_WINDOW = 100;
+    private static final int SALES_PAGE_SIZE = 1000;
+    private static final List<Order.OrderStatus> SALE_STATUSES = List.of(
+            Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PROCESSING,
+            Order.OrderStatus.SHIPPED,
+            Order.OrderStatus.DELIVERED
+    );
+
     private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
-    public byte[] exportProductsToCsv() throws IOException {
-        log.info("Exporting products to CSV");
-
-        List<Product> products = productRepository.findAllExcludingRejected();
+    public void writeProductsCsv(OutputStream out) throws IOException {
+        log.info("Streaming products to CSV");
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             OutputStreamWriter osw = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-             CSVWriter writer = new CSVWriter(osw)) {
+        CSVWriter writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
 
-            String[] header = {"ASIN", "Category", "Product Link", "No of Sellers", "Ranking",
-                    "Rating", "Reviews Count", "Price", "Product Name", "Description", "Image URL"};
-            writer.writeNext(header);
+        String[] header = {"ASIN", "Category", "Product Link", "No of Sellers", "Ranking",
+                "Rating", "Reviews Count", "Price", "Product Name", "Description", "Image URL"};
+        writer.writeNext(header);
 
-            for (Product product : products) {
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamAllExcludingRejected()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
                 String[] data = {
                         product.getAsin(),
                         product.getCategory() != null ? product.getCategory().getName() : "",
@@ -52,23 +74,26 @@ public class ExportService {
                         product.getImageUrl() != null ? product.getImageUrl() : ""
                 };
                 writer.writeNext(data);
-            }
+                entityManager.detach(product);
 
-            writer.flush();
-            log.info("Exported {} products to CSV", products.size());
-            return baos.toByteArray();
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
         }
+
+        writer.flush();
+        log.info("Exported {} products to CSV", count);
     }
 
     @Transactional(readOnly = true)
-    public byte[] exportProductsToExcel() throws IOException {
-        log.info("Exporting products to Excel");
-
-        List<Product> products = productRepository.findAll();
+    public void writeProductsExcel(OutputStream out) throws IOException {
+        log.info("Streaming products to Excel");
 
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
 
+        try {
             Sheet sheet = workbook.createSheet("Products");
 
             CellStyle headerStyle = workbook.createCellStyle();
@@ -81,55 +106,99 @@ public class ExportService {
             Row headerRow = sheet.createRow(0);
             String[] headers = {"ASIN", "Category", "Product Name", "Price", "Rating",
                     "Reviews", "Ranking", "Sellers", "Bestseller"};
+            int[] columnWidths = {14, 30, 60, 10, 8, 10, 10, 8, 11};
 
             for (int i = 0; i < headers.length; i++) {
                 Cell cell = headerRow.createCell(i);
                 cell.setCellValue(headers[i]);
                 cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, columnWidths[i] * 256);
             }
 
             int rowNum = 1;
-            for (Product product : products) {
-                Row row = sheet.createRow(rowNum++);
-
-                row.createCell(0).setCellValue(product.getAsin());
-                row.createCell(1).setCellValue(product.getCategory() != null ? product.getCategory().getName() : "");
-                row.createCell(2).setCellValue(product.getProductName() != null ? product.getProductName() : "");
-                row.createCell(3).setCellValue(product.getPrice() != null ? product.getPrice().doubleValue() : 0.0);
-                row.createCell(4).setCellValue(product.getRating() != null ? product.getRating().doubleValue() : 0.0);
-                row.createCell(5).setCellValue(product.getReviewsCount() != null ? product.getReviewsCount() : 0);
-                row.createCell(6).setCellValue(product.getRanking() != null ? product.getRanking() : 0);
-                row.createCell(7).setCellValue(product.getNoOfSellers() != null ? product.getNoOfSellers() : 0);
-                row.createCell(8).setCellValue(product.getIsBestseller() != null && product.getIsBestseller() ? "Yes" : "No");
-            }
-
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            try (Stream<Product> products = productRepository.streamAll()) {
+                Iterator<Product> iterator = products.iterator();
+                while (iterator.hasNext()) {
+                    Product product = iterator.next();
+                    Row row = sheet.createRow(rowNum++);
+
+                    row.createCell(0).setCellValue(product.getAsin());
+                    row.createCell(1).setCellValue(product.getCategory() != null ? product.getCategory().getName() : "");
+                    row.createCell(2).setCellValue(product.getProductName() != null ? product.getProductName() : "");
+                    row.createCell(3).setCellValue(product.getPrice() != null ? product.getPrice().doubleValue() : 0.0);
+                    row.createCell(4).setCellValue(product.getRating() != null ? product.getRating().doubleValue() : 0.0);
+                    row.createCell(5).setCellValue(product.getReviewsCount() != null ? product.getReviewsCount() : 0);
+                    row.createCell(6).setCellValue(product.getRanking() != null ? product.getRanking() : 0);
+                    row.createCell(7).setCellValue(product.getNoOfSellers() != null ? product.getNoOfSellers() : 0);
+                    row.createCell(8).setCellValue(product.getIsBestseller() != null && product.getIsBestseller() ? "Yes" : "No");
+
+                    entityManager.detach(product);
+                }
             }
 
-            workbook.write(baos);
-            log.info("Exported {} products to Excel", products.size());
-            return baos.toByteArray();
+            workbook.write(out);
+            out.flush();
+            log.info("Exported {} products to Excel", rowNum - 1);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
-    @Transactional(readOnly = true)
-    public byte[] exportSalesToCsv() throws IOException {
-        log.info("Exporting sales to CSV");
+    public void writeSalesCsv(OutputStream out, LocalDate startDate, LocalDate endDate) throws IOException {
+        writeSalesCsv(out, startDate, endDate, Long.MAX_VALUE);
+    }
 
+    // Stops after maxRows sold items, e.g. for previews
+    public void writeSalesCsv(OutputStream out, LocalDate startDate, LocalDate endDate, long maxRows)
+            throws IOException {
+        log.info("Streaming sales from {} to {} to CSV", startDate, endDate);
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             OutputStreamWriter osw = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-             CSVWriter writer = new CSVWriter(osw)) {
+        CSVWriter writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
 
-            String[] header = {"Sale ID", "Product ASIN", "Product Name", "User Email",
-                    "Quantity", "Unit Price", "Total Amount", "Sale Date", "Status"};
-            writer.writeNext(header);
+        String[] header = {"Sale ID", "Order Number", "Product ASIN", "Product Name", "Category", "User Email",
+                "Customer Name", "Quantity", "Unit Price", "Total Amount", "Sale Date", "Status"};
+        writer.writeNext(header);
 
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+        LocalDateTime afterCreatedAt = start;
+        Long afterId = 0L;
+        long count = 0;
 
+        while (true) {
+            int pageSize = (int) Math.min(SALES_PAGE_SIZE, maxRows - count);
+            List<SalesExportRow> page = orderItemRepository.findSalesExportPage(
+                    start, end, SALE_STATUSES, afterCreatedAt, afterId, PageRequest.of(0, pageSize));
 
+            for (SalesExportRow row : page) {
+                String[] data = {
+                        String.valueOf(row.orderItemId()),
+                        row.orderNumber(),
+                        row.productAsin() != null ? row.productAsin() : "",
+                        row.productName() != null ? row.productName() : "",
+                        row.categoryName() != null ? row.categoryName() : "",
+                        row.buyerEmail(),
+                        row.buyerName() != null ? row.buyerName() : "",
+                        String.valueOf(row.quantity()),
+                        row.unitPrice() != null ? row.unitPrice().toString() : "",
+                        row.subtotal() != null ? row.subtotal().toString() : "",
+                        row.createdAt().toString(),
+                        row.status().name()
+                };
+                writer.writeNext(data);
+            }
             writer.flush();
-            return baos.toByteArray();
+            count += page.size();
+
+            if (page.size() < pageSize || count >= maxRows) {
+                break;
+            }
+            SalesExportRow last = page.get(page.size() - 1);
+            afterCreatedAt = last.createdAt();
+            afterId = last.orderItemId();
         }
+
+        log.info("Exported {} sales rows to CSV", count);
     }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.response.ApiResponse;
+import com.dashboard.entity.IdempotencyRecord;
+import com.dashboard.exception.BadRequestException;
+import com.dashboard.exception.DuplicateResourceException;
+import com.dashboard.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, StoredResponse> recent;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${idempotency.in-flight-timeout-ms:60000}")
+    private long inFlightTimeoutMs;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${idempotency.cache-size:10000}") int cacheSize) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public <T> ResponseEntity<ApiResponse<T>> execute(String idempotencyKey, String operation, Object request,
+                                                      Class<T> dataType,
+                                                      Supplier<ResponseEntity<ApiResponse<T>>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String owner = currentOwner();
+        String cacheKey = owner + "|" + key;
+        String requestHash = hash(operation, request);
+        JavaType responseType = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+
+        StoredResponse cached = cachedResponse(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        IdempotencyRecord claimed = claim(owner, key, requestHash, cacheKey, responseType);
+        if (claimed.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+            return replay(toStored(claimed), requestHash, responseType);
+        }
+
+        ResponseEntity<ApiResponse<T>> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            recordRepository.deleteById(claimed.getId());
+            throw e;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            recordRepository.deleteById(claimed.getId());
+            return response;
+        }
+
+        StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+                serialize(response.getBody()), claimed.getExpiresAt());
+        transactionTemplate.executeWithoutResult(status -> recordRepository.complete(claimed.getId(),
+                IdempotencyRecord.Status.COMPLETED, stored.status(), stored.body()));
+        synchronized (recent) {
+            recent.put(cacheKey, stored);
+        }
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            Integer removed = transactionTemplate.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+            if (removed != null && removed > 0) {
+                log.info("Purged {} expired idempotency keys", removed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    private IdempotencyRecord claim(String owner, String key, String requestHash, String cacheKey,
+                                    JavaType responseType) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                return recordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .owner(owner)
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .expiresAt(LocalDateTime.now().plusHours(ttlHours))
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = recordRepository.findByOwnerAndIdempotencyKey(owner, key).orElse(null);
+                if (existing == null) {
+                    continue;
+                }
+                if (existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    if (existing.getExpiresAt().isAfter(LocalDateTime.now())) {
+                        synchronized (recent) {
+                            recent.put(cacheKey, toStored(existing));
+                        }
+                        return existing;
+                    }
+                } else if (!existing.getRequestHash().equals(requestHash)) {
+                    throw new BadRequestException(HEADER + " was already used for a different request");
+                } else if (existing.getCreatedAt().isAfter(LocalDateTime.now().minusNanos(inFlightTimeoutMs * 1_000_000))) {
+                    throw new DuplicateResourceException("A request with this " + HEADER + " is still being processed");
+                }
+                // Expired or abandoned in-flight record: drop it and claim the key again
+                recordRepository.deleteById(existing.getId());
+            }
+        }
+        throw new DuplicateResourceException("A request with this " + HEADER + " is still being processed");
+    }
+
+    private StoredResponse cachedResponse(String cacheKey) {
+        synchronized (recent) {
+            StoredResponse cached = recent.get(cacheKey);
+            if (cached != null && cached.expiresAt().isBefore(LocalDateTime.now())) {
+                recent.remove(cacheKey);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> replay(StoredResponse stored, String requestHash, JavaType responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BadRequestException(HEADER + " was already used for a different request");
+        }
+        try {
+            ApiResponse<T> body = objectMapper.readValue(stored.body(), responseType);
+            return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response could not be read", e);
+        }
+    }
+
+    private StoredResponse toStored(IdempotencyRecord record) {
+        return new StoredResponse(record.getRequestHash(), record.getResponseStatus(),
+                record.getResponseBody(), record.getExpiresAt());
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be stored for idempotent replay", e);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(serialize(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private record StoredResponse(String requestHash, int status, String body, LocalDateTime expiresAt) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.dashboard.service;
 
+import com.dashboard.dto.request.BatchPredictionRequest;
 import com.dashboard.dto.request.PredictionRequest;
+import com.dashboard.dto.response.BatchPredictionResponse;
 import com.dashboard.dto.response.BestsellerPredictionResponse;
 import com.dashboard.dto.response.CompletePredictionResponse;
 import com.dashboard.dto.response.PriceIntelligenceResponse;
@@ -14,7 +16,9 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -29,6 +33,9 @@ public class MLServiceClient {
     @Value("${ml.service.retry.delay:1000}")
     private long retryDelay;
 
+    @Value("${ml.service.batch.max-size:100}")
+    private int maxBatchSize;
+
     public MLServiceClient(@Qualifier("mlRestTemplate") RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
@@ -46,6 +53,47 @@ public class MLServiceClient {
         }, "bestseller", request.getAsin());
     }
 
+    public List<BestsellerPredictionResponse> predictBestsellerBatch(List<PredictionRequest> requests) {
+        List<BestsellerPredictionResponse> predictions = new ArrayList<>(requests.size());
+        int chunkSize = Math.max(maxBatchSize, 1);
+        int chunks = 0;
+        int failedChunks = 0;
+        RuntimeException lastFailure = null;
+
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<PredictionRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+            chunks++;
+            BatchPredictionResponse response;
+            try {
+                response = executeWithRetry(() -> {
+                    HttpEntity<BatchPredictionRequest> entity = createHttpEntity(new BatchPredictionRequest(chunk));
+                    return restTemplate.exchange(
+                            "/predict/bestseller/batch",
+                            HttpMethod.POST,
+                            entity,
+                            BatchPredictionResponse.class
+                    ).getBody();
+                }, "bestseller-batch", chunk.size() + " products");
+            } catch (RuntimeException e) {
+                // Keep what the other chunks returned; only this chunk's products go without a prediction
+                failedChunks++;
+                lastFailure = e;
+                log.error("Skipping ML bestseller chunk of {} products starting at {}: {}",
+                        chunk.size(), chunk.get(0).getAsin(), e.getMessage());
+                continue;
+            }
+
+            if (response != null && response.getPredictions() != null) {
+                predictions.addAll(response.getPredictions());
+            }
+        }
+
+        if (failedChunks > 0 && failedChunks == chunks) {
+            throw lastFailure;
+        }
+        return predictions;
+    }
+
     public RankingTrendPredictionResponse predictRankingTrend(PredictionRequest request) {
         return executeWithRetry(() -> {
             HttpEntity<PredictionRequest> entity = createHttpEntity(request);
@@ -140,7 +188,7 @@ public class MLServiceClient {
                 lastException);
     }
 
-    private HttpEntity<PredictionRequest> createHttpEntity(PredictionRequest request) {
+    private <B> HttpEntity<B> createHttpEntity(B request) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         return new HttpEntity<>(request, headers);
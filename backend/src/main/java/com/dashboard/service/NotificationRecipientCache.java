@@ -0,0 +1,40 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.User;
+import com.dashboard.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationRecipientCache {
+
+    private final UserRepository userRepository;
+
+    private final Map<User.Role, CachedRecipients> recipients = new ConcurrentHashMap<>();
+
+    @Value("${notifications.recipients.ttl-ms:300000}")
+    private long ttlMs;
+
+    public List<Long> activeRecipientIds(User.Role role) {
+        CachedRecipients cached = recipients.get(role);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < ttlMs) {
+            return cached.ids();
+        }
+        List<Long> ids = List.copyOf(userRepository.findActiveIdsByRole(role));
+        recipients.put(role, new CachedRecipients(ids, System.currentTimeMillis()));
+        return ids;
+    }
+
+    public void invalidate() {
+        TransactionCallbacks.afterCommit(recipients::clear);
+    }
+
+    private record CachedRecipients(List<Long> ids, long loadedAt) {
+    }
+}
@@ -0,0 +1,283 @@
+package com.dashboard.service;
+
+import com.dashboard.exception.DuplicateResourceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+    private static final List<RetentionTable> TABLES = List.of(
+            new RetentionTable("notifications", "notifications_archive"),
+            new RetentionTable("prediction_notifications", "prediction_notifications_archive")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadNotificationCounter unreadCounter;
+    private final Executor retentionExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean archiveTablesReady;
+    private volatile RetentionRun lastRun;
+
+    @Value("${notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.retention.read-days:30}")
+    private int readDays;
+
+    @Value("${notifications.retention.unread-days:180}")
+    private int unreadDays;
+
+    @Value("${notifications.retention.mode:delete}")
+    private String mode;
+
+    @Value("${notifications.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notifications.retention.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${notifications.retention.max-run-ms:600000}")
+    private long maxRunMs;
+
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        UnreadNotificationCounter unreadCounter,
+                                        @Qualifier("retentionExecutor") Executor retentionExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.unreadCounter = unreadCounter;
+        this.retentionExecutor = retentionExecutor;
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Skipping scheduled notification retention, a run is already in progress");
+            return;
+        }
+        try {
+            execute(RetentionRun.started("scheduled"));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Claims the run on the caller's thread so a concurrent request fails fast, then purges in the background
+    public RetentionRun startPurge() {
+        if (!running.compareAndSet(false, true)) {
+            throw new DuplicateResourceException("A notification retention run is already in progress");
+        }
+        RetentionRun run = RetentionRun.started("manual");
+        lastRun = run;
+        try {
+            retentionExecutor.execute(() -> {
+                try {
+                    execute(run);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            lastRun = run.failed("Retention executor rejected the run");
+            throw new DuplicateResourceException("A notification retention run is already in progress");
+        }
+        return run;
+    }
+
+    public RetentionRun getLastRun() {
+        return lastRun;
+    }
+
+    private void execute(RetentionRun run) {
+        lastRun = run;
+        RetentionRun finished;
+        try {
+            finished = run.completed(purgeTables());
+        } catch (Exception e) {
+            log.error("Notification retention run failed: {}", e.getMessage(), e);
+            finished = run.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        lastRun = finished;
+    }
+
+    private RetentionReport purgeTables() {
+        boolean archive = isArchiveMode();
+        if (archive) {
+            ensureArchiveTables();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime readCutoff = now.minusDays(readDays);
+        LocalDateTime unreadCutoff = now.minusDays(unreadDays);
+        long deadline = System.currentTimeMillis() + maxRunMs;
+
+        List<TableReport> tables = new ArrayList<>();
+        for (RetentionTable table : TABLES) {
+            tables.add(purgeTable(table, readCutoff, unreadCutoff, archive, deadline));
+        }
+
+        RetentionReport report = new RetentionReport(archive ? "archive" : "delete", readCutoff, unreadCutoff,
+                tables);
+        if (report.rowsPurged() > 0) {
+            // Unread rows may have been removed, so cached counts are re-seeded from the table
+            unreadCounter.invalidateAll();
+        }
+        log.info("Notification retention finished: {}", tables.stream()
+                .map(t -> t.table() + "=" + t.rowsPurged() + " rows/" + t.chunks() + " chunks/" + t.elapsedMs() + " ms")
+                .collect(Collectors.joining(", ")));
+        return report;
+    }
+
+    private TableReport purgeTable(RetentionTable table, LocalDateTime readCutoff, LocalDateTime unreadCutoff,
+                                   boolean archive, long deadline) {
+        long started = System.currentTimeMillis();
+        LocalDateTime oldestCutoff = readCutoff.isBefore(unreadCutoff) ? unreadCutoff : readCutoff;
+
+        // Ids grow with created_at, so nothing past the newest expired row needs to be scanned
+        Long upperId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM " + table.name() + " WHERE created_at < ?", Long.class,
+                Timestamp.valueOf(oldestCutoff));
+        if (upperId == null) {
+            return new TableReport(table.name(), 0, 0, 0, 0, 0, List.of());
+        }
+
+        String selectSql = "SELECT id FROM " + table.name() + " WHERE id > ? AND id <= ? AND " +
+                "((is_read = TRUE AND created_at < ?) OR ((is_read = FALSE OR is_read IS NULL) AND created_at < ?)) " +
+                "ORDER BY id LIMIT ?";
+
+        long lastId = 0;
+        long purged = 0;
+        int chunks = 0;
+        long slowestChunkMs = 0;
+        long totalChunkMs = 0;
+        List<Long> chunkMillis = new ArrayList<>();
+
+        while (System.currentTimeMillis() < deadline) {
+            List<Long> ids = jdbcTemplate.queryForList(selectSql, Long.class, lastId, upperId,
+                    Timestamp.valueOf(readCutoff), Timestamp.valueOf(unreadCutoff), chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            long chunkStarted = System.currentTimeMillis();
+            Integer removed = transactionTemplate.execute(status -> removeChunk(table, ids, archive));
+            long chunkMs = System.currentTimeMillis() - chunkStarted;
+
+            chunks++;
+            purged += removed != null ? removed : 0;
+            totalChunkMs += chunkMs;
+            chunkMillis.add(chunkMs);
+            slowestChunkMs = Math.max(slowestChunkMs, chunkMs);
+            lastId = ids.get(ids.size() - 1);
+            log.debug("Retention chunk {} on {}: {} rows up to id {} in {} ms",
+                    chunks, table.name(), removed, lastId, chunkMs);
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (System.currentTimeMillis() >= deadline) {
+            log.warn("Notification retention on {} stopped at id {} after reaching the run time limit",
+                    table.name(), lastId);
+        }
+        long averageChunkMs = chunks > 0 ? totalChunkMs / chunks : 0;
+        return new TableReport(table.name(), purged, chunks, averageChunkMs, slowestChunkMs,
+                System.currentTimeMillis() - started, chunkMillis);
+    }
+
+    private int removeChunk(RetentionTable table, List<Long> ids, boolean archive) {
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(","));
+        Object[] args = ids.toArray();
+        if (archive) {
+            jdbcTemplate.update("INSERT IGNORE INTO " + table.archive() + " SELECT * FROM " + table.name() +
+                    " WHERE id IN (" + placeholders + ")", args);
+        }
+        return jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE id IN (" + placeholders + ")", args);
+    }
+
+    private void ensureArchiveTables() {
+        if (archiveTablesReady) {
+            return;
+        }
+        for (RetentionTable table : TABLES) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.archive() + " LIKE " + table.name());
+        }
+        archiveTablesReady = true;
+    }
+
+    private boolean isArchiveMode() {
+        return "archive".equals(mode.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record RetentionTable(String name, String archive) {
+    }
+
+    // chunkMs holds the duration of every chunk in order; max-run-ms bounds how many there can be
+    public record TableReport(String table, long rowsPurged, int chunks, long averageChunkMs, long slowestChunkMs,
+                              long elapsedMs, List<Long> chunkMs) {
+    }
+
+    public record RetentionRun(String status, String trigger, LocalDateTime startedAt, LocalDateTime finishedAt,
+                               RetentionReport report, String error) {
+
+        static RetentionRun started(String trigger) {
+            return new RetentionRun("RUNNING", trigger, LocalDateTime.now(), null, null, null);
+        }
+
+        RetentionRun completed(RetentionReport report) {
+            return new RetentionRun("COMPLETED", trigger, startedAt, LocalDateTime.now(), report, null);
+        }
+
+        RetentionRun failed(String error) {
+            return new RetentionRun("FAILED", trigger, startedAt, LocalDateTime.now(), null, error);
+        }
+    }
+
+    public record RetentionReport(String mode, LocalDateTime readCutoff, LocalDateTime unreadCutoff,
+                                  List<TableReport> tables) {
+
+        public long rowsPurged() {
+            return tables.stream().mapToLong(TableReport::rowsPurged).sum();
+        }
+    }
+}
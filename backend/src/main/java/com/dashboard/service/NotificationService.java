@@ -8,14 +8,26 @@ import com.dashboard.repository.NotificationRepository;
 import com.dashboard.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,8 +36,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final String BULK_INSERT_SQL =
+            "INSERT INTO notifications (recipient_id, type, title, message, reference_id, reference_type, " +
+            "action_url, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, false, ?)";
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationRecipientCache recipientCache;
+    private final NotificationStreamService streamService;
+    private final UnreadNotificationCounter unreadCounter;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.bulk.batch-size:500}")
+    private int bulkBatchSize;
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -49,10 +72,62 @@ public class NotificationService {
                 .build();
 
         notification = notificationRepository.save(notification);
+        unreadCounter.increment(List.of(recipient.getId()));
+        streamService.publish(notification);
         log.info("Created notification for user {}: {}", recipient.getEmail(), title);
         return notification;
     }
 
+    @Transactional
+    public int notifyRole(User.Role role, Notification.NotificationType type, String title, String message,
+                          String referenceId, String referenceType, String actionUrl) {
+        return notifyMany(recipientCache.activeRecipientIds(role), type, title, message,
+                referenceId, referenceType, actionUrl);
+    }
+
+    @Transactional
+    public int notifyMany(Collection<Long> recipientIds, Notification.NotificationType type, String title,
+                          String message, String referenceId, String referenceType, String actionUrl) {
+        if (recipientIds.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> recipients = new ArrayList<>(recipientIds);
+        List<Long> insertedIds = new ArrayList<>(recipients.size());
+        for (int from = 0; from < recipients.size(); from += bulkBatchSize) {
+            List<Long> chunk = recipients.subList(from, Math.min(from + bulkBatchSize, recipients.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(BULK_INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setLong(1, chunk.get(i));
+                            ps.setString(2, type.name());
+                            ps.setString(3, title);
+                            ps.setString(4, message);
+                            ps.setString(5, referenceId);
+                            ps.setString(6, referenceType);
+                            ps.setString(7, actionUrl);
+                            ps.setTimestamp(8, createdAt);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+            keyHolder.getKeyList().forEach(keys -> insertedIds.add(((Number) keys.values().iterator().next()).longValue()));
+        }
+
+        unreadCounter.increment(recipientIds);
+        streamService.publishBulk(recipients, insertedIds);
+        log.info("Created {} {} notifications: {}", recipientIds.size(), type, title);
+        return recipientIds.size();
+    }
+
     // Seller notifications
     @Transactional
     public void notifySellerProductApproved(User seller, Product product) {
@@ -95,21 +170,22 @@ public class NotificationService {
     }
 
     @Transactional
-    public void notifyAdminProductPurchased(Product product, Order order, int quantity, double totalAmount, String buyerName) {
-        List<User> admins = userRepository.findByRoleAndIsActiveTrue(User.Role.ADMIN);
-
-        for (User admin : admins) {
-            createNotification(
-                    admin,
-                    Notification.NotificationType.NEW_ORDER,
-                    "New Order Received! 🛒",
-                    String.format("'%s' purchased '%s' x%d for $%.2f.Order #%s",
-                            buyerName, product.getProductName(), quantity, totalAmount, order.getOrderNumber()),
-                    order.getOrderNumber(),
-                    "ORDER",
-                    "/admin/orders"
-            );
-        }
+    public void notifyAdminsOrderPlaced(Order order) {
+        String items = order.getItems().stream()
+                .map(item -> String.format("'%s' x%d", item.getProductName(), item.getQuantity()))
+                .collect(Collectors.joining(", "));
+
+        notifyRole(
+                User.Role.ADMIN,
+                Notification.NotificationType.NEW_ORDER,
+                "New Order Received! 🛒",
+                String.format("'%s' purchased %d items for $%.2f. Order #%s: %s",
+                        order.getUser().getFullName(), order.getTotalItems(),
+                        order.getTotalAmount().doubleValue(), order.getOrderNumber(), items),
+                order.getOrderNumber(),
+                "ORDER",
+                "/admin/orders"
+        );
     }
 
     @Transactional
@@ -146,42 +222,41 @@ public class NotificationService {
 
     @Transactional
     public void notifyAdminsNewProductSubmission(SellerProductRequest productRequest) {
-        List<User> admins = userRepository.findByRoleAndIsActiveTrue(User.Role.ADMIN);
-        for (User admin : admins) {
-            createNotification(
-                    admin,
-                    Notification.NotificationType.NEW_SELLER_PRODUCT,
-                    "Nouveau produit à approuver 📦",
-                    String.format("Le vendeur '%s' a soumis un nouveau produit: %s",
-                            productRequest.getSeller().getStoreName() != null
-                                    ?  productRequest.getSeller().getStoreName()
-                                    : productRequest.getSeller().getFullName(),
-                            productRequest.getProductName()),
-                    String.valueOf(productRequest.getId()),
-                    "PRODUCT_REQUEST",
-                    "/admin/product-approvals"
-            );
-        }
+        notifyRole(
+                User.Role.ADMIN,
+                Notification.NotificationType.NEW_SELLER_PRODUCT,
+                "Nouveau produit à approuver 📦",
+                String.format("Le vendeur '%s' a soumis un nouveau produit: %s",
+                        productRequest.getSeller().getStoreName() != null
+                                ?  productRequest.getSeller().getStoreName()
+                                : productRequest.getSeller().getFullName(),
+                        productRequest.getProductName()),
+                String.valueOf(productRequest.getId()),
+                "PRODUCT_REQUEST",
+                "/admin/product-approvals"
+        );
     }
 
     @Transactional
     public void notifyAdminsNewProductSubmission(Product product) {
-        List<User> admins = userRepository.findByRoleAndIsActiveTrue(User.Role.ADMIN);
-        for (User admin : admins) {
-            createNotification(
-                    admin,
-                    Notification.NotificationType.NEW_SELLER_PRODUCT,
-                    "Nouveau produit à approuver",
-                    String.format("Le vendeur '%s' a soumis un nouveau produit: %s",
-                            product.getSeller() != null && product.getSeller().getStoreName() != null
-                                    ?  product.getSeller().getStoreName()
-                                    : (product.getSeller() != null ? product.getSeller().getFullName() : "Unknown"),
-                            product.getProductName()),
-                    product.getAsin(),
-                    "PRODUCT",
-                    "/admin/product-approvals/" + product.getAsin()
-            );
-        }
+        notifyRole(
+                User.Role.ADMIN,
+                Notification.NotificationType.NEW_SELLER_PRODUCT,
+                "Nouveau produit à approuver",
+                String.format("Le vendeur '%s' a soumis un nouveau produit: %s",
+                        product.getSeller() != null && product.getSeller().getStoreName() != null
+                                ?  product.getSeller().getStoreName()
+                                : (product.getSeller() != null ? product.getSeller().getFullName() : "Unknown"),
+                        product.getProductName()),
+                product.getAsin(),
+                "PRODUCT",
+                "/admin/product-approvals/" + product.getAsin()
+        );
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        User currentUser = getCurrentUser();
+        return streamService.subscribe(currentUser.getId(), lastEventId, unreadCounter.get(currentUser.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -203,7 +278,7 @@ public class NotificationService {
     @Transactional(readOnly = true)
     public Long getUnreadCount() {
         User currentUser = getCurrentUser();
-        return notificationRepository.countByRecipientAndIsReadFalse(currentUser);
+        return unreadCounter.get(currentUser.getId());
     }
 
     @Transactional
@@ -216,56 +291,49 @@ public class NotificationService {
             throw new BadRequestException("You can only mark your own notifications as read");
         }
 
-        notification.markAsRead();
-        notificationRepository.save(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notification.markAsRead();
+            notificationRepository.save(notification);
+            unreadCounter.adjust(currentUser.getId(), -1);
+            streamService.publishUnreadDelta(currentUser.getId(), -1);
+        }
     }
 
     @Transactional
     public void markAllAsRead() {
         User currentUser = getCurrentUser();
-        notificationRepository.markAllAsReadByRecipient(currentUser, LocalDateTime.now());
+        int updated = notificationRepository.markAllAsReadByRecipient(currentUser, LocalDateTime.now());
+        unreadCounter.adjust(currentUser.getId(), -updated);
+        streamService.publishUnreadDelta(currentUser.getId(), -updated);
         log.info("Marked all notifications as read for user: {}", currentUser.getEmail());
     }
 
     @Transactional
     public void markMultipleAsRead(List<Long> notificationIds) {
         User currentUser = getCurrentUser();
-        notificationRepository.markAsReadByIds(notificationIds, currentUser, LocalDateTime.now());
+        int updated = notificationRepository.markAsReadByIds(notificationIds, currentUser, LocalDateTime.now());
+        unreadCounter.adjust(currentUser.getId(), -updated);
+        streamService.publishUnreadDelta(currentUser.getId(), -updated);
     }
 
     private NotificationResponse convertToResponse(Notification notification) {
-        return NotificationResponse.builder()
-                .id(notification.getId())
-                .type(notification.getType().name())
-                .typeDescription(notification.getType().getDescription())
-                .title(notification.getTitle())
-                .message(notification.getMessage())
-                .referenceId(notification.getReferenceId())
-                .referenceType(notification.getReferenceType())
-                .actionUrl(notification.getActionUrl())
-                .isRead(notification.getIsRead())
-                .readAt(notification.getReadAt())
-                .createdAt(notification.getCreatedAt())
-                .build();
+        return NotificationResponse.fromEntity(notification);
     }
 
     @Transactional
     public void notifyAdminsStockUpdateRequest(User seller, Product product, Integer quantity) {
-        List<User> admins = userRepository.findByRoleAndIsActiveTrue(User.Role.ADMIN);
-        for (User admin : admins) {
-            createNotification(
-                    admin,
-                    Notification.NotificationType.NEW_SELLER_PRODUCT,
-                    "Stock Update Request 📦",
-                    String.format("Seller '%s' wants to add %d units to '%s'",
-                            seller.getStoreName() != null ? seller.getStoreName() : seller.getFullName(),
-                            quantity,
-                            product.getProductName()),
-                    product.getAsin(),
-                    "STOCK_REQUEST",
-                    "/admin/stock-requests"
-            );
-        }
+        notifyRole(
+                User.Role.ADMIN,
+                Notification.NotificationType.NEW_SELLER_PRODUCT,
+                "Stock Update Request 📦",
+                String.format("Seller '%s' wants to add %d units to '%s'",
+                        seller.getStoreName() != null ? seller.getStoreName() : seller.getFullName(),
+                        quantity,
+                        product.getProductName()),
+                product.getAsin(),
+                "STOCK_REQUEST",
+                "/admin/stock-requests"
+        );
     }
 
     @Transactional
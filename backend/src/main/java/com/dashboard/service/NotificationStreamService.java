@@ -0,0 +1,150 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.response.NotificationResponse;
+import com.dashboard.entity.Notification;
+import com.dashboard.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamService {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_EVENT = "unread";
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.stream.max-replay:100}")
+    private int maxReplay;
+
+    public SseEmitter subscribe(Long userId, String lastEventId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> unsubscribe(userId, emitter));
+        emitter.onError(e -> unsubscribe(userId, emitter));
+
+        Long afterId = parseEventId(lastEventId);
+        if (afterId != null) {
+            for (Notification missed : notificationRepository.findByRecipientIdAfter(
+                    userId, afterId, PageRequest.of(0, maxReplay))) {
+                send(userId, emitter, SseEmitter.event()
+                        .id(String.valueOf(missed.getId()))
+                        .name(NOTIFICATION_EVENT)
+                        .data(NotificationResponse.fromEntity(missed)));
+            }
+        }
+        send(userId, emitter, SseEmitter.event().name(UNREAD_EVENT).data(Map.of("count", unreadCount)));
+        return emitter;
+    }
+
+    public boolean isOnline(Long userId) {
+        return subscribers.containsKey(userId);
+    }
+
+    public void publish(Notification notification) {
+        Long userId = notification.getRecipient().getId();
+        if (!isOnline(userId)) {
+            return;
+        }
+        NotificationResponse response = NotificationResponse.fromEntity(notification);
+        TransactionCallbacks.afterCommit(() -> pushNotification(userId, response));
+    }
+
+    // recipientIds and notificationIds are parallel: the keys generated for the rows this batch inserted
+    public void publishBulk(List<Long> recipientIds, List<Long> notificationIds) {
+        List<Long> online = new ArrayList<>();
+        for (int i = 0; i < recipientIds.size() && i < notificationIds.size(); i++) {
+            if (isOnline(recipientIds.get(i))) {
+                online.add(notificationIds.get(i));
+            }
+        }
+        if (online.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> notificationRepository.findAllById(online)
+                .forEach(n -> pushNotification(n.getRecipient().getId(), NotificationResponse.fromEntity(n))));
+    }
+
+    public void publishUnreadDelta(Long userId, long delta) {
+        if (delta == 0 || !isOnline(userId)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> broadcast(userId, () -> SseEmitter.event()
+                .name(UNREAD_EVENT)
+                .data(Map.of("delta", delta))));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.keySet().forEach(userId -> broadcast(userId, () -> SseEmitter.event().comment("heartbeat")));
+    }
+
+    private void pushNotification(Long userId, NotificationResponse response) {
+        broadcast(userId, () -> SseEmitter.event()
+                .id(String.valueOf(response.getId()))
+                .name(NOTIFICATION_EVENT)
+                .data(response));
+        broadcast(userId, () -> SseEmitter.event().name(UNREAD_EVENT).data(Map.of("delta", 1)));
+    }
+
+    // Event builders are single-use, so each emitter gets a fresh one
+    private void broadcast(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(userId, emitter, event.get());
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream for user {}: {}", userId, e.getMessage());
+            unsubscribe(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.*;
+import com.dashboard.repository.OrderEventRepository;
+import com.dashboard.repository.OrderRepository;
+import com.dashboard.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class OrderEventProcessor {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OrderEventRepository eventRepository;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final NotificationService notificationService;
+    private final SellerRevenueService sellerRevenueService;
+    private final SellerStockService sellerStockService;
+    private final DashboardAggregateStore aggregateStore;
+    private final ProductFacetIndex facetIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor orderEventExecutor;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile boolean drainRequested;
+
+    @Value("${orders.events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${orders.events.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${orders.events.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    @Value("${orders.events.lock-timeout-ms:300000}")
+    private long lockTimeoutMs;
+
+    public OrderEventProcessor(OrderEventRepository eventRepository,
+                               OrderRepository orderRepository,
+                               ProductRepository productRepository,
+                               NotificationService notificationService,
+                               SellerRevenueService sellerRevenueService,
+                               SellerStockService sellerStockService,
+                               DashboardAggregateStore aggregateStore,
+                               ProductFacetIndex facetIndex,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("orderEventExecutor") Executor orderEventExecutor) {
+        this.eventRepository = eventRepository;
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.notificationService = notificationService;
+        this.sellerRevenueService = sellerRevenueService;
+        this.sellerStockService = sellerStockService;
+        this.aggregateStore = aggregateStore;
+        this.facetIndex = facetIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orderEventExecutor = orderEventExecutor;
+    }
+
+    public void enqueueConfirmation(Order order, boolean addToSellerStock) {
+        List<OrderEvent> events = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            events.add(OrderEvent.forItem(OrderEvent.EventType.SALES_COUNT, order, item));
+            if (addToSellerStock) {
+                events.add(OrderEvent.forItem(OrderEvent.EventType.SELLER_STOCK, order, item));
+            }
+            events.add(OrderEvent.forItem(OrderEvent.EventType.SELLER_REVENUE, order, item));
+            events.add(OrderEvent.forItem(OrderEvent.EventType.PURCHASE_NOTIFICATION, order, item));
+        }
+        events.add(OrderEvent.forOrder(OrderEvent.EventType.BUYER_NOTIFICATION, order));
+        events.add(OrderEvent.forOrder(OrderEvent.EventType.ADMIN_ORDER_DIGEST, order));
+
+        events.removeIf(event -> eventRepository.existsByEventKey(event.getEventKey()));
+        eventRepository.saveAll(events);
+        log.info("Queued {} post-confirmation events for order {}", events.size(), order.getOrderNumber());
+
+        TransactionCallbacks.afterCommit(this::dispatch);
+    }
+
+    public void dispatch() {
+        try {
+            orderEventExecutor.execute(this::processDueEvents);
+        } catch (RejectedExecutionException e) {
+            drainRequested = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.events.poll-interval-ms:5000}",
+            initialDelayString = "${orders.events.poll-interval-ms:5000}")
+    public void scheduledDrain() {
+        processDueEvents();
+    }
+
+    public void processDueEvents() {
+        if (!draining.compareAndSet(false, true)) {
+            drainRequested = true;
+            return;
+        }
+        try {
+            do {
+                drainRequested = false;
+                drain();
+            } while (drainRequested);
+        } catch (Exception e) {
+            log.error("Order event processing stopped: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released = transactionTemplate.execute(status -> eventRepository.releaseStale(
+                OrderEvent.Status.PROCESSING, OrderEvent.Status.PENDING, now.minusNanos(lockTimeoutMs * 1_000_000)));
+        if (released != null && released > 0) {
+            log.warn("Released {} order events stuck in processing", released);
+        }
+
+        List<Long> due;
+        do {
+            due = eventRepository.findDueIds(OrderEvent.Status.PENDING, LocalDateTime.now(),
+                    PageRequest.of(0, batchSize));
+            for (Long eventId : due) {
+                process(eventId);
+            }
+        } while (due.size() == batchSize);
+    }
+
+    private void process(Long eventId) {
+        Integer claimed = transactionTemplate.execute(status -> eventRepository.claim(
+                eventId, OrderEvent.Status.PENDING, OrderEvent.Status.PROCESSING, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                OrderEvent event = eventRepository.findById(eventId).orElseThrow();
+                handle(event);
+                event.setStatus(OrderEvent.Status.COMPLETED);
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLockedAt(null);
+                event.setLastError(null);
+                event.setProcessedAt(LocalDateTime.now());
+            });
+        } catch (Exception e) {
+            transactionTemplate.executeWithoutResult(status -> recordFailure(eventId, e));
+        }
+    }
+
+    private void handle(OrderEvent event) {
+        Order order = orderRepository.findByIdForUpdate(event.getOrderId())
+                .orElseThrow(() -> new IllegalStateException("Order " + event.getOrderId() + " no longer exists"));
+
+        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+            log.info("Skipping {} for cancelled order {}", event.getEventType(), order.getOrderNumber());
+            return;
+        }
+
+        if (event.getEventType() == OrderEvent.EventType.BUYER_NOTIFICATION) {
+            createOrderNotification(order);
+            return;
+        }
+        if (event.getEventType() == OrderEvent.EventType.ADMIN_ORDER_DIGEST) {
+            notificationService.notifyAdminsOrderPlaced(order);
+            return;
+        }
+
+        OrderItem item = order.getItems().stream()
+                .filter(i -> i.getId().equals(event.getOrderItemId()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "Order item " + event.getOrderItemId() + " not found on order " + order.getOrderNumber()));
+
+        switch (event.getEventType()) {
+            case SALES_COUNT -> updateProductSalesCount(item);
+            case SELLER_STOCK -> addPurchasedProductToSellerStock(order, item);
+            case SELLER_REVENUE -> sellerRevenueService.processOrderItem(item);
+            case PURCHASE_NOTIFICATION -> notifySeller(order, item);
+            default -> throw new IllegalStateException("Unhandled order event type: " + event.getEventType());
+        }
+    }
+
+    private void recordFailure(Long eventId, Exception error) {
+        OrderEvent event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+
+        int attempts = event.getAttempts() + 1;
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+
+        event.setAttempts(attempts);
+        event.setLockedAt(null);
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (attempts >= maxAttempts) {
+            event.setStatus(OrderEvent.Status.FAILED);
+            log.error("Order event {} ({}) failed permanently after {} attempts: {}",
+                    eventId, event.getEventKey(), attempts, message);
+        } else {
+            long delayMs = retryBackoffMs * (1L << Math.min(attempts - 1, 16));
+            event.setStatus(OrderEvent.Status.PENDING);
+            event.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000));
+            log.warn("Order event {} ({}) failed on attempt {}, retrying in {} ms: {}",
+                    eventId, event.getEventKey(), attempts, delayMs, message);
+        }
+    }
+
+    private void updateProductSalesCount(OrderItem item) {
+        Product product = item.getProduct();
+        DashboardAggregateStore.Contribution before = aggregateStore.snapshot(product);
+        product.incrementSalesCount(item.getQuantity());
+        productRepository.save(product);
+        aggregateStore.onProductUpdated(before, product);
+        facetIndex.onStatsChanged(product);
+        log.info("Updated sales count for product {}: new count = {}",
+                product.getAsin(), product.getSalesCount());
+    }
+
+    private void addPurchasedProductToSellerStock(Order order, OrderItem item) {
+        User seller = order.getUser();
+
+        if (seller.getRole() != User.Role.SELLER) {
+            log.info("Buyer {} is not a seller, skipping stock addition", seller.getEmail());
+            return;
+        }
+
+        sellerStockService.addToStock(seller, item.getProduct(), order, item.getQuantity(), item.getUnitPrice());
+        log.info("Successfully added product {} to seller {} stock", item.getProduct().getAsin(), seller.getEmail());
+    }
+
+    private void notifySeller(Order order, OrderItem item) {
+        Product product = item.getProduct();
+
+        if (product.getSeller() != null) {
+            notificationService.notifySellerProductPurchased(product.getSeller(), product, order, item.getQuantity());
+        }
+    }
+
+    private void createOrderNotification(Order order) {
+        String itemsDescription = order.getItems().stream()
+                .map(item -> item.getProductName() + " x" + item.getQuantity())
+                .reduce((a, b) -> a + ", " + b)
+                .orElse("");
+
+        notificationService.createNotification(
+                order.getUser(),
+                Notification.NotificationType.ORDER_CONFIRMED,
+                "Order Confirmed #" + order.getOrderNumber(),
+                "Your order has been confirmed: " + itemsDescription +
+                        " - Total: $" + order.getTotalAmount() + " (" + order.getTotalItems() + " items)",
+                String.valueOf(order.getId()),
+                "ORDER",
+                "/shop/orders"
+        );
+        log.info("Notification created for buyer: {}", order.getOrderNumber());
+    }
+}
@@ -0,0 +1,6 @@
+package com.dashboard.service;
+
+public interface OrderNumberGenerator {
+
+    String nextOrderNumber();
+}
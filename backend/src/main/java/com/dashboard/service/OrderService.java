@@ -14,9 +14,13 @@ import org.springframework. security.core.Authentication;
 import org. springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework. transaction.annotation. Transactional;
-import com. dashboard.service.SellerStockService;
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -26,10 +30,10 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
-    private final NotificationRepository notificationRepository;
-    private final NotificationService notificationService;
-    private final SellerRevenueService sellerRevenueService;
-    private final SellerStockService sellerStockService;
+    private final RevenueRollupService revenueRollupService;
+    private final OrderEventProcessor orderEventProcessor;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final StockReservationService stockReservationService;
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext(). getAuthentication();
         String email = authentication.getName();
@@ -46,24 +50,47 @@ public class OrderService {
             throw new BadRequestException("Order must contain at least one item");
         }
 
+        Map<String, Integer> requestedQuantities = new TreeMap<>();
         for (OrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findByAsin(itemRequest.getProductAsin())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Product not found: " + itemRequest.getProductAsin()));
+            if (itemRequest.getProductAsin() == null) {
+                throw new BadRequestException("Product ASIN is required for every item");
+            }
+            int quantity = itemRequest.getQuantity() != null ? itemRequest.getQuantity() : 1;
+            if (quantity < 1) {
+                throw new BadRequestException("Quantity must be at least 1");
+            }
+            requestedQuantities.merge(itemRequest.getProductAsin(), quantity, Integer::sum);
+        }
 
-            int quantity = itemRequest. getQuantity() != null ? itemRequest. getQuantity() : 1;
+        Map<String, Product> products = productRepository.findByAsinIn(requestedQuantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(Product::getAsin, Function.identity()));
 
-            if (!product. isInStock()) {
-                throw new BadRequestException(product.getProductName() + " is currently out of stock");
+        for (String asin : requestedQuantities.keySet()) {
+            Product product = products.get(asin);
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found: " + asin);
+            }
+            if (product.getPrice() == null) {
+                throw new BadRequestException("Product price not available: " + product.getProductName());
             }
+        }
 
-            if (!product.hasEnoughStock(quantity)) {
-                throw new BadRequestException(product.getProductName() +
-                        " only has " + product. getStockQuantity() + " units in stock");
+        // Reserve in ASIN order so concurrent checkouts lock rows in the same sequence
+        for (Map.Entry<String, Integer> entry : requestedQuantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (!stockReservationService.reserve(product, entry.getValue())) {
+                // The loaded entity predates the conditional update and ignores slot sales, so re-read the stock
+                int available = stockReservationService.availableQuantity(product);
+                throw new BadRequestException(available > 0
+                        ? product.getProductName() + " only has " + available + " units in stock"
+                        : product.getProductName() + " is currently out of stock");
             }
+            log.info("STOCK RESERVED for product {}: {} units", entry.getKey(), entry.getValue());
         }
 
         Order order = Order.builder()
+                .orderNumber(orderNumberGenerator.nextOrderNumber())
                 .user(buyer)
                 .status(Order.OrderStatus.PENDING)
                 .notes(request.getNotes())
@@ -73,21 +100,14 @@ public class OrderService {
         int totalItems = 0;
 
         for (OrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findByAsin(itemRequest.getProductAsin())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Product not found: " + itemRequest.getProductAsin()));
-
-            if (product.getPrice() == null) {
-                throw new BadRequestException("Product price not available: " + product.getProductName());
-            }
-
-            int quantity = itemRequest.getQuantity() != null ?  itemRequest.getQuantity() : 1;
+            Product product = products.get(itemRequest.getProductAsin());
+            int quantity = itemRequest.getQuantity() != null ? itemRequest.getQuantity() : 1;
 
             OrderItem orderItem = OrderItem.builder()
                     .product(product)
                     .quantity(quantity)
                     .unitPrice(product.getPrice())
-                    .subtotal(product.getPrice(). multiply(BigDecimal.valueOf(quantity)))
+                    .subtotal(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
                     .productName(product.getProductName())
                     .productImage(product.getImageUrl())
                     .seller(product.getSeller())
@@ -97,11 +117,6 @@ public class OrderService {
             order.addItem(orderItem);
             totalAmount = totalAmount.add(orderItem.getSubtotal());
             totalItems += quantity;
-
-            product.reduceStock(quantity);
-            productRepository.save(product);
-            log.info("STOCK REDUCED for product {} by {} units.  New stock: {}.  Sales count: {}",
-                    product.getAsin(), quantity, product.getStockQuantity(), product. getSalesCount());
         }
 
         order.setTotalAmount(totalAmount);
@@ -116,7 +131,7 @@ public class OrderService {
 
     @Transactional
     public OrderResponse confirmOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
 
         User currentUser = getCurrentUser();
@@ -131,114 +146,15 @@ public class OrderService {
         }
         order.confirm();
         order = orderRepository.save(order);
+        orderEventProcessor.enqueueConfirmation(order, currentUser.getRole() == User.Role.SELLER);
         log.info("Order confirmed: {}", order.getOrderNumber());
 
-        try {
-            updateProductSalesCount(order);
-        } catch (Exception e) {
-            log. error("Failed to update sales count: {}", e.getMessage());
-        }
-
-        if (currentUser.getRole() == User.Role. SELLER) {
-            try {
-                addPurchasedProductsToSellerStock(order);
-            } catch (Exception e) {
-                log.error("Failed to add products to seller stock: {}", e. getMessage());
-            }
-        }
-
-        try {
-            log.info("Processing seller revenue for order: {}", order.getOrderNumber());
-            sellerRevenueService.processConfirmedOrderItems(order);
-            log.info("Seller revenue processed successfully");
-        } catch (Exception e) {
-            log.error("Failed to process seller revenue: {}", e. getMessage(), e);
-        }
-
-        try {
-            log.info("Sending notifications for order: {}", order.getOrderNumber());
-            sendPurchaseNotificationsToSellers(order);
-            log.info("Notifications sent successfully");
-        } catch (Exception e) {
-            log.error("Failed to send notifications: {}", e.getMessage(), e);
-        }
-
-        try {
-            createOrderNotification(order);
-        } catch (Exception e) {
-            log.error("Failed to create buyer notification: {}", e.getMessage());
-        }
-
         return OrderResponse.fromEntity(order);
     }
 
-    private void addPurchasedProductsToSellerStock(Order order) {
-        User seller = order.getUser();
-
-        if (seller.getRole() != User.Role.SELLER) {
-            log.info("Buyer {} is not a seller, skipping stock addition", seller.getEmail());
-            return;
-        }
-
-        for (OrderItem item : order. getItems()) {
-            try {
-                sellerStockService. addToStock(
-                        seller,
-                        item. getProduct(),
-                        order,
-                        item. getQuantity(),
-                        item. getUnitPrice()
-                );
-                log.info("Successfully added product {} to seller {} stock",
-                        item. getProduct().getAsin(), seller.getEmail());
-            } catch (Exception e) {
-                log. error("Failed to add product {} to seller stock: {}",
-                        item.getProduct().getAsin(), e.getMessage(), e);
-            }
-        }
-    }
-
-    private void sendPurchaseNotificationsToSellers(Order order) {
-        User buyer = order.getUser();
-
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-
-            if (product.getSeller() != null) {
-                log.info("Sending notification to seller: {} for product: {}",
-                        product.getSeller().getEmail(), product.getAsin());
-                notificationService.notifySellerProductPurchased(
-                        product.getSeller(),
-                        product,
-                        order,
-                        item. getQuantity()
-                );
-            }
-
-            notificationService.notifyAdminProductPurchased(
-                    product,
-                    order,
-                    item. getQuantity(),
-                    item.getSubtotal(). doubleValue(),
-                    buyer.getFullName()
-            );
-        }
-    }
-
-    @Transactional
-    protected void updateProductSalesCount(Order order) {
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product. incrementSalesCount(item.getQuantity());
-            productRepository.save(product);
-            log.info("Updated sales count for product {}: new count = {}",
-                    product.getAsin(), product.getSalesCount());
-        }
-    }
-
     @Transactional
     public OrderResponse cancelOrder(Long orderId) {
-        Order order = orderRepository. findById(orderId)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
 
         User currentUser = getCurrentUser();
@@ -256,13 +172,17 @@ public class OrderService {
             throw new BadRequestException("Cannot cancel a delivered order");
         }
 
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.setStockQuantity(product.getStockQuantity() + item.getQuantity());
-            productRepository. save(product);
-            log.info("Restored stock for product {}", product.getAsin());
+        if (order.getStatus() != Order.OrderStatus.PENDING) {
+            revenueRollupService.reverseOrder(order);
         }
 
+        order.getItems().stream()
+                .sorted(Comparator.comparing(item -> item.getProduct().getAsin()))
+                .forEach(item -> {
+                    stockReservationService.release(item.getProduct(), item.getQuantity());
+                    log.info("Restored stock for product {}", item.getProduct().getAsin());
+                });
+
         order.cancel();
         order = orderRepository.save(order);
         log.info("Order cancelled: {}", order.getOrderNumber());
@@ -319,29 +239,4 @@ public class OrderService {
         BigDecimal revenue = orderRepository.calculateTodayRevenue();
         return revenue != null ? revenue : BigDecimal.ZERO;
     }
-
-    private void createOrderNotification(Order order) {
-        try {
-            String itemsDescription = order.getItems().stream()
-                    .map(item -> item.getProductName() + " x" + item.getQuantity())
-                    .reduce((a, b) -> a + ", " + b)
-                    .orElse("");
-
-            Notification notification = Notification.builder()
-                    .recipient(order.getUser())
-                    .type(Notification.NotificationType.ORDER_CONFIRMED)
-                    . title("Order Confirmed #" + order.getOrderNumber())
-                    .message("Your order has been confirmed: " + itemsDescription +
-                            " - Total: $" + order.getTotalAmount() + " (" + order.getTotalItems() + " items)")
-                    .referenceId(String.valueOf(order. getId()))
-                    .referenceType("ORDER")
-                    .actionUrl("/shop/orders")
-                    .build();
-
-            notificationRepository.save(notification);
-            log.info("Notification created for buyer: {}", order. getOrderNumber());
-        } catch (Exception e) {
-            log. error("Failed to create notification for order {}: {}", order. getOrderNumber(), e.getMessage());
-        }
-    }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package com.dashboard.service;
 import com.dashboard.dto.request.PredictionRequest;
 import com.dashboard.dto.response.*;
 import com.dashboard.entity.Product;
-import com.dashboard.entity.Category;
 import com.dashboard.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +12,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -29,6 +27,8 @@ public class PredictionService {
 
     private final MLServiceClient mlServiceClient;
     private final ProductRepository productRepository;
+    private final BestsellerPredictionBatcher bestsellerBatcher;
+    private final CategoryStatsCache categoryStatsCache;
     private final ExecutorService executorService = Executors.newFixedThreadPool(10);
 
     public BestsellerPredictionResponse predictBestseller(String asin) {
@@ -36,7 +36,7 @@ public class PredictionService {
         Product product = productRepository.findByAsin(asin)
                 .orElseThrow(() -> new RuntimeException("Product not found: " + asin));
         PredictionRequest request = buildPredictionRequest(product);
-        return mlServiceClient.predictBestseller(request);
+        return bestsellerBatcher.predict(request);
     }
 
     public RankingTrendPredictionResponse predictRankingTrend(String asin) {
@@ -70,17 +70,8 @@ public class PredictionService {
         Page<Product> productPage = productRepository.findByCategoryId(categoryId, pageable);
         List<Product> products = productPage.getContent();
 
-        return products.stream()
-                .map(product -> {
-                    try {
-                        PredictionRequest request = buildPredictionRequest(product);
-                        return mlServiceClient.predictBestseller(request);
-                    } catch (Exception e) {
-                        log.error("Error predicting for product {}: {}", product.getAsin(), e.getMessage());
-                        return null;
-                    }
-                })
-                .filter(prediction -> prediction != null && prediction.getIsPotentialBestseller())
+        return predictBestsellersInBatch(products).stream()
+                .filter(prediction -> Boolean.TRUE.equals(prediction.getIsPotentialBestseller()))
                 .collect(Collectors.toList());
     }
 
@@ -91,21 +82,33 @@ public class PredictionService {
         Page<Product> productPage = productRepository.findAll(pageable);
         List<Product> products = productPage.getContent();
 
-        return products.stream()
-                .map(product -> {
-                    try {
-                        PredictionRequest request = buildPredictionRequest(product);
-                        return mlServiceClient.predictBestseller(request);
-                    } catch (Exception e) {
-                        log.error("Error predicting for product {}: {}", product.getAsin(), e.getMessage());
-                        return null;
-                    }
-                })
-                .filter(prediction -> prediction != null && prediction.getIsPotentialBestseller())
+        return predictBestsellersInBatch(products).stream()
+                .filter(prediction -> Boolean.TRUE.equals(prediction.getIsPotentialBestseller()))
                 .sorted((a, b) -> Double.compare(b.getBestsellerProbability(), a.getBestsellerProbability()))
                 .collect(Collectors.toList());
     }
 
+    private List<BestsellerPredictionResponse> predictBestsellersInBatch(List<Product> products) {
+        List<PredictionRequest> requests = new ArrayList<>(products.size());
+        for (Product product : products) {
+            try {
+                requests.add(buildPredictionRequest(product));
+            } catch (Exception e) {
+                log.error("Error building prediction request for product {}: {}", product.getAsin(), e.getMessage());
+            }
+        }
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            return mlServiceClient.predictBestsellerBatch(requests);
+        } catch (Exception e) {
+            log.error("Error predicting bestsellers for {} products: {}", requests.size(), e.getMessage());
+            return List.of();
+        }
+    }
+
     public void generatePredictionsAsync(int batchSize) {
         log.info("Starting async prediction generation for {} products", batchSize);
         Pageable pageable = PageRequest.of(0, batchSize);
@@ -157,41 +160,11 @@ public class PredictionService {
                 .daysSinceListed(product.getDaysSinceListed());
 
         if (product.getCategory() != null) {
-            Category category = product.getCategory();
-            Pageable pageable = PageRequest.of(0, 100);
-            List<Product> categoryProducts = productRepository.findByCategoryId(category.getId(), pageable).getContent();
-
-            if (!categoryProducts.isEmpty()) {
-                BigDecimal avgPrice = categoryProducts.stream()
-                        .map(Product::getPrice)
-                        .filter(p -> p != null)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add)
-                        .divide(BigDecimal.valueOf(categoryProducts.size()), 2, RoundingMode.HALF_UP);
-
-                BigDecimal minPrice = categoryProducts.stream()
-                        .map(Product::getPrice)
-                        .filter(p -> p != null)
-                        .min(BigDecimal::compareTo)
-                        .orElse(BigDecimal.ZERO);
-
-                BigDecimal maxPrice = categoryProducts.stream()
-                        .map(Product::getPrice)
-                        .filter(p -> p != null)
-                        .max(BigDecimal::compareTo)
-                        .orElse(BigDecimal.ZERO);
-
-                Double avgReviews = categoryProducts.stream()
-                        .map(Product::getReviewsCount)
-                        .filter(c -> c != null)
-                        .mapToDouble(Integer::doubleValue)
-                        .average()
-                        .orElse(0.0);
-
-                builder.categoryAvgPrice(avgPrice)
-                        .categoryMinPrice(minPrice)
-                        .categoryMaxPrice(maxPrice)
-                        .categoryAvgReviews(avgReviews);
-            }
+            categoryStatsCache.get(product.getCategory().getId())
+                    .ifPresent(stats -> builder.categoryAvgPrice(stats.avgPrice())
+                            .categoryMinPrice(stats.minPrice())
+                            .categoryMaxPrice(stats.maxPrice())
+                            .categoryAvgReviews(stats.avgReviews()));
         }
 
         return builder.build();
@@ -0,0 +1,578 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory facets for catalog filtering. Each product holds a dense ordinal, and every category, price
+ * bucket and rating bucket keeps a bitset of ordinals, so a filter is a few bitset ANDs/ORs and the counts
+ * for the other filter values are popcounts of the same bitsets. Loaded together with {@link ProductSearchIndex}
+ * and fed by its hooks; rating and sales changes arrive through {@link #onStatsChanged}.
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final double[] RATING_EDGES = {1, 2, 3, 4};
+
+    private final double[] priceEdges;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Facets facets;
+    private List<Consumer<Facets>> pendingDuringLoad;
+    private volatile boolean ready;
+
+    @Value("${search.facets.max-result-window:10000}")
+    private int maxResultWindow;
+
+    public ProductFacetIndex(@Value("${search.facets.price-edges:10,25,50,100,250,500,1000}") double[] priceEdges) {
+        this.priceEdges = priceEdges.clone();
+        Arrays.sort(this.priceEdges);
+        this.facets = new Facets(this.priceEdges);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean supportsSort(String property) {
+        return SortField.from(property) != null;
+    }
+
+    public FacetResult filter(String category, BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minRating,
+                              String sortProperty, boolean descending, int offset, int limit) {
+        SortField sortField = SortField.from(sortProperty);
+        if (sortField == null) {
+            throw new IllegalArgumentException("Unsupported facet sort: " + sortProperty);
+        }
+        int window = Math.min(offset + limit, maxResultWindow);
+
+        lock.readLock().lock();
+        try {
+            return facets.query(category, toDouble(minPrice), toDouble(maxPrice), toDouble(minRating),
+                    sortField, descending, offset, window);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rating and sales move without the product being re-indexed; only the numeric columns are refreshed
+    public void onStatsChanged(Product product) {
+        String asin = product.getAsin();
+        Double price = toDouble(product.getPrice());
+        Double rating = toDouble(product.getRating());
+        Integer ranking = product.getRanking();
+        Integer salesCount = product.getSalesCount();
+        TransactionCallbacks.afterCommit(() -> update(f -> f.updateStats(asin, price, rating, ranking, salesCount)));
+    }
+
+    static Row row(String asin, String category, BigDecimal price, BigDecimal rating, Integer ranking,
+                   Integer salesCount) {
+        return new Row(asin, category, toDouble(price), toDouble(rating), ranking, salesCount);
+    }
+
+    // Called by the search index, which serializes writers
+    void apply(String asin, Row row) {
+        update(row != null ? f -> f.put(row) : f -> f.remove(asin));
+    }
+
+    Facets newFacets() {
+        return new Facets(priceEdges);
+    }
+
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Writes that committed while the table was being read are replayed over the loaded facets
+    void install(Facets fresh) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.forEach(change -> change.accept(fresh));
+            }
+            facets = fresh;
+            ready = true;
+        } finally {
+            pendingDuringLoad = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abortLoad() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(Consumer<Facets> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(facets);
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    record Row(String asin, String category, Double price, Double rating, Integer ranking, Integer salesCount) {
+    }
+
+    public record FacetResult(List<String> asins, long totalHits, FacetCounts facets) {
+    }
+
+    public record FacetCounts(List<ValueCount> categories, List<RangeCount> prices, List<RangeCount> ratings) {
+    }
+
+    public record ValueCount(String value, long count) {
+    }
+
+    // Price ranges are [from, to); rating entries count products rated at least 'from'
+    public record RangeCount(BigDecimal from, BigDecimal to, long count) {
+    }
+
+    private enum SortField {
+        RANKING,
+        PRICE,
+        RATING,
+        SALES_COUNT;
+
+        static SortField from(String property) {
+            if (property == null) {
+                return null;
+            }
+            return switch (property) {
+                case "ranking" -> RANKING;
+                case "price" -> PRICE;
+                case "rating" -> RATING;
+                case "salesCount" -> SALES_COUNT;
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * Not thread-safe; guarded by the enclosing index's lock. Ordinals of removed products are reused, so
+     * the bitsets stay as dense as the catalog. Missing prices and ratings belong to no bucket, matching
+     * SQL comparisons against NULL.
+     */
+    static final class Facets {
+
+        private final double[] priceEdges;
+        private final Map<String, Integer> ordinalByAsin = new HashMap<>();
+        private final Bits live = new Bits();
+        private final Map<String, Integer> categoryIds = new HashMap<>();
+        private final List<String> categoryNames = new ArrayList<>();
+        private final List<Bits> categorySets = new ArrayList<>();
+        private final Bits[] priceSets;
+        private final Bits[] ratingSets;
+        private String[] asins = new String[1024];
+        private int[] categoryOf = new int[1024];
+        private double[] prices = new double[1024];
+        private double[] ratings = new double[1024];
+        private int[] rankings = new int[1024];
+        private int[] salesCounts = new int[1024];
+        private int[] free = new int[16];
+        private int freeCount;
+        private int size;
+
+        private Facets(double[] priceEdges) {
+            this.priceEdges = priceEdges;
+            this.priceSets = newSets(priceEdges.length + 1);
+            this.ratingSets = newSets(RATING_EDGES.length + 1);
+        }
+
+        private static Bits[] newSets(int count) {
+            Bits[] sets = new Bits[count];
+            for (int i = 0; i < count; i++) {
+                sets[i] = new Bits();
+            }
+            return sets;
+        }
+
+        void put(Row row) {
+            Integer existing = ordinalByAsin.get(row.asin());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                clearCategory(ordinal);
+                clearNumbers(ordinal);
+            } else {
+                ordinal = allocate();
+                ordinalByAsin.put(row.asin(), ordinal);
+                asins[ordinal] = row.asin();
+                live.set(ordinal);
+            }
+            categoryOf[ordinal] = categoryId(row.category());
+            if (categoryOf[ordinal] >= 0) {
+                categorySets.get(categoryOf[ordinal]).set(ordinal);
+            }
+            setNumbers(ordinal, row.price(), row.rating(), row.ranking(), row.salesCount());
+        }
+
+        void updateStats(String asin, Double price, Double rating, Integer ranking, Integer salesCount) {
+            Integer ordinal = ordinalByAsin.get(asin);
+            if (ordinal == null) {
+                return;
+            }
+            clearNumbers(ordinal);
+            setNumbers(ordinal, price, rating, ranking, salesCount);
+        }
+
+        void remove(String asin) {
+            Integer ordinal = ordinalByAsin.remove(asin);
+            if (ordinal == null) {
+                return;
+            }
+            clearCategory(ordinal);
+            clearNumbers(ordinal);
+            live.clear(ordinal);
+            asins[ordinal] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = ordinal;
+        }
+
+        private int allocate() {
+            if (freeCount > 0) {
+                return free[--freeCount];
+            }
+            if (size == asins.length) {
+                int capacity = size * 2;
+                asins = Arrays.copyOf(asins, capacity);
+                categoryOf = Arrays.copyOf(categoryOf, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                rankings = Arrays.copyOf(rankings, capacity);
+                salesCounts = Arrays.copyOf(salesCounts, capacity);
+            }
+            return size++;
+        }
+
+        // Category names compare case-insensitively, as they do under the database collation
+        private int categoryId(String category) {
+            if (category == null) {
+                return -1;
+            }
+            return categoryIds.computeIfAbsent(category.toLowerCase(Locale.ROOT), key -> {
+                categoryNames.add(category);
+                categorySets.add(new Bits());
+                return categoryNames.size() - 1;
+            });
+        }
+
+        private void clearCategory(int ordinal) {
+            if (categoryOf[ordinal] >= 0) {
+                categorySets.get(categoryOf[ordinal]).clear(ordinal);
+            }
+        }
+
+        private void setNumbers(int ordinal, Double price, Double rating, Integer ranking, Integer salesCount) {
+            prices[ordinal] = price != null ? price : Double.NaN;
+            ratings[ordinal] = rating != null ? rating : Double.NaN;
+            rankings[ordinal] = ranking != null ? ranking : Integer.MAX_VALUE;
+            salesCounts[ordinal] = salesCount != null ? salesCount : 0;
+            if (price != null) {
+                priceSets[bucket(priceEdges, price)].set(ordinal);
+            }
+            if (rating != null) {
+                ratingSets[bucket(RATING_EDGES, rating)].set(ordinal);
+            }
+        }
+
+        private void clearNumbers(int ordinal) {
+            if (!Double.isNaN(prices[ordinal])) {
+                priceSets[bucket(priceEdges, prices[ordinal])].clear(ordinal);
+            }
+            if (!Double.isNaN(ratings[ordinal])) {
+                ratingSets[bucket(RATING_EDGES, ratings[ordinal])].clear(ordinal);
+            }
+        }
+
+        // Bucket i covers [edges[i - 1], edges[i]); the first starts at -inf and the last runs to +inf
+        private static int bucket(double[] edges, double value) {
+            int position = Arrays.binarySearch(edges, value);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+
+        FacetResult query(String category, Double minPrice, Double maxPrice, Double minRating,
+                          SortField sortField, boolean descending, int offset, int window) {
+            Bits categoryMatch = category != null ? categorySet(category) : null;
+            Bits priceMatch = minPrice != null || maxPrice != null
+                    ? range(priceSets, prices, priceEdges, minPrice, maxPrice) : null;
+            Bits ratingMatch = minRating != null ? range(ratingSets, ratings, RATING_EDGES, minRating, null) : null;
+
+            Bits matches = intersect(categoryMatch, priceMatch, ratingMatch);
+            FacetCounts counts = new FacetCounts(
+                    categoryCounts(intersect(null, priceMatch, ratingMatch)),
+                    priceCounts(intersect(categoryMatch, null, ratingMatch)),
+                    ratingCounts(intersect(categoryMatch, priceMatch, null)));
+
+            List<String> page = new ArrayList<>();
+            if (offset < window) {
+                int[] ranked = top(matches, sortField, descending, window);
+                for (int i = offset; i < ranked.length; i++) {
+                    page.add(asins[ranked[i]]);
+                }
+            }
+            return new FacetResult(page, matches.cardinality(), counts);
+        }
+
+        private Bits categorySet(String category) {
+            Integer id = categoryIds.get(category.toLowerCase(Locale.ROOT));
+            return id != null ? categorySets.get(id) : new Bits();
+        }
+
+        // OR of the buckets inside the range; the buckets it only partly covers are checked value by value
+        private static Bits range(Bits[] sets, double[] values, double[] edges, Double min, Double max) {
+            Bits result = new Bits();
+            int first = min != null ? bucket(edges, min) : 0;
+            int last = max != null ? bucket(edges, max) : sets.length - 1;
+            for (int b = first; b <= last; b++) {
+                boolean fromInside = min == null || (b > 0 && edges[b - 1] >= min);
+                boolean toInside = max == null || (b < edges.length && edges[b] <= max);
+                if (fromInside && toInside) {
+                    result.or(sets[b]);
+                    continue;
+                }
+                Bits bucket = sets[b];
+                for (int o = bucket.nextSetBit(0); o >= 0; o = bucket.nextSetBit(o + 1)) {
+                    if ((min == null || values[o] >= min) && (max == null || values[o] <= max)) {
+                        result.set(o);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private Bits intersect(Bits... filters) {
+            Bits result = live.copy();
+            for (Bits filter : filters) {
+                if (filter != null) {
+                    result.and(filter);
+                }
+            }
+            return result;
+        }
+
+        private List<ValueCount> categoryCounts(Bits base) {
+            List<ValueCount> values = new ArrayList<>();
+            for (int id = 0; id < categorySets.size(); id++) {
+                long count = base.andCardinality(categorySets.get(id));
+                if (count > 0) {
+                    values.add(new ValueCount(categoryNames.get(id), count));
+                }
+            }
+            values.sort(Comparator.comparingLong(ValueCount::count).reversed().thenComparing(ValueCount::value));
+            return values;
+        }
+
+        private List<RangeCount> priceCounts(Bits base) {
+            List<RangeCount> values = new ArrayList<>();
+            for (int b = 0; b < priceSets.length; b++) {
+                values.add(new RangeCount(
+                        b > 0 ? BigDecimal.valueOf(priceEdges[b - 1]) : BigDecimal.ZERO,
+                        b < priceEdges.length ? BigDecimal.valueOf(priceEdges[b]) : null,
+                        base.andCardinality(priceSets[b])));
+            }
+            return values;
+        }
+
+        private List<RangeCount> ratingCounts(Bits base) {
+            List<RangeCount> values = new ArrayList<>();
+            long atLeast = base.andCardinality(ratingSets[ratingSets.length - 1]);
+            for (int b = ratingSets.length - 1; b > 0; b--) {
+                values.add(new RangeCount(BigDecimal.valueOf(RATING_EDGES[b - 1]), null, atLeast));
+                atLeast += base.andCardinality(ratingSets[b - 1]);
+            }
+            return values;
+        }
+
+        // Keeps the best 'window' ordinals in a bounded max-heap whose root is the worst one kept
+        private int[] top(Bits matches, SortField sortField, boolean descending, int window) {
+            int[] heap = new int[(int) Math.min(window, matches.cardinality())];
+            int count = 0;
+            for (int o = matches.nextSetBit(0); o >= 0 && heap.length > 0; o = matches.nextSetBit(o + 1)) {
+                if (count < heap.length) {
+                    heap[count] = o;
+                    siftUp(heap, count++, sortField, descending);
+                } else if (compare(o, heap[0], sortField, descending) < 0) {
+                    heap[0] = o;
+                    siftDown(heap, count, sortField, descending);
+                }
+            }
+            // Draining the root (the worst kept) fills the page from the back
+            int[] ranked = new int[count];
+            for (int i = count - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i, sortField, descending);
+            }
+            return ranked;
+        }
+
+        private void siftUp(int[] heap, int index, SortField sortField, boolean descending) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (compare(heap[index], heap[parent], sortField, descending) <= 0) {
+                    return;
+                }
+                swap(heap, index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int count, SortField sortField, boolean descending) {
+            int index = 0;
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < count && compare(heap[left], heap[worst], sortField, descending) > 0) {
+                    worst = left;
+                }
+                if (right < count && compare(heap[right], heap[worst], sortField, descending) > 0) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(heap, index, worst);
+                index = worst;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int value = heap[a];
+            heap[a] = heap[b];
+            heap[b] = value;
+        }
+
+        // Negative when a sorts before b; products without a value go last either way, then ties by ASIN
+        private int compare(int a, int b, SortField sortField, boolean descending) {
+            double valueA = value(a, sortField);
+            double valueB = value(b, sortField);
+            boolean missingA = Double.isNaN(valueA);
+            boolean missingB = Double.isNaN(valueB);
+            int result;
+            if (missingA || missingB) {
+                result = Boolean.compare(missingA, missingB);
+            } else {
+                result = descending ? Double.compare(valueB, valueA) : Double.compare(valueA, valueB);
+            }
+            return result != 0 ? result : asins[a].compareTo(asins[b]);
+        }
+
+        private double value(int ordinal, SortField sortField) {
+            return switch (sortField) {
+                case RANKING -> rankings[ordinal] == Integer.MAX_VALUE ? Double.NaN : rankings[ordinal];
+                case PRICE -> prices[ordinal];
+                case RATING -> ratings[ordinal];
+                case SALES_COUNT -> salesCounts[ordinal];
+            };
+        }
+    }
+
+    // Growable bitset over ordinals; unlike java.util.BitSet it can count an intersection without copying
+    private static final class Bits {
+
+        private long[] words = new long[16];
+
+        void set(int index) {
+            int word = index >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, word + 1));
+            }
+            words[word] |= 1L << index;
+        }
+
+        void clear(int index) {
+            int word = index >>> 6;
+            if (word < words.length) {
+                words[word] &= ~(1L << index);
+            }
+        }
+
+        Bits copy() {
+            Bits copy = new Bits();
+            copy.words = words.clone();
+            return copy;
+        }
+
+        void and(Bits other) {
+            int shared = Math.min(words.length, other.words.length);
+            for (int i = 0; i < shared; i++) {
+                words[i] &= other.words[i];
+            }
+            Arrays.fill(words, shared, words.length, 0L);
+        }
+
+        void or(Bits other) {
+            if (other.words.length > words.length) {
+                words = Arrays.copyOf(words, other.words.length);
+            }
+            for (int i = 0; i < other.words.length; i++) {
+                words[i] |= other.words[i];
+            }
+        }
+
+        long cardinality() {
+            long count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        long andCardinality(Bits other) {
+            int shared = Math.min(words.length, other.words.length);
+            long count = 0;
+            for (int i = 0; i < shared; i++) {
+                count += Long.bitCount(words[i] & other.words[i]);
+            }
+            return count;
+        }
+
+        int nextSetBit(int from) {
+            int word = from >>> 6;
+            if (word >= words.length) {
+                return -1;
+            }
+            long bits = words[word] & (-1L << from);
+            while (true) {
+                if (bits != 0) {
+                    return word * 64 + Long.numberOfTrailingZeros(bits);
+                }
+                if (++word == words.length) {
+                    return -1;
+                }
+                bits = words[word];
+            }
+        }
+    }
+}
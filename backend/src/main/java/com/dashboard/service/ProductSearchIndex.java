@@ -0,0 +1,515 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over product name, description, category and ASIN with BM25 ranking.
+ * Built from the database at startup and kept current by after-commit hooks in the services that
+ * write products; updates tombstone the old document and append a new one, and a rebuild compacts
+ * the tombstones away. The same load and hooks feed {@link ProductSuggestIndex}
+ * and {@link ProductFacetIndex}.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final String LOAD_SQL = "SELECT p.asin, p.product_name, p.description, p.approval_status, c.name, " +
+            "p.sales_count, p.ranking, p.price, p.rating FROM products p LEFT JOIN categories c ON c.id = p.category_id";
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int ASIN_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor searchIndexExecutor;
+    private final ProductSuggestIndex suggestIndex;
+    private final ProductFacetIndex facetIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private Segment segment = new Segment();
+    private List<Document> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.max-description-tokens:200}")
+    private int maxDescriptionTokens;
+
+    @Value("${search.index.max-result-window:10000}")
+    private int maxResultWindow;
+
+    @Value("${search.index.compaction-ratio:0.2}")
+    private double compactionRatio;
+
+    public ProductSearchIndex(JdbcTemplate jdbcTemplate,
+                              @Qualifier("searchIndexExecutor") Executor searchIndexExecutor,
+                              ProductSuggestIndex suggestIndex,
+                              ProductFacetIndex facetIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchIndexExecutor = searchIndexExecutor;
+        this.suggestIndex = suggestIndex;
+        this.facetIndex = facetIndex;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public SearchResult search(String query, boolean approvedOnly, int offset, int limit) {
+        return search(query, approvedOnly, false, offset, limit);
+    }
+
+    // With prefixLast the final term also matches longer terms, for type-ahead style lookups ("iph", "b07x")
+    public SearchResult search(String query, boolean approvedOnly, boolean prefixLast, int offset, int limit) {
+        List<String> terms = SearchTokenizer.distinctTokens(query);
+        int window = Math.min(offset + limit, maxResultWindow);
+        if (terms.isEmpty() || offset >= window) {
+            return SearchResult.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, approvedOnly, prefixLast, offset, window);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onProductSaved(Product product) {
+        if (!enabled) {
+            return;
+        }
+        Document document = document(product.getAsin(), product.getProductName(), product.getDescription(),
+                product.getCategory() != null ? product.getCategory().getName() : null,
+                product.getSalesCount(), product.getRanking(), product.getPrice(), product.getRating(),
+                product.getApprovalStatus() == Product.ApprovalStatus.APPROVED);
+        TransactionCallbacks.afterCommit(() -> apply(List.of(document)));
+    }
+
+    public void onProductRemoved(String asin) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(List.of(Document.removed(asin))));
+    }
+
+    // For writes that bypass the entity (bulk SQL): re-reads the given products once the transaction commits
+    public void reindex(Collection<String> asins) {
+        if (!enabled || asins.isEmpty()) {
+            return;
+        }
+        List<String> targets = List.copyOf(asins);
+        TransactionCallbacks.afterCommit(() -> reload(targets));
+    }
+
+    public void rebuildAsync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            searchIndexExecutor.execute(this::rebuild);
+        } catch (RejectedExecutionException e) {
+            log.debug("Search index rebuild already queued");
+        }
+    }
+
+    public IndexStats getStats() {
+        lock.readLock().lock();
+        try {
+            return new IndexStats(ready, segment.liveDocs, segment.docCount - segment.liveDocs,
+                    segment.postings.size(), rebuilding.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.compaction-check-ms:300000}",
+            initialDelayString = "${search.index.compaction-check-ms:300000}")
+    public void compactIfNeeded() {
+        if (!isReady()) {
+            return;
+        }
+        lock.readLock().lock();
+        double deletedRatio;
+        try {
+            deletedRatio = segment.docCount == 0 ? 0 : (double) (segment.docCount - segment.liveDocs) / segment.docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (deletedRatio > compactionRatio) {
+            log.info("Search index has {}% deleted documents, rebuilding", Math.round(deletedRatio * 100));
+            rebuildAsync();
+        }
+    }
+
+    // Full rebuild also picks up any product writes that did not go through the hooks
+    @Scheduled(cron = "${search.index.rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        rebuildAsync();
+    }
+
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+            facetIndex.beginLoad();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Segment fresh = new Segment();
+            List<ProductSuggestIndex.Entry> suggestions = new ArrayList<>();
+            ProductFacetIndex.Facets facets = facetIndex.newFacets();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(1000);
+                return statement;
+            }, rs -> {
+                Document document = document(rs);
+                fresh.apply(document);
+                suggestions.add(document.suggestion());
+                facets.put(document.facets());
+            });
+            ProductSuggestIndex.Snapshot suggestSnapshot = ProductSuggestIndex.Snapshot.build(suggestions);
+
+            lock.writeLock().lock();
+            try {
+                // Writes committed while the table was being read are replayed over the new segment
+                Map<String, ProductSuggestIndex.Entry> pendingSuggestions = new LinkedHashMap<>();
+                for (Document document : pendingDuringRebuild) {
+                    fresh.apply(document);
+                    pendingSuggestions.put(document.asin(), document.suggestion());
+                }
+                segment = fresh;
+                suggestIndex.install(suggestSnapshot, pendingSuggestions);
+                facetIndex.install(facets);
+                ready = true;
+            } finally {
+                pendingDuringRebuild = null;
+                lock.writeLock().unlock();
+            }
+            log.info("Search index built: {} products, {} terms in {} ms",
+                    fresh.liveDocs, fresh.postings.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            facetIndex.abortLoad();
+            log.error("Failed to build search index: {}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void reload(List<String> asins) {
+        String placeholders = asins.stream().map(asin -> "?").collect(Collectors.joining(","));
+        Set<String> missing = new HashSet<>(asins);
+        List<Document> documents = new ArrayList<>();
+        jdbcTemplate.query(LOAD_SQL + " WHERE p.asin IN (" + placeholders + ")", rs -> {
+            missing.remove(rs.getString(1));
+            documents.add(document(rs));
+        }, asins.toArray());
+        missing.forEach(asin -> documents.add(Document.removed(asin)));
+        apply(documents);
+    }
+
+    private void apply(List<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                segment.apply(document);
+                suggestIndex.apply(document.asin(), document.suggestion());
+                facetIndex.apply(document.asin(), document.facets());
+                if (pendingDuringRebuild != null) {
+                    pendingDuringRebuild.add(document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Document document(ResultSet rs) throws SQLException {
+        return document(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(5),
+                rs.getObject(6, Integer.class), rs.getObject(7, Integer.class), rs.getBigDecimal(8), rs.getBigDecimal(9),
+                "APPROVED".equals(rs.getString(4)));
+    }
+
+    // Tokenizes outside the lock; each term carries its field-weighted frequency
+    private Document document(String asin, String name, String description, String category,
+                              Integer salesCount, Integer ranking, BigDecimal price, BigDecimal rating,
+                              boolean approved) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        length += SearchTokenizer.forEachToken(asin, 1, t -> frequencies.merge(t, ASIN_WEIGHT, Integer::sum)) * ASIN_WEIGHT;
+        length += SearchTokenizer.forEachToken(name, Integer.MAX_VALUE,
+                t -> frequencies.merge(t, NAME_WEIGHT, Integer::sum)) * NAME_WEIGHT;
+        length += SearchTokenizer.forEachToken(category, Integer.MAX_VALUE,
+                t -> frequencies.merge(t, CATEGORY_WEIGHT, Integer::sum)) * CATEGORY_WEIGHT;
+        length += SearchTokenizer.forEachToken(description, maxDescriptionTokens,
+                t -> frequencies.merge(t, DESCRIPTION_WEIGHT, Integer::sum)) * DESCRIPTION_WEIGHT;
+        return new Document(asin, frequencies, Math.max(length, 1), approved, false,
+                ProductSuggestIndex.entry(asin, name, salesCount, ranking, approved),
+                ProductFacetIndex.row(asin, category, price, rating, ranking, salesCount));
+    }
+
+    private record Document(String asin, Map<String, Integer> frequencies, int length, boolean approved,
+                            boolean removed, ProductSuggestIndex.Entry suggestion, ProductFacetIndex.Row facets) {
+
+        static Document removed(String asin) {
+            return new Document(asin, Collections.emptyMap(), 0, false, true, null, null);
+        }
+    }
+
+    public record SearchResult(List<String> asins, long totalHits) {
+
+        static final SearchResult EMPTY = new SearchResult(List.of(), 0);
+    }
+
+    public record IndexStats(boolean ready, int documents, int deletedDocuments, int terms, boolean rebuilding) {
+    }
+
+    /**
+     * Not thread-safe; guarded by the enclosing index's lock. Doc ids are assigned in increasing order,
+     * so every posting list is sorted and can be intersected by merging.
+     */
+    private static final class Segment {
+
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final NavigableSet<String> terms = new TreeSet<>();
+        private final Map<String, Integer> docIdByAsin = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private final BitSet approved = new BitSet();
+        private String[] asins = new String[1024];
+        private int[] lengths = new int[1024];
+        private int docCount;
+        private int liveDocs;
+        private long totalLength;
+
+        void apply(Document document) {
+            remove(document.asin());
+            if (document.removed()) {
+                return;
+            }
+            if (docCount == asins.length) {
+                asins = Arrays.copyOf(asins, docCount * 2);
+                lengths = Arrays.copyOf(lengths, docCount * 2);
+            }
+            int docId = docCount++;
+            asins[docId] = document.asin();
+            lengths[docId] = document.length();
+            if (document.approved()) {
+                approved.set(docId);
+            }
+            docIdByAsin.put(document.asin(), docId);
+            liveDocs++;
+            totalLength += document.length();
+            document.frequencies().forEach((term, tf) -> postings.computeIfAbsent(term, t -> {
+                terms.add(t);
+                return new Postings();
+            }).add(docId, tf));
+        }
+
+        private void remove(String asin) {
+            Integer docId = docIdByAsin.remove(asin);
+            if (docId == null) {
+                return;
+            }
+            deleted.set(docId);
+            approved.clear(docId);
+            liveDocs--;
+            totalLength -= lengths[docId];
+        }
+
+        SearchResult search(List<String> queryTerms, boolean approvedOnly, boolean prefixLast, int offset, int window) {
+            Postings[] lists = new Postings[queryTerms.size()];
+            for (int i = 0; i < queryTerms.size(); i++) {
+                boolean prefix = prefixLast && i == queryTerms.size() - 1;
+                lists[i] = prefix ? expand(queryTerms.get(i)) : postings.get(queryTerms.get(i));
+                if (lists[i] == null) {
+                    return SearchResult.EMPTY;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+            double averageLength = liveDocs > 0 ? (double) totalLength / liveDocs : 1;
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                int df = Math.min(lists[i].size, Math.max(liveDocs, 1));
+                idf[i] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score)
+                    .thenComparing(Hit::docId, Comparator.reverseOrder()));
+            int[] cursors = new int[lists.length];
+            long totalHits = 0;
+
+            Postings lead = lists[0];
+            candidates:
+            for (int i = 0; i < lead.size; i++) {
+                int docId = lead.docs[i];
+                if (deleted.get(docId) || (approvedOnly && !approved.get(docId))) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * lengths[docId] / averageLength);
+                double score = idf[0] * bm25(lead.tfs[i], norm);
+                for (int j = 1; j < lists.length; j++) {
+                    int position = lists[j].seek(cursors[j], docId);
+                    cursors[j] = position;
+                    if (position >= lists[j].size || lists[j].docs[position] != docId) {
+                        continue candidates;
+                    }
+                    score += idf[j] * bm25(lists[j].tfs[position], norm);
+                }
+
+                totalHits++;
+                if (top.size() < window) {
+                    top.add(new Hit(docId, score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(docId, score));
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingInt(Hit::docId));
+            List<String> page = new ArrayList<>();
+            for (int i = offset; i < ranked.size(); i++) {
+                page.add(asins[ranked.get(i).docId()]);
+            }
+            return new SearchResult(page, totalHits);
+        }
+
+        // Union of the postings of the first terms starting with the prefix, keeping each doc's highest tf
+        private Postings expand(String prefix) {
+            List<Postings> matching = new ArrayList<>();
+            for (String term : terms.tailSet(prefix, true)) {
+                if (!term.startsWith(prefix) || matching.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                matching.add(postings.get(term));
+            }
+            if (matching.size() <= 1) {
+                return matching.isEmpty() ? null : matching.get(0);
+            }
+
+            int total = matching.stream().mapToInt(p -> p.size).sum();
+            long[] entries = new long[total];
+            int n = 0;
+            for (Postings list : matching) {
+                for (int i = 0; i < list.size; i++) {
+                    entries[n++] = ((long) list.docs[i] << 8) | list.tfs[i];
+                }
+            }
+            Arrays.sort(entries);
+            Postings union = new Postings();
+            for (int i = 0; i < total; i++) {
+                int docId = (int) (entries[i] >>> 8);
+                int tf = (int) (entries[i] & 0xFF);
+                if (union.size > 0 && union.docs[union.size - 1] == docId) {
+                    union.tfs[union.size - 1] = (byte) Math.max(union.tfs[union.size - 1], tf);
+                } else {
+                    union.add(docId, tf);
+                }
+            }
+            return union;
+        }
+
+        private static double bm25(int tf, double norm) {
+            return tf * (K1 + 1) / (tf + norm);
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private byte[] tfs = new byte[4];
+        private int size;
+
+        void add(int docId, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = docId;
+            tfs[size] = (byte) Math.min(tf, Byte.MAX_VALUE);
+            size++;
+        }
+
+        // First position at or after 'from' whose doc id is >= target: gallop, then binary search
+        int seek(int from, int target) {
+            if (from >= size || docs[from] >= target) {
+                return from;
+            }
+            int step = 1;
+            int low = from;
+            int high = from + step;
+            while (high < size && docs[high] < target) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            high = Math.min(high, size - 1);
+            if (docs[high] < target) {
+                return size;
+            }
+            int position = Arrays.binarySearch(docs, low + 1, high + 1, target);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+
+    private record Hit(int docId, double score) {
+    }
+}
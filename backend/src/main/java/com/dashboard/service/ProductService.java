@@ -1,6 +1,7 @@
 package com.dashboard.service;
 
 import com.dashboard.dto.request.ProductRequest;
+import com.dashboard.dto.response.FacetedPage;
 import com.dashboard.dto.response.ProductResponse;
 import com.dashboard.entity.Category;
 import com.dashboard.entity.Product;
@@ -8,17 +9,23 @@ import com.dashboard.exception.DuplicateResourceException;
 import com.dashboard.exception.ResourceNotFoundException;
 import com.dashboard.repository.CategoryRepository;
 import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.ProductReviewSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,6 +35,13 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final DashboardAggregateStore aggregateStore;
+    private final CategoryStatsCache categoryStatsCache;
+    private final ProductReviewSummaryRepository reviewSummaryRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final ProductFacetIndex facetIndex;
+    private final StockReservationService stockReservationService;
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
@@ -51,8 +65,31 @@ public class ProductService {
     public Page<ProductResponse> searchProducts(String query, Pageable pageable) {
         log.debug("Searching products with query: {}", query);
 
-        return productRepository.searchProducts(query, pageable)
-                .map(this::convertToResponse);
+        if (!searchIndex.isReady()) {
+            // Index still building after startup
+            return productRepository.searchProducts(query, pageable)
+                    .map(this::convertToResponse);
+        }
+
+        ProductSearchIndex.SearchResult result = searchIndex.search(query, true,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(loadInOrder(result.asins()), pageable, result.totalHits());
+    }
+
+    // Loads one page of products picked by an in-memory index, keeping the index's order
+    private List<ProductResponse> loadInOrder(List<String> asins) {
+        Map<String, Product> products = productRepository.findWithCategoryAndSellerByAsinIn(asins).stream()
+                .collect(Collectors.toMap(Product::getAsin, Function.identity()));
+        return asins.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    // Served from memory only; empty until the index has loaded after startup
+    public List<ProductSuggestIndex.Suggestion> suggestProducts(String query, int limit) {
+        return suggestIndex.suggest(query, true, limit);
     }
 
     @Transactional(readOnly = true)
@@ -62,6 +99,15 @@ public class ProductService {
         log.debug("Filtering products with category: {}, price: {}-{}, rating: {}",
                 categoryName, minPrice, maxPrice, minRating);
 
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("ranking"));
+        if (facetIndex.isReady() && facetIndex.supportsSort(order.getProperty())) {
+            String category = categoryName != null && !categoryName.isEmpty() ? categoryName : null;
+            ProductFacetIndex.FacetResult result = facetIndex.filter(category, minPrice, maxPrice, minRating,
+                    order.getProperty(), order.isDescending(), (int) pageable.getOffset(), pageable.getPageSize());
+            return new FacetedPage<>(loadInOrder(result.asins()), pageable, result.totalHits(), result.facets());
+        }
+
+        // Index still loading, or a sort the index does not keep
         Specification<Product> spec = Specification.where(null);
 
         if (categoryName != null && !categoryName.isEmpty()) {
@@ -133,6 +179,9 @@ public class ProductService {
         product = productRepository.save(product);
         category.incrementProductCount();
         categoryRepository.save(category);
+        aggregateStore.onProductAdded(product);
+        searchIndex.onProductSaved(product);
+        categoryStatsCache.invalidate(category);
 
         log.info("Product created successfully: {}", product.getAsin());
 
@@ -190,6 +239,7 @@ public class ProductService {
 
         Product product = productRepository.findByAsin(asin)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "asin", asin));
+        DashboardAggregateStore.Contribution before = aggregateStore.snapshot(product);
 
         if (request.getProductName() != null) {
             product.setProductName(request.getProductName());
@@ -220,7 +270,7 @@ public class ProductService {
             product.setImageUrl(request.getImageUrl());
         }
         if (request.getStockQuantity() != null) {
-            product.setStockQuantity(request.getStockQuantity());
+            stockReservationService.updateStockQuantity(product, current -> request.getStockQuantity());
         }
 
         if (request.getCategoryId() != null && !request.getCategoryId().equals(product.getCategory().getId())) {
@@ -230,6 +280,7 @@ public class ProductService {
 
             oldCategory.decrementProductCount();
             categoryRepository.save(oldCategory);
+            categoryStatsCache.invalidate(oldCategory);
 
             product.setCategory(newCategory);
             newCategory.incrementProductCount();
@@ -237,6 +288,9 @@ public class ProductService {
         }
 
         product = productRepository.save(product);
+        aggregateStore.onProductUpdated(before, product);
+        searchIndex.onProductSaved(product);
+        categoryStatsCache.invalidate(product.getCategory());
         log.info("Product updated successfully: {}", product.getAsin());
 
         return convertToResponse(product);
@@ -254,6 +308,10 @@ public class ProductService {
         categoryRepository.save(category);
 
         productRepository.delete(product);
+        reviewSummaryRepository.deleteById(asin);
+        aggregateStore.onProductRemoved(product);
+        searchIndex.onProductRemoved(asin);
+        categoryStatsCache.invalidate(category);
         log.info("Product deleted successfully: {}", asin);
     }
 
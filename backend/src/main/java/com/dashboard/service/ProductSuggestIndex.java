@@ -0,0 +1,446 @@
+package com.dashboard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefix autocomplete over product names and ASINs. Every word start of a normalized name, plus the ASIN,
+ * is a key in one sorted array, so a typed prefix maps to a contiguous range found by binary search; a
+ * segment tree over the key weights then yields the best products in that range without scanning it.
+ * The arrays form an immutable snapshot loaded alongside the search index. Writes since the last snapshot
+ * sit in a small overlay that shadows the snapshot on lookup and is folded in by compaction.
+ */
+@Slf4j
+@Component
+public class ProductSuggestIndex {
+
+    private static final int MAX_NAME_TOKENS = 16;
+    private static final int ASIN_KEY = -1;
+    private static final long RANK_SPAN = 1L << 20;
+    private static final Entry REMOVED = new Entry("", "", "", 0, false);
+
+    private final Map<String, Entry> overlay = new ConcurrentHashMap<>();
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private volatile boolean ready;
+
+    @Value("${search.suggest.max-limit:20}")
+    private int maxLimit;
+
+    @Value("${search.suggest.max-overlay:1000}")
+    private int maxOverlay;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Suggestion> suggest(String query, boolean approvedOnly, int limit) {
+        String prefix = SearchTokenizer.joinedTokens(query, MAX_NAME_TOKENS);
+        int k = Math.max(1, Math.min(limit, maxLimit));
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        List<Entry> candidates = current.top(prefix, approvedOnly, k, overlay);
+        for (Entry entry : overlay.values()) {
+            if (entry != REMOVED && (!approvedOnly || entry.approved()) && entry.matches(prefix)) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Entry::weight).reversed().thenComparing(Entry::asin));
+
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(k, candidates.size()));
+        for (int i = 0; i < candidates.size() && suggestions.size() < k; i++) {
+            suggestions.add(new Suggestion(candidates.get(i).asin(), candidates.get(i).name()));
+        }
+        return suggestions;
+    }
+
+    public SuggestStats getStats() {
+        Snapshot current = snapshot;
+        return new SuggestStats(ready, current.asins.length, current.keySlots.length, overlay.size());
+    }
+
+    // Called by the search index, which serializes writers
+    void apply(String asin, Entry entry) {
+        overlay.put(asin, entry != null ? entry : REMOVED);
+    }
+
+    // Swaps in a snapshot loaded from the database, then replays writes that committed while it was read
+    synchronized void install(Snapshot fresh, Map<String, Entry> pending) {
+        snapshot = fresh;
+        overlay.clear();
+        pending.forEach(this::apply);
+        ready = true;
+    }
+
+    @Scheduled(fixedDelayString = "${search.suggest.compaction-check-ms:10000}",
+            initialDelayString = "${search.suggest.compaction-check-ms:10000}")
+    public void compactIfNeeded() {
+        if (!ready || overlay.size() <= maxOverlay || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compact();
+        } catch (Exception e) {
+            log.error("Failed to compact suggest index: {}", e.getMessage(), e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void compact() {
+        long started = System.currentTimeMillis();
+        Snapshot base = snapshot;
+        Map<String, Entry> folded = Map.copyOf(overlay);
+
+        List<Entry> entries = new ArrayList<>(base.asins.length + folded.size());
+        for (int slot = 0; slot < base.asins.length; slot++) {
+            if (!folded.containsKey(base.asins[slot])) {
+                entries.add(base.entry(slot));
+            }
+        }
+        folded.values().stream().filter(entry -> entry != REMOVED).forEach(entries::add);
+        Snapshot fresh = Snapshot.build(entries);
+
+        synchronized (this) {
+            if (snapshot != base) {
+                // A full load replaced the snapshot meanwhile; it already covers these writes
+                return;
+            }
+            snapshot = fresh;
+            // Entries rewritten since the copy stay in the overlay and keep shadowing the new snapshot
+            folded.forEach(overlay::remove);
+        }
+        log.info("Suggest index compacted: {} products, {} keys in {} ms",
+                fresh.asins.length, fresh.keySlots.length, System.currentTimeMillis() - started);
+    }
+
+    static Entry entry(String asin, String name, Integer salesCount, Integer ranking, boolean approved) {
+        long sales = salesCount != null ? Math.max(salesCount, 0) : 0;
+        long rankBonus = ranking != null && ranking > 0 ? Math.max(RANK_SPAN - ranking, 0) : 0;
+        return new Entry(asin, name != null ? name : asin, SearchTokenizer.joinedTokens(name, MAX_NAME_TOKENS),
+                sales * RANK_SPAN + rankBonus, approved);
+    }
+
+    public record Suggestion(String asin, String productName) {
+    }
+
+    public record SuggestStats(boolean ready, int products, int keys, int pendingChanges) {
+    }
+
+    // Weight orders by sales first; a better (lower) ranking breaks ties
+    record Entry(String asin, String name, String text, long weight, boolean approved) {
+
+        boolean matches(String prefix) {
+            if (asin.toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                return true;
+            }
+            for (int start = 0; start >= 0; start = nextWordStart(text, start)) {
+                if (text.startsWith(prefix, start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static int nextWordStart(String text, int from) {
+        int space = text.indexOf(' ', from);
+        return space >= 0 ? space + 1 : -1;
+    }
+
+    /**
+     * Immutable once built. Keys are (slot, offset) pairs naming the suffix of a product's text that begins
+     * at a word start; offset {@code ASIN_KEY} names the lower-cased ASIN instead.
+     */
+    static final class Snapshot {
+
+        private final String[] asins;
+        private final String[] names;
+        private final String[] texts;
+        private final String[] asinKeys;
+        private final long[] weights;
+        private final BitSet approved;
+        private final int[] keySlots;
+        private final int[] keyOffsets;
+        private final int[] tree;
+
+        private Snapshot(int products, int keys) {
+            asins = new String[products];
+            names = new String[products];
+            texts = new String[products];
+            asinKeys = new String[products];
+            weights = new long[products];
+            approved = new BitSet(products);
+            keySlots = new int[keys];
+            keyOffsets = new int[keys];
+            tree = new int[keys * 2];
+        }
+
+        static Snapshot build(Collection<Entry> entries) {
+            int keys = 0;
+            for (Entry entry : entries) {
+                keys += 1 + wordStarts(entry.text());
+            }
+
+            Snapshot snapshot = new Snapshot(entries.size(), keys);
+            int slot = 0;
+            int key = 0;
+            for (Entry entry : entries) {
+                snapshot.asins[slot] = entry.asin();
+                snapshot.names[slot] = entry.name();
+                snapshot.texts[slot] = entry.text();
+                snapshot.asinKeys[slot] = entry.asin().toLowerCase(Locale.ROOT);
+                snapshot.weights[slot] = entry.weight();
+                if (entry.approved()) {
+                    snapshot.approved.set(slot);
+                }
+                snapshot.keySlots[key] = slot;
+                snapshot.keyOffsets[key++] = ASIN_KEY;
+                if (!entry.text().isEmpty()) {
+                    for (int start = 0; start >= 0; start = nextWordStart(entry.text(), start)) {
+                        snapshot.keySlots[key] = slot;
+                        snapshot.keyOffsets[key++] = start;
+                    }
+                }
+                slot++;
+            }
+            long[] heads = new long[keys];
+            for (int i = 0; i < keys; i++) {
+                heads[i] = snapshot.head(i);
+            }
+            snapshot.sort(heads, 0, keys - 1);
+            snapshot.buildTree();
+            return snapshot;
+        }
+
+        private static int wordStarts(String text) {
+            if (text.isEmpty()) {
+                return 0;
+            }
+            int count = 1;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == ' ') {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        Entry entry(int slot) {
+            return new Entry(asins[slot], names[slot], texts[slot], weights[slot], approved.get(slot));
+        }
+
+        // Best products whose keys start with the prefix, skipping ASINs shadowed by newer writes
+        List<Entry> top(String prefix, boolean approvedOnly, int k, Map<String, Entry> shadowed) {
+            List<Entry> found = new ArrayList<>(k);
+            int low = bound(prefix, false);
+            int high = bound(prefix, true);
+            if (low >= high) {
+                return found;
+            }
+
+            int[] seen = new int[k];
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                    (a, b) -> Long.compare(weights[keySlots[b[2]]], weights[keySlots[a[2]]]));
+            ranges.add(new int[]{low, high, rangeMax(low, high)});
+            while (!ranges.isEmpty() && found.size() < k) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                int slot = keySlots[best];
+                if ((!approvedOnly || approved.get(slot)) && !contains(seen, found.size(), slot)
+                        && !shadowed.containsKey(asins[slot])) {
+                    seen[found.size()] = slot;
+                    found.add(entry(slot));
+                }
+                if (range[0] < best) {
+                    ranges.add(new int[]{range[0], best, rangeMax(range[0], best)});
+                }
+                if (best + 1 < range[1]) {
+                    ranges.add(new int[]{best + 1, range[1], rangeMax(best + 1, range[1])});
+                }
+            }
+            return found;
+        }
+
+        private static boolean contains(int[] values, int size, int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // First key at or after the prefix range (upper=false), or first key past it (upper=true)
+        private int bound(String prefix, boolean upper) {
+            int low = 0;
+            int high = keySlots.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = comparePrefix(mid, prefix);
+                if (cmp < 0 || (upper && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int comparePrefix(int key, String prefix) {
+            String text = keyText(key);
+            int start = keyStart(key);
+            int available = text.length() - start;
+            int n = Math.min(available, prefix.length());
+            for (int i = 0; i < n; i++) {
+                char c = text.charAt(start + i);
+                char p = prefix.charAt(i);
+                if (c != p) {
+                    return c - p;
+                }
+            }
+            return available >= prefix.length() ? 0 : -1;
+        }
+
+        private int compareKeys(int key, int otherSlot, int otherOffset) {
+            String text = keyText(key);
+            String other = otherOffset == ASIN_KEY ? asinKeys[otherSlot] : texts[otherSlot];
+            int start = keyStart(key);
+            int otherStart = Math.max(otherOffset, 0);
+            int length = text.length() - start;
+            int otherLength = other.length() - otherStart;
+            int n = Math.min(length, otherLength);
+            for (int i = 0; i < n; i++) {
+                char c = text.charAt(start + i);
+                char o = other.charAt(otherStart + i);
+                if (c != o) {
+                    return c - o;
+                }
+            }
+            return length - otherLength;
+        }
+
+        private String keyText(int key) {
+            return keyOffsets[key] == ASIN_KEY ? asinKeys[keySlots[key]] : texts[keySlots[key]];
+        }
+
+        private int keyStart(int key) {
+            return Math.max(keyOffsets[key], 0);
+        }
+
+        // First four chars of a key packed into a long, so most comparisons never touch the strings
+        private long head(int key) {
+            String text = keyText(key);
+            int start = keyStart(key);
+            long head = 0;
+            for (int i = 0; i < 4; i++) {
+                head = (head << 16) | (start + i < text.length() ? text.charAt(start + i) : 0);
+            }
+            return head;
+        }
+
+        private int compareKeys(long[] heads, int key, long otherHead, int otherSlot, int otherOffset) {
+            if (heads[key] != otherHead) {
+                return Long.compareUnsigned(heads[key], otherHead) < 0 ? -1 : 1;
+            }
+            return compareKeys(key, otherSlot, otherOffset);
+        }
+
+        // Quicksort over the parallel key arrays; recurses into the smaller half to bound stack depth
+        private void sort(long[] heads, int low, int high) {
+            while (high - low > 16) {
+                int middle = low + (high - low) / 2;
+                long pivotHead = heads[middle];
+                int pivotSlot = keySlots[middle];
+                int pivotOffset = keyOffsets[middle];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (compareKeys(heads, i, pivotHead, pivotSlot, pivotOffset) < 0) {
+                        i++;
+                    }
+                    while (compareKeys(heads, j, pivotHead, pivotSlot, pivotOffset) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(heads, i++, j--);
+                    }
+                }
+                if (j - low < high - i) {
+                    sort(heads, low, j);
+                    low = i;
+                } else {
+                    sort(heads, i, high);
+                    high = j;
+                }
+            }
+            for (int i = low + 1; i <= high; i++) {
+                for (int j = i; j > low && compareKeys(heads, j - 1, heads[j], keySlots[j], keyOffsets[j]) > 0; j--) {
+                    swap(heads, j - 1, j);
+                }
+            }
+        }
+
+        private void swap(long[] heads, int a, int b) {
+            long head = heads[a];
+            heads[a] = heads[b];
+            heads[b] = head;
+            int slot = keySlots[a];
+            keySlots[a] = keySlots[b];
+            keySlots[b] = slot;
+            int offset = keyOffsets[a];
+            keyOffsets[a] = keyOffsets[b];
+            keyOffsets[b] = offset;
+        }
+
+        // Bottom-up segment tree: leaves hold key positions, inner nodes the heavier of their children
+        private void buildTree() {
+            int n = keySlots.length;
+            for (int i = 0; i < n; i++) {
+                tree[n + i] = i;
+            }
+            for (int node = n - 1; node > 0; node--) {
+                tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        private int rangeMax(int from, int to) {
+            int n = keySlots.length;
+            int best = -1;
+            for (int low = from + n, high = to + n; low < high; low >>= 1, high >>= 1) {
+                if ((low & 1) == 1) {
+                    best = heavier(best, tree[low++]);
+                }
+                if ((high & 1) == 1) {
+                    best = heavier(best, tree[--high]);
+                }
+            }
+            return best;
+        }
+
+        private int heavier(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            long weightA = weights[keySlots[a]];
+            long weightB = weights[keySlots[b]];
+            return weightA > weightB || (weightA == weightB && a < b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.projection.RollupTotals;
+import com.dashboard.dto.projection.SellerRollupTotals;
+import com.dashboard.entity.DailyRevenueRollup;
+import com.dashboard.entity.Order;
+import com.dashboard.entity.PlatformRevenue;
+import com.dashboard.entity.Product;
+import com.dashboard.entity.SellerRevenue;
+import com.dashboard.repository.DailyOrderCountRepository;
+import com.dashboard.repository.DailyRevenueRollupRepository;
+import com.dashboard.repository.PlatformRevenueRepository;
+import com.dashboard.repository.SellerRevenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevenueRollupService {
+
+    private static final LocalDate EARLIEST = LocalDate.of(2000, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final DailyRevenueRollupRepository rollupRepository;
+    private final DailyOrderCountRepository orderCountRepository;
+    private final SellerRevenueRepository sellerRevenueRepository;
+    private final PlatformRevenueRepository platformRevenueRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${revenue.rollup.backfill-if-empty:true}")
+    private boolean backfillIfEmpty;
+
+    @Transactional(readOnly = true)
+    public RollupTotals getTotals() {
+        RollupTotals totals = rollupRepository.sumTotals();
+        // Rollup rows count an order once per seller, so the platform-wide figure comes from the per-date counter
+        return new RollupTotals(totals.directSales(), totals.sellerGross(), totals.sellerNet(),
+                totals.platformFees(), totals.unitsSold(), orderCountRepository.sumOrderCount());
+    }
+
+    @Transactional(readOnly = true)
+    public SellerRollupTotals getSellerTotals(Long sellerId) {
+        List<SellerRollupTotals> rows = rollupRepository.sumTotalsBySeller(sellerId);
+        return rows.isEmpty() ? emptySellerTotals(sellerId) : rows.get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, SellerRollupTotals> getSellerTotals(List<Long> sellerIds) {
+        Map<Long, SellerRollupTotals> totals = new HashMap<>();
+        if (sellerIds.isEmpty()) {
+            return totals;
+        }
+        for (SellerRollupTotals row : rollupRepository.sumTotalsBySellers(sellerIds)) {
+            totals.put(row.sellerId(), row);
+        }
+        sellerIds.forEach(id -> totals.putIfAbsent(id, emptySellerTotals(id)));
+        return totals;
+    }
+
+    @Transactional
+    public void recordRevenue(List<SellerRevenue> sellerRevenues, List<PlatformRevenue> platformSales) {
+        apply(sellerRevenues, platformSales, 1);
+    }
+
+    @Transactional
+    public void reverseOrder(Order order) {
+        List<SellerRevenue> sellerRevenues = sellerRevenueRepository.findByOrderId(order.getId());
+        List<PlatformRevenue> platformSales = platformRevenueRepository.findByOrderIdAndRevenueType(
+                order.getId(), PlatformRevenue.RevenueType.DIRECT_SALE);
+
+        if (sellerRevenues.isEmpty() && platformSales.isEmpty()) {
+            return;
+        }
+        apply(sellerRevenues, platformSales, -1);
+        log.info("Reversed revenue rollups for cancelled order {}", order.getOrderNumber());
+    }
+
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        LocalDate from = startDate != null ? startDate : EARLIEST;
+        LocalDate to = endDate != null ? endDate : LATEST;
+
+        int deleted = rollupRepository.deleteBetween(from, to);
+        int inserted = rollupRepository.backfillSellerRevenue(from, to)
+                + rollupRepository.backfillPlatformSales(from, to);
+        orderCountRepository.deleteBetween(from, to);
+        orderCountRepository.backfill(from, to);
+
+        log.info("Revenue rollups rebuilt for {} to {}: {} rows removed, {} rows written", from, to, deleted, inserted);
+        return inserted;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillIfEmpty || (rollupRepository.count() > 0 && orderCountRepository.count() > 0)) {
+            return;
+        }
+        if (sellerRevenueRepository.count() == 0 && platformRevenueRepository.count() == 0) {
+            return;
+        }
+        try {
+            // Self-invocation bypasses the @Transactional proxy, so open the transaction explicitly
+            transactionTemplate.execute(status -> rebuild(null, null));
+        } catch (Exception e) {
+            log.error("Failed to backfill revenue rollups: {}", e.getMessage());
+        }
+    }
+
+    // Revenue arrives one order item at a time, so order_count is credited only by an order's first revenue
+    // line per seller, and the platform-wide counter only when the batch holds every line of the order.
+    // Reversal passes all lines of the order and therefore takes back exactly what was credited.
+    private void apply(List<SellerRevenue> sellerRevenues, List<PlatformRevenue> platformSales, int sign) {
+        Map<RollupKey, Delta> deltas = new LinkedHashMap<>();
+        Set<Long> batchSellerLines = new HashSet<>();
+        Set<Long> batchPlatformLines = new HashSet<>();
+        Map<Long, Order> orders = new LinkedHashMap<>();
+
+        for (SellerRevenue revenue : sellerRevenues) {
+            RollupKey key = new RollupKey(revenue.getRevenueDate(), revenue.getSeller().getId(),
+                    categoryIdOf(revenue.getProduct()));
+            deltas.merge(key, new Delta(
+                    revenue.getGrossAmount(),
+                    revenue.getNetAmount(),
+                    revenue.getPlatformFee() != null ? revenue.getPlatformFee() : BigDecimal.ZERO,
+                    revenue.getQuantitySold() != null ? revenue.getQuantitySold() : 0,
+                    0
+            ), Delta::plus);
+            batchSellerLines.add(revenue.getId());
+            orders.putIfAbsent(revenue.getOrder().getId(), revenue.getOrder());
+        }
+
+        for (PlatformRevenue revenue : platformSales) {
+            RollupKey key = new RollupKey(revenue.getRevenueDate(), DailyRevenueRollup.PLATFORM_SELLER_ID,
+                    categoryIdOf(revenue.getProduct()));
+            deltas.merge(key, new Delta(
+                    revenue.getGrossAmount(),
+                    revenue.getGrossAmount(),
+                    BigDecimal.ZERO,
+                    revenue.getQuantitySold() != null ? revenue.getQuantitySold() : 0,
+                    0
+            ), Delta::plus);
+            batchPlatformLines.add(revenue.getId());
+            orders.putIfAbsent(revenue.getOrder().getId(), revenue.getOrder());
+        }
+
+        Map<LocalDate, Long> orderCounts = new LinkedHashMap<>();
+        for (Order order : orders.values()) {
+            List<SellerRevenue> sellerLines = sellerRevenueRepository.findByOrderId(order.getId());
+            List<PlatformRevenue> platformLines = platformRevenueRepository.findByOrderIdAndRevenueType(
+                    order.getId(), PlatformRevenue.RevenueType.DIRECT_SALE);
+
+            Map<Long, SellerRevenue> firstLineBySeller = new HashMap<>();
+            for (SellerRevenue line : sellerLines) {
+                firstLineBySeller.merge(line.getSeller().getId(), line,
+                        (a, b) -> a.getId() <= b.getId() ? a : b);
+            }
+            for (SellerRevenue first : firstLineBySeller.values()) {
+                if (batchSellerLines.contains(first.getId())) {
+                    deltas.merge(new RollupKey(first.getRevenueDate(), first.getSeller().getId(),
+                            categoryIdOf(first.getProduct())), Delta.ONE_ORDER, Delta::plus);
+                }
+            }
+            platformLines.stream().min(Comparator.comparing(PlatformRevenue::getId))
+                    .filter(first -> batchPlatformLines.contains(first.getId()))
+                    .ifPresent(first -> deltas.merge(new RollupKey(first.getRevenueDate(),
+                            DailyRevenueRollup.PLATFORM_SELLER_ID, categoryIdOf(first.getProduct())),
+                            Delta.ONE_ORDER, Delta::plus));
+
+            boolean wholeOrder = sellerLines.stream().allMatch(line -> batchSellerLines.contains(line.getId()))
+                    && platformLines.stream().allMatch(line -> batchPlatformLines.contains(line.getId()));
+            if (wholeOrder) {
+                Stream.concat(sellerLines.stream().map(SellerRevenue::getRevenueDate),
+                                platformLines.stream().map(PlatformRevenue::getRevenueDate))
+                        .filter(Objects::nonNull)
+                        .min(Comparator.naturalOrder())
+                        .ifPresent(date -> orderCounts.merge(date, 1L, Long::sum));
+            }
+        }
+
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        deltas.forEach((key, delta) -> rollupRepository.upsertDelta(
+                key.date(),
+                key.sellerId(),
+                key.categoryId(),
+                delta.gross().multiply(factor),
+                delta.net().multiply(factor),
+                delta.fee().multiply(factor),
+                (long) sign * delta.units(),
+                (long) sign * delta.orders()
+        ));
+        orderCounts.forEach((date, count) -> orderCountRepository.upsertDelta(date, sign * count));
+    }
+
+    private SellerRollupTotals emptySellerTotals(Long sellerId) {
+        return new SellerRollupTotals(sellerId, BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0L);
+    }
+
+    private long categoryIdOf(Product product) {
+        return product != null && product.getCategory() != null
+                ? product.getCategory().getId()
+                : DailyRevenueRollup.NO_CATEGORY_ID;
+    }
+
+    private record RollupKey(LocalDate date, Long sellerId, Long categoryId) {
+    }
+
+    private record Delta(BigDecimal gross, BigDecimal net, BigDecimal fee, long units, long orders) {
+
+        static final Delta ONE_ORDER = new Delta(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 1);
+
+        Delta plus(Delta other) {
+            return new Delta(gross.add(other.gross), net.add(other.net), fee.add(other.fee), units + other.units,
+                    orders + other.orders);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.projection.DailyOrderTotals;
+import com.dashboard.entity.Order;
+import com.dashboard.exception.BadRequestException;
+import com.dashboard.repository.DailyRevenueRollupRepository;
+import com.dashboard.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class RevenueTimeSeriesService {
+
+    public static final List<Order.OrderStatus> REVENUE_STATUSES =
+            List.of(Order.OrderStatus.CONFIRMED, Order.OrderStatus.DELIVERED);
+
+    private final OrderRepository orderRepository;
+    private final DailyRevenueRollupRepository rollupRepository;
+
+    @Transactional(readOnly = true)
+    public RevenueSeries orderRevenue(LocalDate from, LocalDate to, Granularity granularity) {
+        validateRange(from, to);
+        List<DailyOrderTotals> rows = orderRepository.sumDailyTotals(
+                REVENUE_STATUSES, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        return buildSeries(rows, from, to, granularity);
+    }
+
+    @Transactional(readOnly = true)
+    public RevenueSeries sellerRevenue(Long sellerId, LocalDate from, LocalDate to, Granularity granularity) {
+        validateRange(from, to);
+        List<DailyOrderTotals> rows = rollupRepository.sumDailyTotalsBySeller(sellerId, from, to);
+        return buildSeries(rows, from, to, granularity);
+    }
+
+    private RevenueSeries buildSeries(List<DailyOrderTotals> rows, LocalDate from, LocalDate to,
+                                      Granularity granularity) {
+        Map<LocalDate, Bucket> buckets = new LinkedHashMap<>();
+        for (LocalDate start = granularity.bucketStart(from); !start.isAfter(to); start = granularity.next(start)) {
+            buckets.put(start, Bucket.empty(start));
+        }
+
+        for (DailyOrderTotals row : rows) {
+            if (row.date() == null || row.date().isBefore(from) || row.date().isAfter(to)) {
+                continue;
+            }
+            buckets.computeIfPresent(granularity.bucketStart(row.date()), (start, bucket) -> bucket.plus(row));
+        }
+
+        return new RevenueSeries(granularity, from, to, new ArrayList<>(buckets.values()));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BadRequestException("Both start and end dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Start date must not be after end date");
+        }
+    }
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        public static Granularity from(String period) {
+            if (period == null) {
+                return DAY;
+            }
+            return switch (period.trim().toLowerCase(Locale.ROOT)) {
+                case "week", "weekly" -> WEEK;
+                case "month", "monthly" -> MONTH;
+                default -> DAY;
+            };
+        }
+
+        LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        LocalDate next(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+    }
+
+    public record Bucket(LocalDate start, long orders, BigDecimal revenue, long items) {
+
+        static Bucket empty(LocalDate start) {
+            return new Bucket(start, 0L, BigDecimal.ZERO, 0L);
+        }
+
+        Bucket plus(DailyOrderTotals row) {
+            return new Bucket(
+                    start,
+                    orders + (row.orderCount() != null ? row.orderCount() : 0L),
+                    row.revenue() != null ? revenue.add(row.revenue()) : revenue,
+                    items + (row.itemCount() != null ? row.itemCount() : 0L)
+            );
+        }
+    }
+
+    public record RevenueSeries(Granularity granularity, LocalDate from, LocalDate to, List<Bucket> buckets) {
+
+        public BigDecimal totalRevenue() {
+            return buckets.stream().map(Bucket::revenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        public BigDecimal revenueBetween(LocalDate start, LocalDate end) {
+            return buckets.stream()
+                    .filter(b -> !b.start().isBefore(start) && !b.start().isAfter(end))
+                    .map(Bucket::revenue)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        public Bucket bucketAt(LocalDate date) {
+            LocalDate start = granularity.bucketStart(date);
+            return buckets.stream()
+                    .filter(b -> b.start().equals(start))
+                    .findFirst()
+                    .orElse(Bucket.empty(start));
+        }
+    }
+}
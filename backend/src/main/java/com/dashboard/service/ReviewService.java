@@ -5,29 +5,36 @@ import com.dashboard.dto.response.ProductDetailResponse;
 import com.dashboard.dto.response.ReviewResponse;
 import com.dashboard.entity.Product;
 import com.dashboard.entity.ProductReview;
+import com.dashboard.entity.ProductReviewSummary;
 import com.dashboard.entity.User;
 import com.dashboard.exception.BadRequestException;
+import com.dashboard.exception.DuplicateResourceException;
 import com.dashboard.exception.ResourceNotFoundException;
 import com.dashboard.repository.ProductRepository;
 import com.dashboard.repository.ProductReviewRepository;
+import com.dashboard.repository.ProductReviewSummaryRepository;
 import com.dashboard.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import com.dashboard.service.NotificationService;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -36,9 +43,17 @@ import java.util.stream.Collectors;
 public class ReviewService {
 
     private final ProductReviewRepository reviewRepository;
+    private final ProductReviewSummaryRepository reviewSummaryRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final DashboardAggregateStore aggregateStore;
+    private final CategoryStatsCache categoryStatsCache;
+    private final ProductFacetIndex facetIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reviews.summary.max-retries:5}")
+    private int maxRetries;
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -49,40 +64,30 @@ public class ReviewService {
 
     @Transactional(readOnly = true)
     public ProductDetailResponse getProductDetail(String asin) {
-        Product product = productRepository.findByAsin(asin)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "asin", asin));
+        List<Object[]> rows = productRepository.findWithReviewSummary(asin);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Product", "asin", asin);
+        }
+        Product product = (Product) rows.get(0)[0];
+        ProductReviewSummary summary = rows.get(0)[1] != null
+                ? (ProductReviewSummary) rows.get(0)[1]
+                : ProductReviewSummary.empty(asin);
 
-        User currentUser = null;
         ReviewResponse userReview = null;
         boolean userHasReviewed = false;
 
-        try {
-            currentUser = getCurrentUser();
-            Optional<ProductReview> review = reviewRepository.findByUserIdAndProductAsin(currentUser.getId(), asin);
+        String email = currentUserEmail();
+        if (email != null) {
+            Optional<ProductReview> review = reviewRepository.findByUserEmailAndProductAsin(email, asin);
             if (review.isPresent()) {
                 userHasReviewed = true;
                 userReview = convertToResponse(review.get());
             }
-        } catch (Exception e) {
         }
 
-        Double avgRating = reviewRepository.calculateAverageRating(asin);
-        Long totalReviews = reviewRepository.countByProductAsin(asin);
-        Long likesCount = reviewRepository.countLikesByProductAsin(asin);
-        Long dislikesCount = reviewRepository.countDislikesByProductAsin(asin);
+        BigDecimal avgRating = summary.getAverageRating();
 
-        Map<Integer, Long> ratingDistribution = new HashMap<>();
-        for (int i = 1; i <= 5; i++) {
-            ratingDistribution.put(i, 0L);
-        }
-        List<Object[]> distribution = reviewRepository.getRatingDistribution(asin);
-        for (Object[] row : distribution) {
-            ratingDistribution.put((Integer) row[0], (Long) row[1]);
-        }
-
-        Page<ProductReview> recentReviewsPage = reviewRepository
-                .findByProductAsinOrderByCreatedAtDesc(asin, PageRequest.of(0, 5));
-        List<ReviewResponse> recentReviews = recentReviewsPage.getContent().stream()
+        List<ReviewResponse> recentReviews = reviewRepository.findTop5ByProductAsinOrderByCreatedAtDesc(asin).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
 
@@ -91,9 +96,8 @@ public class ReviewService {
                 .productName(product.getProductName())
                 .description(product.getDescription())
                 .price(product.getPrice())
-                .averageRating(avgRating != null ?
-                        BigDecimal.valueOf(avgRating).setScale(1, RoundingMode.HALF_UP) : product.getRating())
-                .totalReviews(totalReviews != null ? totalReviews.intValue() : product.getReviewsCount())
+                .averageRating(avgRating != null ? avgRating : product.getRating())
+                .totalReviews(summary.getReviewCount().intValue())
                 .ranking(product.getRanking())
                 .imageUrl(product.getImageUrl())
                 .productLink(product.getProductLink())
@@ -102,9 +106,9 @@ public class ReviewService {
                 .isBestseller(product.getIsBestseller())
                 .userHasReviewed(userHasReviewed)
                 .userReview(userReview)
-                .likesCount(likesCount)
-                .dislikesCount(dislikesCount)
-                .ratingDistribution(ratingDistribution)
+                .likesCount(summary.getLikesCount())
+                .dislikesCount(summary.getDislikesCount())
+                .ratingDistribution(summary.getRatingDistribution())
                 .recentReviews(recentReviews)
                 .sellerName(product.getSellerName())
                 .sellerId(product.getSeller() != null ? product.getSeller().getId() : null)
@@ -112,12 +116,16 @@ public class ReviewService {
                 .build();
     }
 
-    @Transactional
     public ReviewResponse createOrUpdateReview(String asin, ReviewRequest request) {
+        return withOptimisticRetry(asin, () -> saveReview(asin, request));
+    }
+
+    private ReviewResponse saveReview(String asin, ReviewRequest request) {
         User user = getCurrentUser();
         Product product = productRepository.findByAsin(asin)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "asin", asin));
 
+        ProductReviewSummary summary = loadSummary(asin);
         Optional<ProductReview> existingReview = reviewRepository.findByUserIdAndProductAsin(user.getId(), asin);
 
         ProductReview review;
@@ -125,6 +133,7 @@ public class ReviewService {
 
         if (existingReview.isPresent()) {
             review = existingReview.get();
+            summary.remove(review.getRating(), review.getIsLiked());
             review.setRating(request.getRating());
             review.setComment(request.getComment());
             review.setIsLiked(request.getIsLiked());
@@ -142,7 +151,9 @@ public class ReviewService {
         }
 
         review = reviewRepository.save(review);
-        updateProductStats(product);
+        summary.add(review.getRating(), review.getIsLiked());
+        reviewSummaryRepository.save(summary);
+        syncProductStats(product, summary);
 
         if (isNewReview && product.getSeller() != null) {
             notificationService.notifySellerNewReview(product.getSeller(), product, review);
@@ -153,16 +164,25 @@ public class ReviewService {
 
 
 
-    @Transactional
     public void updateLikeStatus(String productAsin, boolean isLiked) {
+        withOptimisticRetry(productAsin, () -> {
+            applyLikeStatus(productAsin, isLiked);
+            return null;
+        });
+    }
+
+    private void applyLikeStatus(String productAsin, boolean isLiked) {
         User user = getCurrentUser();
 
+        ProductReviewSummary summary = loadSummary(productAsin);
         Optional<ProductReview> existingReview = reviewRepository.findByUserIdAndProductAsin(user.getId(), productAsin);
 
         if (existingReview.isPresent()) {
             ProductReview review = existingReview.get();
+            summary.remove(review.getRating(), review.getIsLiked());
             review.setIsLiked(isLiked);
             reviewRepository.save(review);
+            summary.add(review.getRating(), review.getIsLiked());
         } else {
             Product product = productRepository.findByAsin(productAsin)
                     .orElseThrow(() -> new ResourceNotFoundException("Product", "asin", productAsin));
@@ -174,23 +194,34 @@ public class ReviewService {
                     .isLiked(isLiked)
                     .build();
             reviewRepository.save(review);
+            summary.add(review.getRating(), review.getIsLiked());
         }
+        reviewSummaryRepository.save(summary);
 
         Product product = productRepository.findByAsin(productAsin)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "asin", productAsin));
-        updateProductStats(product);
+        syncProductStats(product, summary);
     }
 
-    @Transactional
     public void deleteReview(String productAsin) {
+        withOptimisticRetry(productAsin, () -> {
+            removeReview(productAsin);
+            return null;
+        });
+    }
+
+    private void removeReview(String productAsin) {
         User user = getCurrentUser();
 
+        ProductReviewSummary summary = loadSummary(productAsin);
         ProductReview review = reviewRepository.findByUserIdAndProductAsin(user.getId(), productAsin)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "productAsin", productAsin));
 
         Product product = review.getProduct();
         reviewRepository.delete(review);
-        updateProductStats(product);
+        summary.remove(review.getRating(), review.getIsLiked());
+        reviewSummaryRepository.save(summary);
+        syncProductStats(product, summary);
 
         log.info("Deleted review for product {} by user {}", productAsin, user.getEmail());
     }
@@ -210,23 +241,72 @@ public class ReviewService {
                 .map(this::convertToResponse);
     }
 
-    private void updateProductStats(Product product) {
-        Double newAvgRating = reviewRepository.calculateAverageRating(product.getAsin());
-        Long newReviewCount = reviewRepository.countByProductAsin(product.getAsin());
-        Long likesCount = reviewRepository.countLikesByProductAsin(product.getAsin());
-        Long dislikesCount = reviewRepository.countDislikesByProductAsin(product.getAsin());
-
-        if (newAvgRating != null) {
-            product.setRating(BigDecimal.valueOf(newAvgRating).setScale(1, RoundingMode.HALF_UP));
-        }
-        if (newReviewCount != null) {
-            product.setReviewsCount(newReviewCount.intValue());
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillReviewSummaries() {
+        try {
+            if (reviewSummaryRepository.count() > 0 || reviewRepository.count() == 0) {
+                return;
+            }
+            int seeded = reviewSummaryRepository.seedAllFromReviews();
+            log.info("Seeded {} product review summaries", seeded);
+        } catch (Exception e) {
+            log.error("Failed to seed product review summaries: {}", e.getMessage());
         }
+    }
+
+    // Copies the running aggregates onto the product; O(1) regardless of how many reviews it has
+    public void syncProductStats(Product product, ProductReviewSummary summary) {
+        DashboardAggregateStore.Contribution before = aggregateStore.snapshot(product);
 
-        product.setLikesCount(likesCount != null ? likesCount.intValue() : 0);
-        product.setDislikesCount(dislikesCount != null ? dislikesCount.intValue() : 0);
+        BigDecimal averageRating = summary.getAverageRating();
+        if (averageRating != null) {
+            product.setRating(averageRating);
+        }
+        product.setReviewsCount(summary.getReviewCount().intValue());
+        product.setLikesCount(summary.getLikesCount().intValue());
+        product.setDislikesCount(summary.getDislikesCount().intValue());
 
         productRepository.save(product);
+        aggregateStore.onProductUpdated(before, product);
+        categoryStatsCache.invalidate(product.getCategory());
+        facetIndex.onStatsChanged(product);
+    }
+
+    // Reads the summary that this write will adjust, seeding it from existing reviews the first time.
+    // Concurrent writers are detected by its version and the whole transaction is retried.
+    private ProductReviewSummary loadSummary(String asin) {
+        return reviewSummaryRepository.findById(asin).orElseGet(() -> {
+            if (reviewSummaryRepository.seedFromReviews(asin) == 0) {
+                // Another transaction seeded it first and this snapshot cannot see the row yet
+                throw new ObjectOptimisticLockingFailureException(ProductReviewSummary.class, asin);
+            }
+            return reviewSummaryRepository.findById(asin)
+                    .orElseThrow(() -> new IllegalStateException("Review summary for " + asin + " could not be created"));
+        });
+    }
+
+    private <T> T withOptimisticRetry(String asin, Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxRetries) {
+                    log.warn("Giving up on review write for product {} after {} conflicts", asin, attempt);
+                    throw new DuplicateResourceException("Reviews for this product are being updated, please retry");
+                }
+                log.debug("Review summary conflict on product {}, retrying (attempt {})", asin, attempt);
+            }
+        }
+    }
+
+    private String currentUserEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
     }
 
     private ReviewResponse convertToResponse(ProductReview review) {
@@ -0,0 +1,130 @@
+package com.dashboard.service;
+
+import com.dashboard.dto.projection.ReviewAggregateRow;
+import com.dashboard.entity.ProductReviewSummary;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.ProductReviewRepository;
+import com.dashboard.repository.ProductReviewSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Walks the review summaries a sample at a time, recounts them from product_reviews and repairs
+ * any that drifted from the delta updates (and the product columns derived from them).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewSummaryVerifier {
+
+    private final ProductReviewSummaryRepository summaryRepository;
+    private final ProductReviewRepository reviewRepository;
+    private final ProductRepository productRepository;
+    private final ReviewService reviewService;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile String cursor = "";
+
+    @Value("${reviews.summary.verify-sample-size:200}")
+    private int sampleSize;
+
+    @Scheduled(fixedDelayString = "${reviews.summary.verify-interval-ms:600000}",
+            initialDelayString = "${reviews.summary.verify-interval-ms:600000}")
+    public void scheduledVerify() {
+        try {
+            verifySample();
+        } catch (Exception e) {
+            log.error("Review summary verification failed: {}", e.getMessage());
+        }
+    }
+
+    public int verifySample() {
+        List<String> asins = summaryRepository.findAsinsAfter(cursor, PageRequest.of(0, sampleSize));
+        if (asins.isEmpty()) {
+            cursor = "";
+            return 0;
+        }
+        cursor = asins.size() < sampleSize ? "" : asins.get(asins.size() - 1);
+
+        Map<String, ReviewAggregateRow> actual = reviewRepository.aggregateByProductAsins(asins).stream()
+                .collect(Collectors.toMap(ReviewAggregateRow::productAsin, Function.identity()));
+
+        int repaired = 0;
+        for (ProductReviewSummary summary : summaryRepository.findAllById(asins)) {
+            ReviewAggregateRow expected = actual.getOrDefault(summary.getProductAsin(),
+                    ReviewAggregateRow.empty(summary.getProductAsin()));
+            if (!matches(summary, expected) && repair(summary.getProductAsin())) {
+                repaired++;
+            }
+        }
+
+        if (repaired > 0) {
+            log.warn("Repaired {} of {} sampled product review summaries", repaired, asins.size());
+        }
+        return repaired;
+    }
+
+    // Recounts inside the repair transaction so a write that landed after the sample was taken is not undone
+    private boolean repair(String asin) {
+        try {
+            Boolean repaired = transactionTemplate.execute(status -> {
+                ProductReviewSummary summary = summaryRepository.findById(asin).orElse(null);
+                if (summary == null) {
+                    return false;
+                }
+                List<ReviewAggregateRow> rows = reviewRepository.aggregateByProductAsins(List.of(asin));
+                ReviewAggregateRow expected = rows.isEmpty() ? ReviewAggregateRow.empty(asin) : rows.get(0);
+                if (matches(summary, expected)) {
+                    return false;
+                }
+
+                log.info("Review summary for {} drifted: count {} -> {}, rating sum {} -> {}", asin,
+                        summary.getReviewCount(), expected.reviewCount(), summary.getRatingSum(), expected.ratingSum());
+                overwrite(summary, expected);
+                summaryRepository.save(summary);
+                productRepository.findByAsin(asin).ifPresent(product -> reviewService.syncProductStats(product, summary));
+                return true;
+            });
+            return Boolean.TRUE.equals(repaired);
+        } catch (OptimisticLockingFailureException e) {
+            // A review write got there first; the next pass will look at it again
+            return false;
+        }
+    }
+
+    private boolean matches(ProductReviewSummary summary, ReviewAggregateRow row) {
+        return Objects.equals(summary.getRatingSum(), row.ratingSum())
+                && Objects.equals(summary.getReviewCount(), row.reviewCount())
+                && Objects.equals(summary.getStars1(), row.stars1())
+                && Objects.equals(summary.getStars2(), row.stars2())
+                && Objects.equals(summary.getStars3(), row.stars3())
+                && Objects.equals(summary.getStars4(), row.stars4())
+                && Objects.equals(summary.getStars5(), row.stars5())
+                && Objects.equals(summary.getLikesCount(), row.likesCount())
+                && Objects.equals(summary.getDislikesCount(), row.dislikesCount());
+    }
+
+    private void overwrite(ProductReviewSummary summary, ReviewAggregateRow row) {
+        summary.setRatingSum(row.ratingSum());
+        summary.setReviewCount(row.reviewCount());
+        summary.setStars1(row.stars1());
+        summary.setStars2(row.stars2());
+        summary.setStars3(row.stars3());
+        summary.setStars4(row.stars4());
+        summary.setStars5(row.stars5());
+        summary.setLikesCount(row.likesCount());
+        summary.setDislikesCount(row.dislikesCount());
+    }
+}
@@ -0,0 +1,62 @@
+package com.dashboard.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+final class SearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private SearchTokenizer() {
+    }
+
+    // Lower-cases, strips accents and splits on anything that is not a letter or digit
+    static int forEachToken(String text, int maxTokens, Consumer<String> consumer) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        String normalized = normalize(text);
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= normalized.length() && count < maxTokens; i++) {
+            boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                consumer.accept(normalized.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                count++;
+                start = -1;
+            }
+        }
+        return count;
+    }
+
+    static List<String> distinctTokens(String text) {
+        LinkedHashSet<String> tokens = new LinkedHashSet<>();
+        forEachToken(text, Integer.MAX_VALUE, tokens::add);
+        return new ArrayList<>(tokens);
+    }
+
+    // Normalized tokens separated by single spaces, e.g. "Café-Crème 2L" -> "cafe creme 2l"
+    static String joinedTokens(String text, int maxTokens) {
+        StringBuilder joined = new StringBuilder();
+        forEachToken(text, maxTokens, token -> {
+            if (!joined.isEmpty()) {
+                joined.append(' ');
+            }
+            joined.append(token);
+        });
+        return joined.toString();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
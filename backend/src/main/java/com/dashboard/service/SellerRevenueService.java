@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -20,6 +21,7 @@ public class SellerRevenueService {
     private final OrderItemRepository orderItemRepository;
     private final SellerRevenueRepository revenueRepository;
     private final PlatformRevenueRepository platformRevenueRepository;
+    private final RevenueRollupService revenueRollupService;
 
     private static final BigDecimal PLATFORM_FEE_RATE = new BigDecimal("0.10");
 
@@ -28,101 +30,120 @@ public class SellerRevenueService {
         log.info("Processing revenue for order: {} with {} items",
                 order.getOrderNumber(), order.getItems().size());
 
+        List<SellerRevenue> recordedSellerRevenue = new ArrayList<>();
+        List<PlatformRevenue> recordedPlatformSales = new ArrayList<>();
+
         for (OrderItem item : order.getItems()) {
-            log.info("Processing item ID: {}, Product: {}, Seller: {}",
-                    item.getId(),
-                    item.getProduct().getAsin(),
-                    item.getSeller() != null ? item.getSeller().getEmail() : "PLATFORM (MouadVision)");
-
-            if (Boolean.TRUE.equals(item.getSellerRevenueCalculated())) {
-                log.info("Skipping item {} - already processed", item.getId());
-                continue;
-            }
+            recordItemRevenue(order, item, recordedSellerRevenue, recordedPlatformSales);
+        }
 
-            try {
-                BigDecimal grossAmount = item.getSubtotal();
-
-                if (item.getSeller() == null) {
-                    log.info("Processing PLATFORM product - 100% revenue to MouadVision");
-
-                    PlatformRevenue platformRevenue = PlatformRevenue.builder()
-                            .order(order)
-                            .orderItem(item)
-                            .product(item.getProduct())
-                            .revenueDate(LocalDate.now())
-                            .quantitySold(item.getQuantity())
-                            .unitPrice(item.getUnitPrice())
-                            .grossAmount(grossAmount)
-                            .revenueType(PlatformRevenue.RevenueType.DIRECT_SALE)
-                            .description("Direct sale - MouadVision product")
-                            .build();
-
-                    platformRevenueRepository.save(platformRevenue);
-
-                    log.info("SUCCESS: Platform revenue created for MouadVision product - Amount: ${}",
-                            grossAmount);
-
-                } else {
-                    log.info("Processing SELLER product - 10% commission to platform");
-
-                    if (revenueRepository.existsByOrderItemId(item.getId())) {
-                        log.info("Skipping item {} - seller revenue already exists", item.getId());
-                        item.setSellerRevenueCalculated(true);
-                        orderItemRepository.save(item);
-                        continue;
-                    }
-
-                    BigDecimal platformFee = grossAmount.multiply(PLATFORM_FEE_RATE)
-                            .setScale(2, RoundingMode.HALF_UP);
-                    BigDecimal sellerNetAmount = grossAmount.subtract(platformFee);
-
-                    SellerRevenue sellerRevenue = SellerRevenue.builder()
-                            .seller(item.getSeller())
-                            .product(item.getProduct())
-                            .order(order)
-                            .orderItem(item)
-                            .revenueDate(LocalDate.now())
-                            .quantitySold(item.getQuantity())
-                            .unitPrice(item.getUnitPrice())
-                            .grossAmount(grossAmount)
-                            .platformFeePercent(new BigDecimal("10"))
-                            .platformFee(platformFee)
-                            .netAmount(sellerNetAmount)
-                            .build();
-
-                    revenueRepository.save(sellerRevenue);
-
-                    PlatformRevenue platformCommission = PlatformRevenue.builder()
-                            .order(order)
-                            .orderItem(item)
-                            .product(item.getProduct())
-                            .seller(item.getSeller())
-                            .revenueDate(LocalDate.now())
-                            .quantitySold(item.getQuantity())
-                            .unitPrice(item.getUnitPrice())
-                            .grossAmount(platformFee)
-                            .revenueType(PlatformRevenue.RevenueType.COMMISSION)
-                            .description("10% commission from seller: " + item.getSeller().getStoreName())
-                            .build();
-
-                    platformRevenueRepository.save(platformCommission);
-
-                    log.info("SUCCESS: Revenue split - Seller {} gets ${}, Platform gets ${}",
-                            item.getSeller().getEmail(),
-                            sellerNetAmount,
-                            platformFee);
-                }
+        revenueRollupService.recordRevenue(recordedSellerRevenue, recordedPlatformSales);
+
+        log.info("Revenue processing completed for order: {}", order.getOrderNumber());
+    }
 
-                item.setSellerRevenueCalculated(true);
-                orderItemRepository.save(item);
+    @Transactional
+    public void processOrderItem(OrderItem item) {
+        List<SellerRevenue> recordedSellerRevenue = new ArrayList<>();
+        List<PlatformRevenue> recordedPlatformSales = new ArrayList<>();
 
-            } catch (Exception e) {
-                log.error("FAILED to create revenue for item {}: {}", item.getId(), e.getMessage(), e);
-                throw e;
-            }
+        recordItemRevenue(item.getOrder(), item, recordedSellerRevenue, recordedPlatformSales);
+        revenueRollupService.recordRevenue(recordedSellerRevenue, recordedPlatformSales);
+    }
+
+    private void recordItemRevenue(Order order, OrderItem item, List<SellerRevenue> recordedSellerRevenue,
+                                   List<PlatformRevenue> recordedPlatformSales) {
+        log.info("Processing item ID: {}, Product: {}, Seller: {}",
+                item.getId(),
+                item.getProduct().getAsin(),
+                item.getSeller() != null ? item.getSeller().getEmail() : "PLATFORM (MouadVision)");
+
+        if (Boolean.TRUE.equals(item.getSellerRevenueCalculated())) {
+            log.info("Skipping item {} - already processed", item.getId());
+            return;
         }
 
-        log.info("Revenue processing completed for order: {}", order.getOrderNumber());
+        try {
+            BigDecimal grossAmount = item.getSubtotal();
+
+            if (item.getSeller() == null) {
+                log.info("Processing PLATFORM product - 100% revenue to MouadVision");
+
+                PlatformRevenue platformRevenue = PlatformRevenue.builder()
+                        .order(order)
+                        .orderItem(item)
+                        .product(item.getProduct())
+                        .revenueDate(LocalDate.now())
+                        .quantitySold(item.getQuantity())
+                        .unitPrice(item.getUnitPrice())
+                        .grossAmount(grossAmount)
+                        .revenueType(PlatformRevenue.RevenueType.DIRECT_SALE)
+                        .description("Direct sale - MouadVision product")
+                        .build();
+
+                recordedPlatformSales.add(platformRevenueRepository.save(platformRevenue));
+
+                log.info("SUCCESS: Platform revenue created for MouadVision product - Amount: ${}",
+                        grossAmount);
+
+            } else {
+                log.info("Processing SELLER product - 10% commission to platform");
+
+                if (revenueRepository.existsByOrderItemId(item.getId())) {
+                    log.info("Skipping item {} - seller revenue already exists", item.getId());
+                    item.setSellerRevenueCalculated(true);
+                    orderItemRepository.save(item);
+                    return;
+                }
+
+                BigDecimal platformFee = grossAmount.multiply(PLATFORM_FEE_RATE)
+                        .setScale(2, RoundingMode.HALF_UP);
+                BigDecimal sellerNetAmount = grossAmount.subtract(platformFee);
+
+                SellerRevenue sellerRevenue = SellerRevenue.builder()
+                        .seller(item.getSeller())
+                        .product(item.getProduct())
+                        .order(order)
+                        .orderItem(item)
+                        .revenueDate(LocalDate.now())
+                        .quantitySold(item.getQuantity())
+                        .unitPrice(item.getUnitPrice())
+                        .grossAmount(grossAmount)
+                        .platformFeePercent(new BigDecimal("10"))
+                        .platformFee(platformFee)
+                        .netAmount(sellerNetAmount)
+                        .build();
+
+                recordedSellerRevenue.add(revenueRepository.save(sellerRevenue));
+
+                PlatformRevenue platformCommission = PlatformRevenue.builder()
+                        .order(order)
+                        .orderItem(item)
+                        .product(item.getProduct())
+                        .seller(item.getSeller())
+                        .revenueDate(LocalDate.now())
+                        .quantitySold(item.getQuantity())
+                        .unitPrice(item.getUnitPrice())
+                        .grossAmount(platformFee)
+                        .revenueType(PlatformRevenue.RevenueType.COMMISSION)
+                        .description("10% commission from seller: " + item.getSeller().getStoreName())
+                        .build();
+
+                platformRevenueRepository.save(platformCommission);
+
+                log.info("SUCCESS: Revenue split - Seller {} gets ${}, Platform gets ${}",
+                        item.getSeller().getEmail(),
+                        sellerNetAmount,
+                        platformFee);
+            }
+
+            item.setSellerRevenueCalculated(true);
+            orderItemRepository.save(item);
+
+        } catch (Exception e) {
+            log.error("FAILED to create revenue for item {}: {}", item.getId(), e.getMessage(), e);
+            throw e;
+        }
     }
 
     @Transactional(readOnly = true)
@@ -1,5 +1,6 @@
 package com.dashboard.service;
 
+import com.dashboard.dto.projection.SellerRollupTotals;
 import com.dashboard.dto.request.SellerProductSubmissionRequest;
 import com.dashboard.dto.request.SellerProfileUpdateRequest;
 import com.dashboard.dto.response.*;
@@ -38,6 +39,12 @@ public class SellerService {
     private final NotificationService notificationService;
     private final ProductReviewRepository reviewRepository;
     private final SellerStockRepository sellerStockRepository;
+    private final DashboardAggregateStore aggregateStore;
+    private final CategoryStatsCache categoryStatsCache;
+    private final ProductSearchIndex searchIndex;
+    private final StockReservationService stockReservationService;
+    private final RevenueTimeSeriesService revenueTimeSeriesService;
+    private final RevenueRollupService revenueRollupService;
 
     private User getCurrentSeller() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -138,11 +145,15 @@ public class SellerService {
         if (product.getSeller() == null || !product.getSeller().getId().equals(seller.getId())) {
             throw new BadRequestException("You can only update your own products");
         }
+        DashboardAggregateStore.Contribution before = aggregateStore.snapshot(product);
+        categoryStatsCache.invalidate(product.getCategory());
 
         if (request.getProductName() != null) product.setProductName(request.getProductName());
         if (request.getDescription() != null) product.setDescription(request.getDescription());
         if (request.getPrice() != null) product.setPrice(request.getPrice());
-        if (request.getStockQuantity() != null) product.setStockQuantity(request.getStockQuantity());
+        if (request.getStockQuantity() != null) {
+            stockReservationService.updateStockQuantity(product, current -> request.getStockQuantity());
+        }
         if (request.getImageUrl() != null) product.setImageUrl(request.getImageUrl());
 
         if (request.getCategoryId() != null) {
@@ -152,6 +163,9 @@ public class SellerService {
         }
 
         product = productRepository.save(product);
+        aggregateStore.onProductUpdated(before, product);
+        searchIndex.onProductSaved(product);
+        categoryStatsCache.invalidate(product.getCategory());
         log.info("Seller {} updated product: {}", seller.getEmail(), asin);
 
         return convertToProductResponse(product);
@@ -170,15 +184,18 @@ public class SellerService {
         Long pendingProducts = productRepository.countBySellerAndApprovalStatus(seller, Product.ApprovalStatus.PENDING);
         Long totalSalesCount = productRepository.countTotalSalesBySeller(seller);
 
-        BigDecimal totalRevenue = revenueRepository.calculateTotalRevenueBySeller(seller);
-        BigDecimal monthlyRevenue = revenueRepository.calculateRevenueBetweenDates(seller, thirtyDaysAgo, today);
-        BigDecimal weeklyRevenue = revenueRepository.calculateRevenueBetweenDates(seller, sevenDaysAgo, today);
-        BigDecimal todayRevenue = revenueRepository.calculateDailyRevenue(seller.getId(), today);
-        Long totalUnitsSold = revenueRepository.countTotalUnitsSold(seller);
+        SellerRollupTotals sellerTotals = revenueRollupService.getSellerTotals(seller.getId());
+        BigDecimal totalRevenue = sellerTotals.netAmount();
+        Long totalUnitsSold = sellerTotals.unitsSold();
+
+        RevenueTimeSeriesService.RevenueSeries daily = revenueTimeSeriesService.sellerRevenue(
+                seller.getId(), thirtyDaysAgo, today, RevenueTimeSeriesService.Granularity.DAY);
+        BigDecimal monthlyRevenue = daily.totalRevenue();
+        BigDecimal weeklyRevenue = daily.revenueBetween(sevenDaysAgo, today);
+        BigDecimal todayRevenue = daily.bucketAt(today).revenue();
 
-        List<Object[]> dailyRevenue = revenueRepository.getDailyRevenueBreakdown(seller, thirtyDaysAgo, today);
-        List<SellerDashboardResponse.DailyRevenuePoint> revenueTrend = dailyRevenue.stream()
-                .map(row -> new SellerDashboardResponse.DailyRevenuePoint((LocalDate) row[0], (BigDecimal) row[1]))
+        List<SellerDashboardResponse.DailyRevenuePoint> revenueTrend = daily.buckets().stream()
+                .map(bucket -> new SellerDashboardResponse.DailyRevenuePoint(bucket.start(), bucket.revenue()))
                 .collect(Collectors.toList());
 
         List<Object[]> topProductsData = revenueRepository.getProductRevenueBreakdown(seller, PageRequest.of(0, 5));
@@ -203,10 +220,10 @@ public class SellerService {
                 .pendingRequests(pendingRequests)
                 .totalSalesCount(totalSalesCount)
                 .totalUnitsSold(totalUnitsSold)
-                .totalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO)
-                .monthlyRevenue(monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO)
-                .weeklyRevenue(weeklyRevenue != null ?  weeklyRevenue : BigDecimal.ZERO)
-                .todayRevenue(todayRevenue != null ? todayRevenue : BigDecimal.ZERO)
+                .totalRevenue(totalRevenue)
+                .monthlyRevenue(monthlyRevenue)
+                .weeklyRevenue(weeklyRevenue)
+                .todayRevenue(todayRevenue)
                 .revenueTrend(revenueTrend)
                 .topProducts(topProducts)
                 .build();
@@ -226,9 +243,11 @@ public class SellerService {
         sellerStockRepository.deleteBySellerAndOriginalProductAsin(seller, asin);
 
         product.setApprovalStatus(Product.ApprovalStatus.REJECTED);
-        product.setStockQuantity(0);
+        stockReservationService.updateStockQuantity(product, current -> 0);
         product.setSeller(null);
         productRepository.save(product);
+        searchIndex.onProductSaved(product);
+        categoryStatsCache.invalidate(product.getCategory());
 
         log.info("Seller {} removed product {} from their store and stock", seller.getEmail(), asin);
     }
@@ -296,8 +315,7 @@ public class SellerService {
         User seller = getCurrentSeller();
 
         Long totalProducts = productRepository.countBySellerAndApprovalStatus(seller, Product.ApprovalStatus.APPROVED);
-        BigDecimal totalRevenue = revenueRepository.calculateTotalRevenueBySeller(seller);
-        Long totalSales = revenueRepository.countTotalUnitsSold(seller);
+        SellerRollupTotals sellerTotals = revenueRollupService.getSellerTotals(seller.getId());
 
         List<Product> myProducts = productRepository.findBySellerOrderByCreatedAtDesc(seller, Pageable.unpaged()).getContent();
         List<String> productAsins = myProducts.stream().map(Product::getAsin).collect(Collectors.toList());
@@ -316,8 +334,8 @@ public class SellerService {
                 .businessAddress(seller.getBusinessAddress())
                 .isVerifiedSeller(seller.getIsVerifiedSeller())
                 .totalProducts(totalProducts)
-                .totalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO)
-                .totalSales(totalSales)
+                .totalRevenue(sellerTotals.netAmount())
+                .totalSales(sellerTotals.unitsSold())
                 .averageRating(avgRating != null ? BigDecimal.valueOf(avgRating).setScale(1, RoundingMode.HALF_UP) : BigDecimal.ZERO)
                 .memberSince(seller.getCreatedAt())
                 .build();
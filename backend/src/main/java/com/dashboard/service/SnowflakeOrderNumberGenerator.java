@@ -0,0 +1,84 @@
+package com.dashboard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+
+    static final String PREFIX = "ORD-";
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeId;
+
+    // (millis since EPOCH << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeOrderNumberGenerator(@Value("${orders.number.node-id:-1}") long configuredNodeId,
+                                         @Value("${orders.number.require-node-id:false}") boolean requireNodeId) {
+        if (configuredNodeId < 0 && requireNodeId) {
+            throw new IllegalStateException("orders.number.node-id must be set when orders.number.require-node-id is true");
+        }
+        this.nodeId = configuredNodeId >= 0 ? configuredNodeId : deriveNodeId();
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("orders.number.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        if (configuredNodeId < 0) {
+            // Hashed host names can collide, and two nodes sharing an id can issue the same order number
+            log.warn("orders.number.node-id is not set; derived node id {} from the host name. "
+                    + "Set a unique node id on every instance of a multi-node deployment", nodeId);
+        } else {
+            log.info("Order number generator using node id {}", nodeId);
+        }
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        return PREFIX + encode(nextId());
+    }
+
+    long nextId() {
+        long state = lastState.updateAndGet(previous -> {
+            long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            // Same millisecond, clock moved backwards or sequence exhausted: keep counting from the last
+            // state, which borrows from the next millisecond instead of blocking.
+            return now > previous ? now : previous + 1;
+        });
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static long deriveNodeId() {
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            return (host.hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+        } catch (UnknownHostException e) {
+            log.warn("Could not resolve host name for order number node id, falling back to 0");
+            return 0;
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class StockManagementService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final StockReservationService stockReservationService;
 
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -82,8 +83,8 @@ public class StockManagementService {
         }
 
         Product product = request.getProduct();
-        product.addStock(request.getRequestedQuantity());
-        productRepository.save(product);
+        int quantity = request.getRequestedQuantity();
+        stockReservationService.updateStockQuantity(product, current -> current + quantity);
 
         request.setStatus(StockUpdateRequest.RequestStatus.APPROVED);
         request.setReviewedBy(admin);
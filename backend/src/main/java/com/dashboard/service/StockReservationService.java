@@ -0,0 +1,232 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.Product;
+import com.dashboard.entity.ProductStockSlot;
+import com.dashboard.exception.BadRequestException;
+import com.dashboard.exception.ResourceNotFoundException;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.ProductStockSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final ProductStockSlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stock.hot-sku.default-slots:8}")
+    private int defaultSlots;
+
+    @Value("${stock.hot-sku.max-slots:64}")
+    private int maxSlots;
+
+    @Transactional
+    public boolean reserve(Product product, int quantity) {
+        if (Boolean.TRUE.equals(product.getHotSku())) {
+            return reserveFromSlots(product.getAsin(), quantity);
+        }
+        return productRepository.reserveStock(product.getAsin(), quantity) == 1;
+    }
+
+    // Units that can still be sold right now; for hot SKUs the row also counts units already sold from slots
+    @Transactional(readOnly = true)
+    public int availableQuantity(Product product) {
+        Integer stock = productRepository.findStockQuantity(product.getAsin());
+        if (stock == null) {
+            return 0;
+        }
+        if (Boolean.TRUE.equals(product.getHotSku())) {
+            return (int) Math.max(0, stock - slotRepository.sumConsumed(product.getAsin()));
+        }
+        return Math.max(0, stock);
+    }
+
+    @Transactional
+    public void release(Product product, int quantity) {
+        // Released units land in the product row; hot SKUs pick them up on the next rebalance
+        productRepository.releaseStock(product.getAsin(), quantity);
+    }
+
+    // Every direct stock write goes through here. The product row is locked first. For hot SKUs, units
+    // sold from slots since the last rebalance are deducted from the current value, and the slot
+    // allocations are reset before the new value is written. Otherwise a later rebalance would subtract
+    // those sales again from the new value.
+    // Returns the stock level the update was applied to.
+    @Transactional
+    public int updateStockQuantity(Product product, IntUnaryOperator update) {
+        Integer locked = productRepository.lockStockQuantity(product.getAsin());
+        int current = locked != null ? locked : 0;
+        if (Boolean.TRUE.equals(product.getHotSku())) {
+            for (ProductStockSlot slot : slotRepository.findByAsinForUpdate(product.getAsin())) {
+                current -= slot.getConsumed();
+                slot.setAvailable(0);
+                slot.setConsumed(0);
+            }
+            current = Math.max(current, 0);
+        }
+        product.setStockQuantity(Math.max(0, update.applyAsInt(current)));
+        return current;
+    }
+
+    @Transactional
+    public int enableHotSku(String asin, Integer slots) {
+        int slotCount = slots != null ? slots : defaultSlots;
+        if (slotCount < 2 || slotCount > maxSlots) {
+            throw new BadRequestException("Slot count must be between 2 and " + maxSlots);
+        }
+
+        Product product = productRepository.findByAsin(asin)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "asin", asin));
+        if (Boolean.TRUE.equals(product.getHotSku())) {
+            foldSlots(asin);
+        }
+
+        List<ProductStockSlot> created = new ArrayList<>();
+        for (int i = 0; i < slotCount; i++) {
+            created.add(ProductStockSlot.builder().asin(asin).slotIndex(i).build());
+        }
+        slotRepository.saveAll(created);
+        slotRepository.flush();
+
+        product.setHotSku(true);
+        productRepository.save(product);
+        rebalance(asin);
+
+        log.info("Hot SKU reservation enabled for {} with {} slots", asin, slotCount);
+        return slotCount;
+    }
+
+    @Transactional
+    public void disableHotSku(String asin) {
+        Product product = productRepository.findByAsin(asin)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "asin", asin));
+        if (!Boolean.TRUE.equals(product.getHotSku())) {
+            return;
+        }
+
+        foldSlots(asin);
+        product.setHotSku(false);
+        productRepository.save(product);
+        log.info("Hot SKU reservation disabled for {}", asin);
+    }
+
+    @Scheduled(fixedDelayString = "${stock.hot-sku.rebalance-interval-ms:1000}")
+    public void rebalanceHotSkus() {
+        for (String asin : productRepository.findHotSkuAsins()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(asin));
+            } catch (Exception e) {
+                log.error("Failed to rebalance stock slots for {}: {}", asin, e.getMessage());
+            }
+        }
+    }
+
+    private boolean reserveFromSlots(String asin, int quantity) {
+        List<Integer> candidates = slotRepository.findSlotsWithAvailable(asin, quantity);
+        if (!candidates.isEmpty()) {
+            int start = ThreadLocalRandom.current().nextInt(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                int slotIndex = candidates.get((start + i) % candidates.size());
+                if (slotRepository.reserve(asin, slotIndex, quantity) == 1) {
+                    return true;
+                }
+            }
+        }
+        return reserveAcrossSlots(asin, quantity);
+    }
+
+    // Slow path when no single slot can cover the quantity: lock the product row and every slot,
+    // then take from unallocated stock first and drain slots for the rest.
+    private boolean reserveAcrossSlots(String asin, int quantity) {
+        Integer stock = productRepository.lockStockQuantity(asin);
+        List<ProductStockSlot> slots = slotRepository.findByAsinForUpdate(asin);
+        if (stock == null) {
+            return false;
+        }
+
+        int allocated = 0;
+        int consumed = 0;
+        for (ProductStockSlot slot : slots) {
+            allocated += slot.getAvailable();
+            consumed += slot.getConsumed();
+        }
+        int unallocated = Math.max(0, stock - allocated - consumed);
+        if (unallocated + allocated < quantity) {
+            return false;
+        }
+
+        int fromProduct = Math.min(unallocated, quantity);
+        int remaining = quantity - fromProduct;
+        for (ProductStockSlot slot : slots) {
+            if (remaining == 0) {
+                break;
+            }
+            int taken = Math.min(slot.getAvailable(), remaining);
+            slot.setAvailable(slot.getAvailable() - taken);
+            slot.setConsumed(slot.getConsumed() + taken);
+            remaining -= taken;
+        }
+        if (fromProduct > 0) {
+            productRepository.adjustStock(asin, -fromProduct);
+        }
+        return true;
+    }
+
+    // Applies sold units to the product row and spreads what is left evenly across the slots
+    private void rebalance(String asin) {
+        Integer stock = productRepository.lockStockQuantity(asin);
+        List<ProductStockSlot> slots = slotRepository.findByAsinForUpdate(asin);
+        if (stock == null || slots.isEmpty()) {
+            return;
+        }
+
+        int allocated = 0;
+        int consumed = 0;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (ProductStockSlot slot : slots) {
+            allocated += slot.getAvailable();
+            consumed += slot.getConsumed();
+            min = Math.min(min, slot.getAvailable());
+            max = Math.max(max, slot.getAvailable());
+        }
+        if (consumed == 0 && stock == allocated && max - min <= 1) {
+            return;
+        }
+
+        int remaining = Math.max(0, stock - consumed);
+        int base = remaining / slots.size();
+        int extra = remaining % slots.size();
+        for (ProductStockSlot slot : slots) {
+            slot.setAvailable(base + (slot.getSlotIndex() < extra ? 1 : 0));
+            slot.setConsumed(0);
+        }
+        if (remaining != stock) {
+            productRepository.adjustStock(asin, remaining - stock);
+        }
+    }
+
+    private void foldSlots(String asin) {
+        Integer stock = productRepository.lockStockQuantity(asin);
+        List<ProductStockSlot> slots = slotRepository.findByAsinForUpdate(asin);
+        int consumed = slots.stream().mapToInt(ProductStockSlot::getConsumed).sum();
+        if (stock != null && consumed > 0) {
+            productRepository.adjustStock(asin, -Math.min(consumed, stock));
+        }
+        slotRepository.deleteByAsin(asin);
+    }
+}
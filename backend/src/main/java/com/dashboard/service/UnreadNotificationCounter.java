@@ -0,0 +1,145 @@
+package com.dashboard.service;
+
+import com.dashboard.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    @Value("${notifications.unread-cache.max-entries:50000}")
+    private int maxEntries;
+
+    @Value("${notifications.unread-cache.idle-ms:1800000}")
+    private long idleMs;
+
+    public long get(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.touch();
+            return counter.value();
+        }
+
+        long count = notificationRepository.countByRecipientIdAndIsReadFalse(userId);
+        if (counters.size() >= maxEntries) {
+            evictIdle();
+        }
+        if (counters.size() < maxEntries) {
+            counters.putIfAbsent(userId, new Counter(count));
+        }
+        return count;
+    }
+
+    // Membership is checked when the callback runs: a counter loaded while the transaction was still open
+    // cannot have seen its uncommitted rows and must still receive the delta
+    public void increment(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            List<Long> recipients = List.copyOf(userIds);
+            TransactionCallbacks.afterCommit(() -> recipients.forEach(userId -> apply(userId, 1)));
+        }
+    }
+
+    public void adjust(Long userId, long delta) {
+        if (delta != 0) {
+            TransactionCallbacks.afterCommit(() -> apply(userId, delta));
+        }
+    }
+
+    public void invalidate(Long userId) {
+        TransactionCallbacks.afterCommit(() -> counters.remove(userId));
+    }
+
+    public void invalidateAll() {
+        TransactionCallbacks.afterCommit(counters::clear);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.unread-cache.reconcile-interval-ms:300000}",
+            initialDelayString = "${notifications.unread-cache.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            evictIdle();
+            List<Long> userIds = new ArrayList<>(counters.keySet());
+            if (userIds.isEmpty()) {
+                return;
+            }
+
+            Map<Long, Long> actual = new HashMap<>();
+            for (int from = 0; from < userIds.size(); from += 1000) {
+                List<Long> chunk = userIds.subList(from, Math.min(from + 1000, userIds.size()));
+                for (Object[] row : notificationRepository.countUnreadByRecipientIds(chunk)) {
+                    actual.put((Long) row[0], (Long) row[1]);
+                }
+            }
+
+            int corrected = 0;
+            for (Long userId : userIds) {
+                Counter counter = counters.get(userId);
+                long expected = actual.getOrDefault(userId, 0L);
+                if (counter != null && counter.value() != expected) {
+                    counter.set(expected);
+                    corrected++;
+                }
+            }
+            if (corrected > 0) {
+                log.debug("Reconciled {} unread notification counters", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile unread notification counters: {}", e.getMessage());
+        }
+    }
+
+    private void apply(Long userId, long delta) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.add(delta);
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        counters.entrySet().removeIf(entry -> entry.getValue().lastAccess < cutoff);
+    }
+
+    private static final class Counter {
+
+        private final AtomicLong count;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Counter(long initial) {
+            this.count = new AtomicLong(initial);
+        }
+
+        long value() {
+            return count.get();
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        void add(long delta) {
+            count.updateAndGet(current -> Math.max(0, current + delta));
+        }
+
+        void set(long value) {
+            count.set(value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.dashboard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeOrderNumberGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void parallelGenerationNeverRepeatsAnOrderNumber() throws Exception {
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(7, false);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit((Callable<Boolean>) () -> {
+                    start.await();
+                    boolean allNew = true;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        allNew &= issued.add(generator.nextOrderNumber());
+                    }
+                    return allNew;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(), "a thread received an order number that was already issued");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(THREADS * IDS_PER_THREAD, issued.size());
+    }
+
+    @Test
+    void idsIncreaseWithinOneNode() {
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, false);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void differentNodesNeverShareAnId() {
+        SnowflakeOrderNumberGenerator first = new SnowflakeOrderNumberGenerator(1, false);
+        SnowflakeOrderNumberGenerator second = new SnowflakeOrderNumberGenerator(2, false);
+        for (int i = 0; i < 10_000; i++) {
+            assertNotEquals(first.nextId(), second.nextId());
+        }
+    }
+
+    @Test
+    void missingNodeIdIsRejectedWhenRequired() {
+        assertThrows(IllegalStateException.class, () -> new SnowflakeOrderNumberGenerator(-1, true));
+    }
+}
@@ -0,0 +1,198 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.Product;
+import com.dashboard.entity.ProductStockSlot;
+import com.dashboard.entity.StockUpdateRequest;
+import com.dashboard.entity.User;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.ProductStockSlotRepository;
+import com.dashboard.repository.StockUpdateRequestRepository;
+import com.dashboard.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs stock request approvals against concurrent reservations on an in-memory product row. The row
+ * behaves like an InnoDB row: conditional updates and SELECT ... FOR UPDATE take its lock, and an
+ * approval's dirty product is written back as an absolute stock_quantity when its transaction commits.
+ */
+class StockManagementServiceTest {
+
+    private static final String ASIN = "B000STOCKRQ";
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final int INITIAL_STOCK = 500;
+    private static final int APPROVALS = 40;
+    private static final int UNITS_PER_APPROVAL = 10;
+    private static final int BUYERS = 8;
+
+    private final ProductRow row = new ProductRow();
+    private final AtomicReference<Product> approvedProduct = new AtomicReference<>();
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductStockSlotRepository slotRepository = mock(ProductStockSlotRepository.class);
+    private final StockUpdateRequestRepository requestRepository = mock(StockUpdateRequestRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final StockReservationService stockReservationService =
+            new StockReservationService(productRepository, slotRepository, null);
+    private final StockManagementService stockManagementService = new StockManagementService(
+            requestRepository, productRepository, userRepository, mock(NotificationService.class),
+            stockReservationService);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void approvalsDoNotUndoConcurrentReservations() throws Exception {
+        row.stock = INITIAL_STOCK;
+        when(productRepository.reserveStock(anyString(), anyInt())).thenAnswer(call -> {
+            int quantity = call.getArgument(1);
+            row.lock.lock();
+            try {
+                if (row.stock < quantity) {
+                    return 0;
+                }
+                row.stock -= quantity;
+                return 1;
+            } finally {
+                row.lock.unlock();
+            }
+        });
+        when(productRepository.lockStockQuantity(anyString())).thenAnswer(call -> {
+            row.lock.lock();
+            // Widen the window between locking the row and committing the new value
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            return row.stock;
+        });
+        User admin = User.builder().id(1L).email(ADMIN_EMAIL).role(User.Role.ADMIN).build();
+        when(userRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(admin));
+        when(requestRepository.findById(anyLong())).thenAnswer(call -> {
+            approvedProduct.set(staleProduct(false));
+            return Optional.of(StockUpdateRequest.builder()
+                    .id(call.getArgument(0))
+                    .product(approvedProduct.get())
+                    .seller(User.builder().id(2L).build())
+                    .requestedQuantity(UNITS_PER_APPROVAL)
+                    .build());
+        });
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicBoolean approving = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS + 1);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int b = 0; b < BUYERS; b++) {
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    Product product = staleProduct(false);
+                    while (approving.get()) {
+                        if (stockReservationService.reserve(product, 1)) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> approvals = pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(ADMIN_EMAIL, null));
+                start.await();
+                try {
+                    for (long id = 1; id <= APPROVALS; id++) {
+                        stockManagementService.approveStockRequest(id, null);
+                        row.commit(approvedProduct.get());
+                    }
+                } finally {
+                    approving.set(false);
+                }
+                return null;
+            });
+            start.countDown();
+            approvals.get();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(reserved.get() > 0, "reservations should have run alongside the approvals");
+        assertEquals(INITIAL_STOCK + APPROVALS * UNITS_PER_APPROVAL - reserved.get(), row.stock,
+                "every approved unit and every reservation must be reflected in the final stock");
+    }
+
+    @Test
+    void approvalFoldsHotSkuSlotsBeforeAddingStock() {
+        row.stock = 100;
+        List<ProductStockSlot> slots = List.of(
+                ProductStockSlot.builder().asin(ASIN).slotIndex(0).available(20).consumed(15).build(),
+                ProductStockSlot.builder().asin(ASIN).slotIndex(1).available(25).consumed(10).build());
+        when(productRepository.lockStockQuantity(ASIN)).thenAnswer(call -> row.stock);
+        when(slotRepository.findByAsinForUpdate(ASIN)).thenReturn(slots);
+        when(userRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(
+                User.builder().id(1L).email(ADMIN_EMAIL).role(User.Role.ADMIN).build()));
+        Product product = staleProduct(true);
+        when(requestRepository.findById(7L)).thenReturn(Optional.of(StockUpdateRequest.builder()
+                .id(7L)
+                .product(product)
+                .seller(User.builder().id(2L).build())
+                .requestedQuantity(30)
+                .build()));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(ADMIN_EMAIL, null));
+
+        stockManagementService.approveStockRequest(7L, "restock");
+
+        assertEquals(100 - 25 + 30, product.getStockQuantity(), "units sold from slots are deducted once");
+        for (ProductStockSlot slot : slots) {
+            assertEquals(0, slot.getAvailable());
+            assertEquals(0, slot.getConsumed());
+        }
+    }
+
+    private Product staleProduct(boolean hotSku) {
+        Product product = new Product();
+        product.setAsin(ASIN);
+        product.setHotSku(hotSku);
+        product.setStockQuantity(row.stock);
+        return product;
+    }
+
+    private static final class ProductRow {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile int stock;
+
+        // Flushes the approval's dirty product and releases the row lock, as the transaction commit would
+        void commit(Product product) {
+            stock = product.getStockQuantity();
+            while (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+}
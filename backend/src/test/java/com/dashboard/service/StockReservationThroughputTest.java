@@ -0,0 +1,131 @@
+package com.dashboard.service;
+
+import com.dashboard.entity.Product;
+import com.dashboard.repository.ProductRepository;
+import com.dashboard.repository.ProductStockSlotRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares reservation throughput on one hot product row against striped slots. The repositories are
+ * replaced by in-memory rows whose locks are held for a fixed time per update, which models how
+ * InnoDB row locks serialize concurrent buyers of the same SKU.
+ */
+class StockReservationThroughputTest {
+
+    private static final String ASIN = "B000HOTSKU";
+    private static final int THREADS = 16;
+    private static final int RESERVATIONS = 2_000;
+    private static final int SLOTS = 8;
+    private static final long ROW_LOCK_HOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    @Test
+    void stripedSlotsOutperformSingleRow() throws Exception {
+        double singleRow = reservationsPerSecond(false);
+        double striped = reservationsPerSecond(true);
+        System.out.printf("Stock reservations/s with %d buyers: single row %.0f, %d slots %.0f (%.1fx)%n",
+                THREADS, singleRow, SLOTS, striped, striped / singleRow);
+        assertTrue(striped > singleRow * 2, "striped slots should relieve single-row contention");
+    }
+
+    private double reservationsPerSecond(boolean hotSku) throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductStockSlotRepository slotRepository = mock(ProductStockSlotRepository.class);
+
+        ReentrantLock productRow = new ReentrantLock();
+        AtomicInteger productStock = new AtomicInteger(RESERVATIONS);
+        when(productRepository.reserveStock(anyString(), anyInt())).thenAnswer(call ->
+                underLock(productRow, () -> take(productStock, call.getArgument(1))));
+
+        ReentrantLock[] slotRows = new ReentrantLock[SLOTS];
+        AtomicIntegerArray slotStock = new AtomicIntegerArray(SLOTS);
+        List<Integer> slotIndexes = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            slotRows[i] = new ReentrantLock();
+            slotStock.set(i, RESERVATIONS / SLOTS);
+            slotIndexes.add(i);
+        }
+        when(slotRepository.findSlotsWithAvailable(anyString(), anyInt())).thenReturn(slotIndexes);
+        when(slotRepository.reserve(anyString(), anyInt(), anyInt())).thenAnswer(call -> {
+            int slot = call.getArgument(1);
+            int quantity = call.getArgument(2);
+            return underLock(slotRows[slot], () -> {
+                if (slotStock.get(slot) < quantity) {
+                    return 0;
+                }
+                slotStock.addAndGet(slot, -quantity);
+                return 1;
+            });
+        });
+
+        StockReservationService service = new StockReservationService(productRepository, slotRepository, null);
+        Product product = new Product();
+        product.setAsin(ASIN);
+        product.setHotSku(hotSku);
+
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> buyers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                buyers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < RESERVATIONS / THREADS; i++) {
+                        if (service.reserve(product, 1)) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> buyer : buyers) {
+                buyer.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            assertEquals(RESERVATIONS, reserved.get(), "every reservation fits in stock and must succeed");
+            return RESERVATIONS / seconds;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static int take(AtomicInteger stock, int quantity) {
+        if (stock.get() < quantity) {
+            return 0;
+        }
+        stock.addAndGet(-quantity);
+        return 1;
+    }
+
+    private static int underLock(ReentrantLock row, IntSupplier update) {
+        row.lock();
+        try {
+            LockSupport.parkNanos(ROW_LOCK_HOLD_NANOS);
+            return update.getAsInt();
+        } finally {
+            row.unlock();
+        }
+    }
+}
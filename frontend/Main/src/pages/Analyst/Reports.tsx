@@ -178,23 +178,28 @@ const Reports:React.FC = () => {
             const data = await analystService.exportSalesData(startDate, endDate);
 
             const salesColumns = [
-                { key:'orderNumber', header:'Order Number' },
-                { key:'date', header:'Order Date' },
-                { key:'customerName', header:'Customer Name' },
-                { key:'customerEmail', header:'Customer Email' },
-                { key:'totalAmount', header:'Total Amount ($)' },
-                { key:'totalItems', header:'Items Count' },
-                { key:'status', header:'Order Status' },
+                { key:'Order Number', header:'Order Number' },
+                { key:'Sale Date', header:'Sale Date' },
+                { key:'Customer Name', header:'Customer Name' },
+                { key:'User Email', header:'Customer Email' },
+                { key:'Product ASIN', header:'Product ASIN' },
+                { key:'Product Name', header:'Product Name' },
+                { key:'Category', header:'Category' },
+                { key:'Quantity', header:'Quantity' },
+                { key:'Unit Price', header:'Unit Price ($)' },
+                { key:'Total Amount', header:'Total Amount ($)' },
+                { key:'Status', header:'Order Status' },
             ];
 
-            const totalRevenue = data.reduce((sum:number, row:any) => sum + (row.totalAmount || 0), 0);
-            const totalOrders = data.length;
-            const totalItems = data.reduce((sum:number, row:any) => sum + (row.totalItems || 0), 0);
+            const totalRevenue = data.reduce((sum:number, row:any) => sum + (Number(row['Total Amount']) || 0), 0);
+            const totalOrders = new Set(data.map((row:any) => row['Order Number'])).size;
+            const totalItems = data.reduce((sum:number, row:any) => sum + (Number(row['Quantity']) || 0), 0);
 
             const enrichedData = [
                 ...data,
-                { orderNumber:'---', date:'', customerName:'', customerEmail:'', totalAmount:'', totalItems:'', status:'---' },
-                { orderNumber:'SUMMARY', date:`${startDate} to ${endDate}`, customerName:`${totalOrders} Orders`, customerEmail:'', totalAmount:totalRevenue, totalItems:totalItems, status:'' }
+                { 'Order Number':'---', 'Status':'---' },
+                { 'Order Number':'SUMMARY', 'Sale Date':`${startDate} to ${endDate}`, 'Customer Name':`${totalOrders} Orders`,
+                    'Quantity':totalItems, 'Total Amount':totalRevenue.toFixed(2) }
             ];
 
             if (exportFormat === 'excel') {
@@ -337,7 +342,7 @@ const Reports:React.FC = () => {
 
             switch (type) {
                 case 'sales':
-                    data = await analystService.exportSalesData(startDate, endDate);
+                    data = await analystService.exportSalesData(startDate, endDate, 10);
                     break;
                 case 'products':
                     data = await analystService.exportProductsData();
@@ -8,6 +8,50 @@ const getAuthHeader = () => {
     return { Authorization: `Bearer ${token}` };
 };
 
+// Parses CSV with a header row into one object per record, keyed by header
+const parseCsv = (text: string): Record<string, string>[] => {
+    const records: string[][] = [];
+    let record: string[] = [];
+    let field = '';
+    let quoted = false;
+
+    for (let i = 0; i < text.length; i++) {
+        const ch = text[i];
+        if (quoted) {
+            if (ch === '"' && text[i + 1] === '"') {
+                field += '"';
+                i++;
+            } else if (ch === '"') {
+                quoted = false;
+            } else {
+                field += ch;
+            }
+        } else if (ch === '"') {
+            quoted = true;
+        } else if (ch === ',') {
+            record.push(field);
+            field = '';
+        } else if (ch === '\n') {
+            record.push(field);
+            records.push(record);
+            record = [];
+            field = '';
+        } else if (ch !== '\r') {
+            field += ch;
+        }
+    }
+    if (field !== '' || record.length > 0) {
+        record.push(field);
+        records.push(record);
+    }
+
+    const [header, ...rows] = records;
+    if (!header) {
+        return [];
+    }
+    return rows.map(values => Object.fromEntries(header.map((name, i) => [name, values[i] ?? ''])));
+};
+
 export interface KPI {
     value: number;
     growth: number;
@@ -253,12 +297,14 @@ export const analystService = {
         return response.data.data;
     },
 
-    exportSalesData: async (startDate: string, endDate: string) => {
+    // The backend streams sold order items as CSV; limit caps the rows for previews
+    exportSalesData: async (startDate: string, endDate: string, limit?: number) => {
         const response = await axios.get(`${API_URL}/analyst/reports/export/sales`, {
             headers: getAuthHeader(),
-            params: { startDate, endDate },
+            params: { startDate, endDate, limit },
+            responseType: 'text',
         });
-        return response.data.data;
+        return parseCsv(response.data);
     },
 
     exportProductsData: async () => {